@@ -0,0 +1,92 @@
+/*
+ * This file is a part of the fr.univartois.cril.orpheus.utils.collections package.
+ *
+ * It contains the StackAdapterBenchmark, which measures the StackAdapter on
+ * push/pop sequences.
+ *
+ * (c) Romain WALLON - Orpheus.
+ * All rights reserved.
+ */
+
+package fr.univartois.cril.approximation.util.collections;
+
+import java.util.ArrayDeque;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The StackAdapterBenchmark measures the {@link StackAdapter} on sequences of pushes
+ * followed by as many pops, as performed when backtracking, for the different
+ * {@link java.util.Deque} it may adapt.
+ *
+ * @author Romain WALLON
+ *
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StackAdapterBenchmark {
+
+    /**
+     * The number of elements pushed (and then popped) by each invocation of a benchmark.
+     */
+    private static final int OPERATIONS = 1 << 12;
+
+    /**
+     * The adapted deque, either {@code array} or {@code linked}.
+     */
+    @Param({ "array", "linked" })
+    String deque;
+
+    /**
+     * The benchmarked stack.
+     */
+    Stack<Integer> stack;
+
+    /**
+     * Initializes the stack.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        stack = new StackAdapter<>("array".equals(deque) ? new ArrayDeque<>()
+                : new LinkedList<>());
+    }
+
+    /**
+     * Pushes elements onto the stack, and then pops all of them.
+     *
+     * @return The sum of the popped elements, to prevent dead-code elimination.
+     */
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int pushThenPop() {
+        for (int i = 0; i < OPERATIONS; i++) {
+            stack.push(i);
+        }
+
+        int sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * This file is a part of the fr.univartois.cril.orpheus.utils.collections.dynamic
+ * package.
+ *
+ * It contains the DynamicCollectionBenchmark, which measures contains-heavy workloads
+ * on dynamically managed collections.
+ *
+ * (c) Romain WALLON - Orpheus.
+ * All rights reserved.
+ */
+
+package fr.univartois.cril.approximation.util.collections.dynamic;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.univartois.cril.approximation.util.collections.IndexedCollection;
+import fr.univartois.cril.approximation.util.collections.indexed.ArrayIndexedCollection;
+
+/**
+ * The DynamicCollectionBenchmark measures {@link DynamicallyManagedIndexedCollection}
+ * on contains-heavy workloads (with about half of the lookups missing), against the
+ * unmanaged {@link ArrayIndexedCollection} it decorates.
+ * Collection sizes on both sides of {@link LargeCollectionManagementStrategy#THRESHOLD}
+ * are considered.
+ *
+ * @author Romain WALLON
+ *
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DynamicCollectionBenchmark {
+
+    /**
+     * The number of operations performed by each invocation of a benchmark.
+     */
+    private static final int OPERATIONS = 1 << 12;
+
+    /**
+     * The number of elements in the collection.
+     */
+    @Param({ "5", "50", "500" })
+    int size;
+
+    /**
+     * Whether the collection is dynamically managed.
+     */
+    @Param({ "true", "false" })
+    boolean managed;
+
+    /**
+     * The benchmarked collection.
+     */
+    IndexedCollection<Integer> collection;
+
+    /**
+     * The elements to look for, in order.
+     */
+    Integer[] lookedFor;
+
+    /**
+     * Initializes the collection and the sequence of lookups.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        collection = new ArrayIndexedCollection<>();
+        if (managed) {
+            collection = new DynamicallyManagedIndexedCollection<>(collection);
+        }
+
+        for (int i = 0; i < size; i++) {
+            collection.add(i << 1);
+        }
+
+        lookedFor = new Integer[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            lookedFor[i] = random.nextInt(size << 1);
+        }
+    }
+
+    /**
+     * Looks for random elements in the collection.
+     *
+     * @return The number of elements found, to prevent dead-code elimination.
+     */
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int contains() {
+        int found = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            if (collection.contains(lookedFor[i])) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Removes and adds back random elements, looking for each of them in between.
+     *
+     * @return The number of elements found, to prevent dead-code elimination.
+     */
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int removeContainsAdd() {
+        int found = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            Integer element = lookedFor[i];
+            if (collection.remove(element)) {
+                found += collection.contains(element) ? 0 : 1;
+                collection.add(element);
+            }
+        }
+        return found;
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * This file is a part of the fr.univartois.cril.orpheus.utils.collections.heaps package.
+ *
+ * It contains the HashQueueBenchmark, which measures the HashQueue on a workload moving
+ * elements to its tail.
+ *
+ * (c) Romain WALLON - Orpheus.
+ * All rights reserved.
+ */
+
+package fr.univartois.cril.approximation.util.collections.heaps;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The HashQueueBenchmark measures the {@link HashQueue} on a workload where random
+ * elements are removed and put back at the tail of the queue, interleaved with polls of
+ * the head of the queue (which is then put back).
+ *
+ * @author Romain WALLON
+ *
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HashQueueBenchmark {
+
+    /**
+     * The number of operations performed by each invocation of a benchmark.
+     */
+    private static final int OPERATIONS = 1 << 16;
+
+    /**
+     * The number of elements moved between two polls of the head.
+     */
+    private static final int MOVES_PER_POLL = 16;
+
+    /**
+     * The number of elements in the queue.
+     */
+    @Param({ "1000", "100000" })
+    int size;
+
+    /**
+     * The elements of the queue.
+     */
+    Integer[] elements;
+
+    /**
+     * The indices of the elements to move, in order.
+     */
+    int[] moved;
+
+    /**
+     * The benchmarked queue.
+     */
+    HashQueue<Integer> queue;
+
+    /**
+     * Initializes the queue and the sequence of moves.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        elements = new Integer[size];
+        queue = new HashQueue<>(HashMap::new);
+        for (int i = 0; i < size; i++) {
+            elements[i] = i;
+            queue.add(elements[i]);
+        }
+
+        moved = new int[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            moved[i] = random.nextInt(size);
+        }
+    }
+
+    /**
+     * Moves random elements to the tail of the queue.
+     *
+     * @return The head of the queue, to prevent dead-code elimination.
+     */
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public Integer moveToTail() {
+        for (int i = 0; i < OPERATIONS; i++) {
+            Integer element = elements[moved[i]];
+            if (queue.remove(element)) {
+                queue.add(element);
+            }
+            if ((i % MOVES_PER_POLL) == 0) {
+                queue.add(queue.poll());
+            }
+        }
+        return queue.peek();
+    }
+
+}
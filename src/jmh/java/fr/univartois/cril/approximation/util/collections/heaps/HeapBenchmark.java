@@ -0,0 +1,324 @@
+/*
+ * This file is a part of the fr.univartois.cril.orpheus.utils.collections.heaps package.
+ *
+ * It contains the HeapBenchmark, which compares the binary Heap, the DaryHeap and the
+ * IntDoubleIndexedHeap on an increase-heavy workload.
+ *
+ * (c) Romain WALLON - Orpheus.
+ * All rights reserved.
+ */
+
+package fr.univartois.cril.approximation.util.collections.heaps;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The HeapBenchmark compares the binary {@link Heap}, the {@link DaryHeap} and the
+ * {@link IntDoubleIndexedHeap} on the workload produced by the constraint removers,
+ * i.e., mostly increases of the score of random elements, interleaved with a few
+ * removals of the head of the heap (which is then put back).
+ * The {@link IntDoubleIndexedHeap} is also run in the lazy mode of the removers, in
+ * which the heap is only repaired before each removal.
+ *
+ * @author Romain WALLON
+ *
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeapBenchmark {
+
+    /**
+     * The number of operations performed by each invocation of a benchmark.
+     */
+    private static final int OPERATIONS = 1 << 16;
+
+    /**
+     * The number of increases performed between two removals of the head.
+     */
+    private static final int INCREASES_PER_POLL = 64;
+
+    /**
+     * The Node is an element of the benchmarked heaps, whose score is increased during
+     * the benchmark.
+     */
+    static final class Node implements Heapable {
+
+        /**
+         * The index of this node in the heap.
+         */
+        private int index = -1;
+
+        /**
+         * The score of this node.
+         */
+        private double score;
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see fr.univartois.cril.approximation.util.collections.heaps.Heapable#getIndex()
+         */
+        @Override
+        public int getIndex() {
+            return index;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see
+         * fr.univartois.cril.approximation.util.collections.heaps.Heapable#setIndex(int)
+         */
+        @Override
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+    }
+
+    /**
+     * The Workload is the state shared by the benchmarks, i.e., the nodes and the
+     * sequence of nodes whose score is to be increased.
+     */
+    @State(Scope.Thread)
+    public static class Workload {
+
+        /**
+         * The number of nodes in the heap.
+         */
+        @Param({ "1000", "100000" })
+        int size;
+
+        /**
+         * The nodes to put in the heap.
+         */
+        Node[] nodes;
+
+        /**
+         * The indices of the nodes to increase, in order.
+         */
+        int[] increased;
+
+        /**
+         * Initializes the nodes and the sequence of increases.
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(42);
+            nodes = new Node[size];
+            for (int i = 0; i < size; i++) {
+                nodes[i] = new Node();
+                nodes[i].score = random.nextDouble();
+            }
+
+            increased = new int[OPERATIONS];
+            for (int i = 0; i < OPERATIONS; i++) {
+                increased[i] = random.nextInt(size);
+            }
+        }
+
+    }
+
+    /**
+     * The BinaryHeapState holds the binary {@link Heap} to benchmark.
+     */
+    @State(Scope.Thread)
+    public static class BinaryHeapState {
+
+        /**
+         * The benchmarked heap.
+         */
+        Heap<Node> heap;
+
+        /**
+         * Fills the heap with the nodes of the workload.
+         *
+         * @param workload The workload of the benchmark.
+         */
+        @Setup(Level.Trial)
+        public void setUp(Workload workload) {
+            heap = HeapFactory.newMaximumHeap(workload.size,
+                    Comparator.comparingDouble(n -> n.score));
+            for (Node n : workload.nodes) {
+                heap.add(n);
+            }
+        }
+
+    }
+
+    /**
+     * The DaryHeapState holds the {@link DaryHeap} to benchmark.
+     */
+    @State(Scope.Thread)
+    public static class DaryHeapState {
+
+        /**
+         * The arity of the benchmarked heap.
+         */
+        @Param({ "2", "4", "8" })
+        int arity;
+
+        /**
+         * The benchmarked heap.
+         */
+        DaryHeap<Node> heap;
+
+        /**
+         * Fills the heap with the nodes of the workload.
+         *
+         * @param workload The workload of the benchmark.
+         */
+        @Setup(Level.Trial)
+        public void setUp(Workload workload) {
+            heap = HeapFactory.newMaximumDaryHeap(workload.size, arity,
+                    Comparator.comparingDouble(n -> n.score));
+            for (Node n : workload.nodes) {
+                heap.add(n);
+            }
+        }
+
+    }
+
+    /**
+     * The IndexedHeapState holds the {@link IntDoubleIndexedHeap} to benchmark, whose
+     * elements are the indices of the nodes of the workload.
+     */
+    @State(Scope.Thread)
+    public static class IndexedHeapState {
+
+        /**
+         * The benchmarked heap.
+         */
+        IntDoubleIndexedHeap heap;
+
+        /**
+         * Fills the heap with the nodes of the workload.
+         *
+         * @param workload The workload of the benchmark.
+         */
+        @Setup(Level.Trial)
+        public void setUp(Workload workload) {
+            heap = new IntDoubleIndexedHeap(workload.size);
+            for (int i = 0; i < workload.size; i++) {
+                heap.add(i, workload.nodes[i].score);
+            }
+        }
+
+    }
+
+    /**
+     * Runs the workload on the binary {@link Heap}.
+     *
+     * @param workload The workload of the benchmark.
+     * @param state The state holding the heap.
+     *
+     * @return The head of the heap, to prevent dead-code elimination.
+     */
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public Node binaryHeap(Workload workload, BinaryHeapState state) {
+        Heap<Node> heap = state.heap;
+        for (int i = 0; i < OPERATIONS; i++) {
+            Node n = workload.nodes[workload.increased[i]];
+            n.score += 1;
+            heap.increase(n);
+            if ((i % INCREASES_PER_POLL) == 0) {
+                heap.add(heap.poll());
+            }
+        }
+        return heap.peek();
+    }
+
+    /**
+     * Runs the workload on the {@link DaryHeap}.
+     *
+     * @param workload The workload of the benchmark.
+     * @param state The state holding the heap.
+     *
+     * @return The head of the heap, to prevent dead-code elimination.
+     */
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public Node daryHeap(Workload workload, DaryHeapState state) {
+        DaryHeap<Node> heap = state.heap;
+        for (int i = 0; i < OPERATIONS; i++) {
+            Node n = workload.nodes[workload.increased[i]];
+            n.score += 1;
+            heap.increase(n);
+            if ((i % INCREASES_PER_POLL) == 0) {
+                heap.add(heap.poll());
+            }
+        }
+        return heap.peek();
+    }
+
+    /**
+     * Runs the workload on the {@link IntDoubleIndexedHeap}, moving each element as soon
+     * as its key is increased.
+     *
+     * @param workload The workload of the benchmark.
+     * @param state The state holding the heap.
+     *
+     * @return The head of the heap, to prevent dead-code elimination.
+     */
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int indexedHeap(Workload workload, IndexedHeapState state) {
+        IntDoubleIndexedHeap heap = state.heap;
+        for (int i = 0; i < OPERATIONS; i++) {
+            int e = workload.increased[i];
+            heap.setKey(e, heap.getKey(e) + 1);
+            if ((i % INCREASES_PER_POLL) == 0) {
+                heap.add(heap.poll());
+            }
+        }
+        return heap.peek();
+    }
+
+    /**
+     * Runs the workload on the {@link IntDoubleIndexedHeap} in lazy mode, i.e., by only
+     * changing the keys of the elements, and by restoring the heap property before each
+     * removal of the head.
+     *
+     * @param workload The workload of the benchmark.
+     * @param state The state holding the heap.
+     *
+     * @return The head of the heap, to prevent dead-code elimination.
+     */
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int lazyIndexedHeap(Workload workload, IndexedHeapState state) {
+        IntDoubleIndexedHeap heap = state.heap;
+        for (int i = 0; i < OPERATIONS; i++) {
+            int e = workload.increased[i];
+            heap.setRawKey(e, heap.getKey(e) + 1);
+            if ((i % INCREASES_PER_POLL) == 0) {
+                heap.heapify();
+                heap.add(heap.poll());
+            }
+        }
+        heap.heapify();
+        return heap.peek();
+    }
+
+}
@@ -0,0 +1,189 @@
+/*
+ * This file is a part of the fr.univartois.cril.orpheus.utils.collections.maps package.
+ *
+ * It contains the MapBenchmark, which measures the maps of primitive values on dense
+ * keys.
+ *
+ * (c) Romain WALLON - Orpheus.
+ * All rights reserved.
+ */
+
+package fr.univartois.cril.approximation.util.collections.maps;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.univartois.cril.approximation.util.collections.MapDouble;
+import fr.univartois.cril.approximation.util.collections.MapInt;
+
+/**
+ * The MapBenchmark measures the {@link ArrayBasedMapInt} and {@link ArrayBasedMapDouble}
+ * on dense keys, as used for storing the index of an element in a heap or a score,
+ * against their adapters for a {@link HashMap}.
+ *
+ * @author Romain WALLON
+ *
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapBenchmark {
+
+    /**
+     * The number of operations performed by each invocation of a benchmark.
+     */
+    private static final int OPERATIONS = 1 << 16;
+
+    /**
+     * The Key is a key of the benchmarked maps, identified by a dense index.
+     */
+    static final class Key {
+
+        /**
+         * The index of this key.
+         */
+        private final int index;
+
+        /**
+         * Creates a new Key.
+         *
+         * @param index The index of the key.
+         */
+        Key(int index) {
+            this.index = index;
+        }
+
+    }
+
+    /**
+     * The number of keys in the maps.
+     */
+    @Param({ "1000", "100000" })
+    int size;
+
+    /**
+     * The implementation of the maps to benchmark, either {@code array} or {@code hash}.
+     */
+    @Param({ "array", "hash" })
+    String implementation;
+
+    /**
+     * The keys of the maps.
+     */
+    Key[] keys;
+
+    /**
+     * The indices of the keys to access, in order.
+     */
+    int[] accessed;
+
+    /**
+     * The benchmarked map of integers.
+     */
+    MapInt<Key> mapInt;
+
+    /**
+     * The benchmarked map of doubles.
+     */
+    MapDouble<Key> mapDouble;
+
+    /**
+     * Initializes the keys, the sequence of accesses and the maps.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        keys = new Key[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = new Key(i);
+        }
+
+        accessed = new int[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            accessed[i] = random.nextInt(size);
+        }
+
+        if ("array".equals(implementation)) {
+            mapInt = new ArrayBasedMapInt<>(Key.class, k -> k.index, i -> keys[i], size);
+            mapDouble = new ArrayBasedMapDouble<>(Key.class, k -> k.index, i -> keys[i], size);
+
+        } else {
+            mapInt = new MapIntAdapter<>(new HashMap<>());
+            mapDouble = new MapDoubleAdapter<>(new HashMap<>());
+        }
+
+        for (Key k : keys) {
+            mapInt.put(k, k.index);
+            mapDouble.put(k, k.index);
+        }
+    }
+
+    /**
+     * Reads random values from the map of integers.
+     *
+     * @return The sum of the values, to prevent dead-code elimination.
+     */
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int getInt() {
+        int sum = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            sum += mapInt.get(keys[accessed[i]]);
+        }
+        return sum;
+    }
+
+    /**
+     * Updates random values in the map of integers, as done when the index of an
+     * element in a heap changes.
+     *
+     * @return The last value put, to prevent dead-code elimination.
+     */
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int putInt() {
+        int last = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            Key k = keys[accessed[i]];
+            last = mapInt.get(k) + 1;
+            mapInt.put(k, last);
+        }
+        return last;
+    }
+
+    /**
+     * Accumulates values in the map of doubles, as done when the score of a constraint
+     * is bumped.
+     *
+     * @return The last value put, to prevent dead-code elimination.
+     */
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public double mergeDouble() {
+        double last = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            last = mapDouble.merge(keys[accessed[i]], 1.0, Double::sum);
+        }
+        return last;
+    }
+
+}
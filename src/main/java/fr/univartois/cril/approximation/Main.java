@@ -74,8 +74,21 @@ public class Main {
                 chocoArgs.add(arguments.<String>get("instance"));
                 chocoArgs.addAll(arguments.getList("remaining"));
 
+                // The copies of the model are solved concurrently with the model.
+                boolean copies = (arguments.getInt("parallel_relaxation") > 1)
+                        || Boolean.TRUE.equals(arguments.getBoolean("pipelined_restoration"));
+                boolean profiled = (arguments.getString("load_profile") != null)
+                        || (arguments.getString("save_profile") != null);
+
+                // Only a loaded document can be shared with the copies, and its parser
+                // records the identifiers of the constraints for the profiles.
+                var document = (copies || profiled)
+                        ? XCSPExtension.loadDocument(chocoArgs.get(0))
+                        : null;
                 var xcsp = new XCSPExtension();
-                if (xcsp.setUp(chocoArgs.toArray(new String[chocoArgs.size()]))) {
+                boolean setUp = xcsp.setUp(chocoArgs.toArray(new String[chocoArgs.size()]));
+                if (setUp) {
+                    xcsp.setDocument(document);
                     xcsp.createSolver();
                     xcsp.buildModel();
                     xcsp.configureSearch();
@@ -85,11 +98,18 @@ public class Main {
 
                 model.getSolver().logWithANSI(!arguments.getBoolean("no_print_color"));
                 var builder = new ApproximationSolverBuilder(model.getSolver())
+                        .setGroupIds(setUp ? xcsp.getGroupIds() : null)
+                        .setProfileKeys(setUp ? xcsp.getConstraintKeys() : null,
+                                setUp ? xcsp.getGroupKeys() : null)
                         .withSpecificConstraintRemover(arguments.getString("constraint_remover"))
                         .withSpecificConstraintMeasure(arguments.getString("measure"))
                         .setKeepFalsified(arguments.get("keep_falsified"))
                         .setVerbosity(arguments.getInt("verbosity"))
                         .setTimeout(arguments.getLong("global_timeout"));
+                if (copies) {
+                    var copyArgs = chocoArgs.toArray(new String[chocoArgs.size()]);
+                    builder.setModelFactory(() -> XCSPExtension.newModel(copyArgs, document));
+                }
 
                 var solver = builder.initState(arguments).build();
 
@@ -21,19 +21,23 @@
 
 package fr.univartois.cril.approximation;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.chocosolver.parser.SetUpException;
-import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.variables.IntVar;
 
 import fr.univartois.cril.approximation.cli.CLI;
 import fr.univartois.cril.approximation.solver.ApproximationSolverBuilder;
+import fr.univartois.cril.approximation.solver.MyISolver;
 import fr.univartois.cril.approximation.solver.MyISolverAdapter;
+import fr.univartois.cril.approximation.solver.NogoodExchange;
 import fr.univartois.cril.approximation.solver.Portfolio;
 import net.sourceforge.argparse4j.inf.ArgumentParserException;
 import net.sourceforge.argparse4j.inf.Namespace;
@@ -48,6 +52,17 @@ import net.sourceforge.argparse4j.inf.Namespace;
  * <p>
  * The portfolio configuration is read from a file, where each line defines a
  * solver instance with its parameters.
+ * This file is used as a template for the threads of the portfolio: when there are more
+ * threads than lines, the lines are replicated with other seeds, and when there are more
+ * lines than threads, the remaining lines wait for a thread to become free.
+ * The instance is loaded only once, and each solver is then created from the loaded
+ * document on its own thread when the portfolio starts solving.
+ * Each model numbers its own groups of constraints, so that the models can be built
+ * concurrently.
+ * Solvers that do not make progress may also be replaced during the search (see
+ * {@link Portfolio#setStallTimeout(long)}).
+ * When requested, the solvers also share the short nogoods they learn through a
+ * {@link NogoodExchange}.
  * </p>
  *
  * @author Thibault Falque
@@ -57,6 +72,12 @@ import net.sourceforge.argparse4j.inf.Namespace;
  */
 public class PortfolioFactory {
 
+    /**
+     * The number of nogoods each solver can publish before its oldest nogoods are
+     * overwritten.
+     */
+    private static final int NOGOOD_BUFFER_CAPACITY = 1024;
+
     /**
      * Private constructor to prevent instantiation of the factory class.
      * <p>
@@ -71,7 +92,8 @@ public class PortfolioFactory {
      * Creates a new default {@link Portfolio} using the specified arguments.
      * <p>
      * This method reads a portfolio configuration file and initializes solvers
-     * accordingly. Each solver instance is added to the portfolio.
+     * accordingly. Each solver instance is added to the portfolio, in the order of the
+     * configuration file, and is created when the portfolio starts solving.
      * </p>
      *
      * @param args The parsed command-line arguments containing configuration options.
@@ -86,59 +108,122 @@ public class PortfolioFactory {
         if (filePath == null) {
             throw new IllegalArgumentException("The portfolio configuration file can't be null");
         }
-        try (BufferedReader br = new BufferedReader(
-                new FileReader(filePath, StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                System.out.println("c Creating a new solver...");
-                System.out.println("c " + line);
-                var parser = CLI.createCLIParser(false);
-                var arguments = parser.parseArgs(line.trim().replaceAll("\\s+", " ").split(" "));
-                System.out.println("c " + arguments);
-
-                List<String> chocoArgs = new ArrayList<>();
-                chocoArgs.add(args.<String>get("instance"));
-                chocoArgs.addAll(arguments.getList("remaining"));
-
-                System.out.println("c choco args: " + chocoArgs);
-
-                Constraint.currentGroup = 1;
-                Constraint.currentBlock = 1;
-
-                var xcsp = new XCSPExtension();
-                if (xcsp.setUp(chocoArgs.toArray(new String[chocoArgs.size()]))) {
-                    xcsp.createSolver();
-                    xcsp.buildModel();
-                    xcsp.configureSearch();
-                }
-
-                xcsp.removeShutdownHook();
-                var model = xcsp.getModel();
-
-                model.getSolver().logWithANSI(!arguments.getBoolean("no_print_color"));
-                if (Boolean.TRUE.equals(arguments.getBoolean("approx"))) {
-                    var builder = new ApproximationSolverBuilder(model.getSolver())
-                            .withSpecificConstraintRemover(
-                                    arguments.getString("constraint_remover"))
-                            .withSpecificConstraintMeasure(arguments.getString("measure"))
-                            .setKeepFalsified(arguments.get("keep_falsified"))
-                            .setVerbosity(arguments.getInt("verbosity"));
-
-                    var solver = builder.initState(arguments).build();
-                    portfolio.addSolver(solver);
-                } else if (Boolean.TRUE.equals(arguments.getBoolean("default"))) {
-                    System.out.println("c default solver...");
-                    portfolio.addSolver(new MyISolverAdapter(model.getSolver()));
-                } else {
-                    throw new IllegalArgumentException(
-                            "The option --portfolio is not available here.");
-                }
-
+        try {
+            var lines = Files.readAllLines(Paths.get(filePath), StandardCharsets.UTF_8);
+            lines.removeIf(String::isBlank);
+            if (lines.isEmpty()) {
+                throw new IllegalArgumentException("The portfolio configuration file is empty");
+            }
+            int threads = args.getInt("threads");
+            if (threads <= 0) {
+                threads = Runtime.getRuntime().availableProcessors();
+            }
+            System.out.println("c Running the portfolio on " + threads + " threads");
+
+            String instance = args.get("instance");
+            System.out.println("c Loading the instance " + instance);
+            var document = XCSPExtension.loadDocument(instance);
+            var exchange = Boolean.TRUE.equals(args.getBoolean("share_nogoods"))
+                    ? new NogoodExchange(threads, NOGOOD_BUFFER_CAPACITY,
+                            args.getInt("nogood_size"))
+                    : null;
+
+            // The configurations are replicated with other seeds to use all the threads.
+            for (int i = 0; i < Math.max(lines.size(), threads); i++) {
+                String line = lines.get(i % lines.size());
+                long copy = i / lines.size();
+                portfolio.addSolver((slot, seed) -> newSolver(slot, (seed == 0) ? copy : seed,
+                        line, instance, document, exchange));
             }
-        } catch (IOException | ArgumentParserException | SetUpException e) {
+            portfolio.setMaxWorkers(threads);
+            portfolio.setStallTimeout(args.getLong("stall_timeout"));
+
+        } catch (IOException | SetUpException e) {
             e.printStackTrace();
         }
         return portfolio;
     }
 
+    /**
+     * Creates a solver of the portfolio.
+     * This method is package-private for testing purposes.
+     *
+     * @param slot The slot of the portfolio in which the solver runs.
+     * @param seed The seed of the solver, or {@code 0} to use the seed given in the
+     *        configuration.
+     * @param line The line of the configuration file describing the solver.
+     * @param instance The path of the instance to solve.
+     * @param document The already loaded document of the instance.
+     * @param exchange The exchange through which the solvers share their nogoods, or
+     *        {@code null} if nogoods are not shared.
+     *
+     * @return The created solver.
+     *
+     * @throws ArgumentParserException If the line is not a valid configuration.
+     * @throws SetUpException If the solver cannot be set up.
+     * @throws IllegalArgumentException If the line does not describe a supported solver.
+     */
+    static MyISolver newSolver(int slot, long seed, String line, String instance,
+            PreloadedDocument document, NogoodExchange exchange)
+            throws ArgumentParserException, SetUpException {
+        System.out.println("c Creating a new solver...");
+        System.out.println("c " + line);
+        var parser = CLI.createCLIParser(false);
+        var arguments = parser.parseArgs(line.trim().replaceAll("\\s+", " ").split(" "));
+        System.out.println("c " + arguments);
+
+        List<String> chocoArgs = new ArrayList<>();
+        chocoArgs.add(instance);
+        chocoArgs.addAll(arguments.getList("remaining"));
+        if (seed != 0) {
+            chocoArgs.add("-seed");
+            chocoArgs.add(Long.toString(seed));
+        }
+
+        System.out.println("c choco args: " + chocoArgs);
+
+        var xcsp = new XCSPExtension();
+        boolean setUp = xcsp.setUp(chocoArgs.toArray(new String[chocoArgs.size()]));
+        if (setUp) {
+            xcsp.setDocument(document);
+            xcsp.createSolver();
+            xcsp.buildModel();
+            xcsp.configureSearch();
+        }
+
+        xcsp.removeShutdownHook();
+        var model = xcsp.getModel();
+
+        model.getSolver().logWithANSI(!arguments.getBoolean("no_print_color"));
+        MyISolver solver;
+        if (Boolean.TRUE.equals(arguments.getBoolean("approx"))) {
+            var builder = new ApproximationSolverBuilder(model.getSolver())
+                    .setGroupIds(setUp ? xcsp.getGroupIds() : null)
+                    .setProfileKeys(setUp ? xcsp.getConstraintKeys() : null,
+                            setUp ? xcsp.getGroupKeys() : null)
+                    .withSpecificConstraintRemover(arguments.getString("constraint_remover"))
+                    .withSpecificConstraintMeasure(arguments.getString("measure"))
+                    .setKeepFalsified(arguments.get("keep_falsified"))
+                    .setVerbosity(arguments.getInt("verbosity"))
+                    .setModelFactory(() -> XCSPExtension.newModel(
+                            chocoArgs.toArray(new String[chocoArgs.size()]), document));
+            solver = builder.initState(arguments).build();
+
+        } else if (Boolean.TRUE.equals(arguments.getBoolean("default"))) {
+            System.out.println("c default solver...");
+            solver = new MyISolverAdapter(model.getSolver());
+
+        } else {
+            throw new IllegalArgumentException("The option --portfolio is not available here.");
+        }
+
+        if (setUp && (exchange != null)) {
+            Map<String, IntVar> variables = new HashMap<>();
+            new XCSPParserExtension(xcsp.parsers[0]).getVarsOfProblem()
+                    .forEach((x, v) -> variables.put(x.id, v));
+            exchange.connect(slot, solver, variables);
+        }
+        return solver;
+    }
+
 }
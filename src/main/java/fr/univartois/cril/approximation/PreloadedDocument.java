@@ -0,0 +1,106 @@
+/**
+ * approximation, a constraint programming solver based on Choco, utilizing relaxation
+ * techniques.
+ * Copyright (c) 2025 - Univ Artois, CNRS & Luxembourg University.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.chocosolver.parser.SetUpException;
+import org.w3c.dom.Document;
+import org.xcsp.common.Utilities;
+
+/**
+ * The PreloadedDocument is an XCSP instance that has been read (and decompressed) only
+ * once, and from which several parsers may build their own document concurrently.
+ *
+ * A DOM tree is not thread-safe, even for reading, as its nodes and lists of nodes are
+ * computed lazily.
+ * Sharing a tree thus requires each parser to copy it while holding a lock, and a deep
+ * copy of a tree costs as much as parsing it again from memory, while the copies are
+ * made one at a time.
+ * The instance is rather kept as its serialized XML, which is immutable and much smaller
+ * than its tree, and which each parser parses without any lock.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class PreloadedDocument {
+
+    /** The XML content of the instance. */
+    private final byte[] content;
+
+    /**
+     * Creates a new PreloadedDocument.
+     *
+     * @param content the XML content of the instance
+     */
+    private PreloadedDocument(byte[] content) {
+        this.content = content;
+    }
+
+    /**
+     * Loads an XCSP instance, which is decompressed if needed.
+     *
+     * @param instance the path of the instance to load
+     *
+     * @return the loaded instance
+     *
+     * @throws SetUpException if the instance cannot be loaded
+     */
+    public static PreloadedDocument load(String instance) throws SetUpException {
+        try {
+            var output = new ByteArrayOutputStream();
+            TransformerFactory.newInstance().newTransformer().transform(
+                    new DOMSource(Utilities.loadDocument(instance)), new StreamResult(output));
+            return new PreloadedDocument(output.toByteArray());
+
+        } catch (Exception e) {
+            throw new SetUpException("Cannot load the instance " + instance + ": " + e);
+        }
+    }
+
+    /**
+     * Parses the instance into a new document, which is owned by the caller.
+     * This method may be called concurrently.
+     *
+     * @return the document of the instance
+     *
+     * @throws IllegalStateException if the instance cannot be parsed
+     */
+    public Document newDocument() {
+        try {
+            return DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                    .parse(new ByteArrayInputStream(content));
+
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot parse the loaded instance", e);
+        }
+    }
+
+}
@@ -0,0 +1,269 @@
+/**
+ * approximation, a constraint programming solver based on Choco, utilizing relaxation
+ * techniques.
+ * Copyright (c) 2025 - Univ Artois, CNRS & Luxembourg University.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.chocosolver.parser.xcsp.XCSPParser;
+import org.chocosolver.solver.Model;
+import org.w3c.dom.Document;
+import org.xcsp.parser.entries.XConstraints.XCtr;
+import org.xcsp.parser.entries.XConstraints.XGroup;
+
+/**
+ * The PreloadedXCSPParser is an XCSP parser that builds its model from an instance that
+ * has already been loaded, instead of reading (and decompressing) the instance file.
+ * This allows to load an instance only once when several models of this instance are
+ * needed, as in a portfolio.
+ *
+ * This parser also numbers the groups of constraints of its own model, so that several
+ * models may be built concurrently without relying on the numbering shared by all the
+ * constraints.
+ * Groups are numbered from {@code 0} without gaps: each group of the instance gets its
+ * own identifier, while each constraint that does not appear in a group is considered
+ * as a group on its own.
+ *
+ * Finally, this parser records the identifiers given in the instance to the constraints
+ * and groups, which are used as keys to store their scores in a
+ * {@link fr.univartois.cril.approximation.core.ScoreProfile}.
+ * Entries without identifier are given one from the order in which they are loaded.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public class PreloadedXCSPParser extends XCSPParser {
+
+    /** The loaded instance, shared by all the parsers of this instance. */
+    private final PreloadedDocument document;
+
+    /** The model built by this parser. */
+    private Model model;
+
+    /** The identifier of the group of each constraint, or {@code -1} if not known yet. */
+    private int[] groupIds = new int[0];
+
+    /** The index of the first constraint of the group being parsed. */
+    private int groupStart;
+
+    /** The identifier of the next group. */
+    private int nextGroup;
+
+    /** The key of each constraint, or {@code null} if not known. */
+    private String[] constraintKeys = new String[0];
+
+    /** The keys of the groups of the instance, indexed by their identifiers. */
+    private final List<String> groupKeys = new ArrayList<>();
+
+    /** Whether a group is being parsed. */
+    private boolean inGroup;
+
+    /** The number of entries loaded so far that do not have an identifier. */
+    private int nAnonymous;
+
+    /**
+     * Creates a new PreloadedXCSPParser.
+     *
+     * @param document the loaded instance, which may be shared with other parsers
+     */
+    public PreloadedXCSPParser(PreloadedDocument document) {
+        this.document = document;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.chocosolver.parser.xcsp.XCSPParser#model(org.chocosolver.solver.Model,
+     * java.lang.String)
+     */
+    @Override
+    public void model(Model model, String instance) throws Exception {
+        this.model = model;
+        super.model(model, instance);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.xcsp.parser.callbacks.XCallbacks#loadDocument(java.lang.String)
+     */
+    @Override
+    public Document loadDocument(String fileName) {
+        // DOM trees are not thread-safe, even for reading: each parser parses its own.
+        return document.newDocument();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.xcsp.parser.callbacks.XCallbacks#beginGroup(org.xcsp.parser.entries.
+     * XConstraints.XGroup)
+     */
+    @Override
+    public void beginGroup(XGroup group) {
+        super.beginGroup(group);
+        groupStart = model.getNbCstrs();
+        inGroup = true;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.xcsp.parser.callbacks.XCallbacks#endGroup(org.xcsp.parser.entries.
+     * XConstraints.XGroup)
+     */
+    @Override
+    public void endGroup(XGroup group) {
+        super.endGroup(group);
+        inGroup = false;
+        int to = model.getNbCstrs();
+        if (groupStart < to) {
+            // A group that did not post any constraint does not get an identifier.
+            ensureCapacity(to);
+            Arrays.fill(groupIds, groupStart, to, nextGroup++);
+            String key = keyOf(group.id);
+            groupKeys.add(key);
+            for (int i = groupStart; i < to; i++) {
+                constraintKeys[i] = key + "[" + (i - groupStart) + "]";
+            }
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.xcsp.parser.callbacks.XCallbacks#loadCtr(org.xcsp.parser.entries.
+     * XConstraints.XCtr)
+     */
+    @Override
+    public void loadCtr(XCtr c) {
+        int from = model.getNbCstrs();
+        super.loadCtr(c);
+        int to = model.getNbCstrs();
+        if (inGroup || (from == to)) {
+            // The constraints of a group are given their keys at the end of the group.
+            return;
+        }
+        ensureCapacity(to);
+        String key = keyOf(c.id);
+        constraintKeys[from] = key;
+        for (int i = from + 1; i < to; i++) {
+            // The constraint has been decomposed into several ones.
+            constraintKeys[i] = key + "/" + (i - from);
+        }
+    }
+
+    /**
+     * Gives the key of an entry of the instance.
+     *
+     * @param id the identifier of the entry in the instance, which may be {@code null}
+     *
+     * @return the key of the entry
+     */
+    private String keyOf(String id) {
+        if (id == null) {
+            return "#" + nAnonymous++;
+        }
+        return id;
+    }
+
+    /**
+     * Gives the identifier of the group of each constraint of the model built by this
+     * parser.
+     * The constraints that do not appear in a group are numbered after the groups of the
+     * instance.
+     *
+     * @return the identifiers of the groups, indexed by the index of the constraints in
+     *         the model, and ranging from {@code 0} to the number of groups (excluded)
+     */
+    public int[] getGroupIds() {
+        int next = nextGroup;
+        ensureCapacity(model.getNbCstrs());
+        int[] result = Arrays.copyOf(groupIds, model.getNbCstrs());
+        for (int i = 0; i < result.length; i++) {
+            if (result[i] < 0) {
+                result[i] = next++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gives the key of each constraint of the model built by this parser, i.e., its
+     * identifier in the instance.
+     * The constraints of a group are identified by the key of the group and their
+     * position in this group.
+     * The constraints that have not been posted for an entry of the instance are
+     * identified by their index in the model.
+     *
+     * @return the keys of the constraints, indexed by the index of the constraints in the
+     *         model
+     */
+    public String[] getConstraintKeys() {
+        ensureCapacity(model.getNbCstrs());
+        String[] result = Arrays.copyOf(constraintKeys, model.getNbCstrs());
+        for (int i = 0; i < result.length; i++) {
+            if (result[i] == null) {
+                result[i] = "$" + i;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gives the key of each group of the model built by this parser, consistently with
+     * {@link #getGroupIds()}.
+     * The groups of the instance are identified by their identifiers in the instance,
+     * while the constraints that do not appear in a group identify their own group.
+     *
+     * @return the keys of the groups, indexed by the identifiers of the groups
+     */
+    public String[] getGroupKeys() {
+        String[] keys = getConstraintKeys();
+        List<String> result = new ArrayList<>(groupKeys);
+        for (int i = 0; i < keys.length; i++) {
+            if (groupIds[i] < 0) {
+                result.add(keys[i]);
+            }
+        }
+        return result.toArray(new String[result.size()]);
+    }
+
+    /**
+     * Makes sure that the identifiers and keys of the given number of constraints can be
+     * stored.
+     *
+     * @param size the number of constraints
+     */
+    private void ensureCapacity(int size) {
+        if (groupIds.length < size) {
+            int length = groupIds.length;
+            groupIds = Arrays.copyOf(groupIds, Math.max(size, length << 1));
+            Arrays.fill(groupIds, length, groupIds.length, -1);
+            constraintKeys = Arrays.copyOf(constraintKeys, groupIds.length);
+        }
+    }
+
+}
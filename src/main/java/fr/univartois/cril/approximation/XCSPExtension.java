@@ -22,7 +22,9 @@
 package fr.univartois.cril.approximation;
 
 import org.chocosolver.parser.Level;
+import org.chocosolver.parser.SetUpException;
 import org.chocosolver.parser.xcsp.XCSP;
+import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.search.strategy.BlackBoxConfigurator;
 import org.chocosolver.solver.search.strategy.Search;
@@ -31,7 +33,127 @@ import org.chocosolver.solver.search.strategy.SearchParams;
 /**
  * The Class XCSPExtension.
  */
-class XCSPExtension extends XCSP {
+public class XCSPExtension extends XCSP {
+
+    /** The already loaded document of the instance, if any. */
+    private PreloadedDocument document;
+
+    /**
+     * Loads the document of an XCSP instance, so that it can be shared by several
+     * parsers.
+     *
+     * @param instance the path of the instance to load
+     *
+     * @return the document of the instance
+     *
+     * @throws SetUpException if the instance cannot be loaded
+     *
+     * @see #setDocument(PreloadedDocument)
+     */
+    public static PreloadedDocument loadDocument(String instance) throws SetUpException {
+        return PreloadedDocument.load(instance);
+    }
+
+    /**
+     * Builds a new model of an instance from its already loaded document.
+     *
+     * @param args the arguments of the parser, starting with the path of the instance
+     * @param document the document of the instance
+     *
+     * @return the built model
+     *
+     * @throws SetUpException if the arguments are not valid
+     */
+    public static Model newModel(String[] args, PreloadedDocument document)
+            throws SetUpException {
+        var xcsp = new XCSPExtension();
+        if (!xcsp.setUp(args)) {
+            throw new SetUpException("Cannot set up the parser");
+        }
+        xcsp.setDocument(document);
+        xcsp.createSolver();
+        xcsp.buildModel();
+        xcsp.configureSearch();
+        xcsp.removeShutdownHook();
+        return xcsp.getModel();
+    }
+
+    /**
+     * Sets the already loaded document of the instance, from which the model is to be
+     * built instead of reading the instance file.
+     * This method must be called before {@link #createSolver()}.
+     *
+     * @param document the document of the instance
+     */
+    public void setDocument(PreloadedDocument document) {
+        this.document = document;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.chocosolver.parser.xcsp.XCSP#createSolver()
+     */
+    @Override
+    public void createSolver() {
+        super.createSolver();
+        if (document != null) {
+            for (int i = 0; i < parsers.length; i++) {
+                parsers[i] = new PreloadedXCSPParser(document);
+            }
+        }
+    }
+
+    /**
+     * Gives the identifier of the group of each constraint of the model, as numbered by
+     * the parser of the already loaded document.
+     * This method must be called after {@link #buildModel()}.
+     *
+     * @return the identifiers of the groups, indexed by the index of the constraints in
+     *         the model, or {@code null} if the numbering of the constraints is to be used
+     *
+     * @see PreloadedXCSPParser#getGroupIds()
+     */
+    public int[] getGroupIds() {
+        if (parsers[0] instanceof PreloadedXCSPParser parser) {
+            return parser.getGroupIds();
+        }
+        return null;
+    }
+
+    /**
+     * Gives the key of each constraint of the model, i.e., its identifier in the
+     * instance, as recorded by the parser of the already loaded document.
+     * This method must be called after {@link #buildModel()}.
+     *
+     * @return the keys of the constraints, indexed by the index of the constraints in the
+     *         model, or {@code null} if they are not known
+     *
+     * @see PreloadedXCSPParser#getConstraintKeys()
+     */
+    public String[] getConstraintKeys() {
+        if (parsers[0] instanceof PreloadedXCSPParser parser) {
+            return parser.getConstraintKeys();
+        }
+        return null;
+    }
+
+    /**
+     * Gives the key of each group of the model, i.e., its identifier in the instance, as
+     * recorded by the parser of the already loaded document.
+     * This method must be called after {@link #buildModel()}.
+     *
+     * @return the keys of the groups, indexed by the identifiers returned by
+     *         {@link #getGroupIds()}, or {@code null} if they are not known
+     *
+     * @see PreloadedXCSPParser#getGroupKeys()
+     */
+    public String[] getGroupKeys() {
+        if (parsers[0] instanceof PreloadedXCSPParser parser) {
+            return parser.getGroupKeys();
+        }
+        return null;
+    }
 
     /**
      * Removes the shutdown hook.
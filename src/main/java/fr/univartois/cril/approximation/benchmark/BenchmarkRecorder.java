@@ -0,0 +1,400 @@
+/**
+ * approximation, a constraint programming solver based on Choco, utilizing relaxation
+ * techniques.
+ * Copyright (c) 2025 - Univ Artois, CNRS & Luxembourg University.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.loop.monitors.IMonitorContradiction;
+import org.chocosolver.solver.search.loop.monitors.IMonitorDownBranch;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+
+import fr.univartois.cril.approximation.solver.UniverseSolverResult;
+import fr.univartois.cril.approximation.solver.state.ISolverState;
+import fr.univartois.cril.approximation.util.ISolverListener;
+
+/**
+ * The BenchmarkRecorder collects the measures of a single run of the approximation
+ * solver.
+ * It is both plugged as a monitor of the Choco solver (to count nodes and fails, and to
+ * record the solutions), and used as the listener of the approximation solver (to count
+ * the relaxation and restoration cycles).
+ * As the statistics of the Choco solver are reset at each change of state, the counters
+ * are maintained here for the whole run.
+ * Only the solutions found in a safe state are recorded, as the solutions of a relaxed
+ * problem are not solutions of the instance.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public class BenchmarkRecorder implements ISolverListener, IMonitorSolution,
+        IMonitorDownBranch, IMonitorContradiction {
+
+    /** The solver whose resolution is recorded. */
+    private final Solver solver;
+
+    /** The state in which the solver is currently running. */
+    private volatile ISolverState state;
+
+    /** The time at which the run started (in nanoseconds). */
+    private long start;
+
+    /** The time at which the first solution has been found (in nanoseconds). */
+    private volatile long firstSolution = -1;
+
+    /** The number of nodes explored so far. */
+    private volatile long nodes;
+
+    /** The number of fails encountered so far. */
+    private volatile long fails;
+
+    /** The number of times constraints have been removed. */
+    private volatile int relaxations;
+
+    /** The number of times constraints have been restored. */
+    private volatile int restorations;
+
+    /** The final result of the run. */
+    private volatile UniverseSolverResult result = UniverseSolverResult.UNKNOWN;
+
+    /** The bounds found so far, with the time (in seconds) at which they were found. */
+    private final List<double[]> boundTrace = new ArrayList<>();
+
+    /**
+     * Creates a new BenchmarkRecorder.
+     *
+     * @param solver the solver whose resolution is recorded
+     */
+    public BenchmarkRecorder(Solver solver) {
+        this.solver = solver;
+    }
+
+    /**
+     * Starts the clock of this recorder.
+     */
+    public void start() {
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * Gives the time elapsed since this recorder was started.
+     *
+     * @return the elapsed time (in seconds)
+     */
+    public double elapsed() {
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    /**
+     * Gives the time at which the first solution has been found.
+     *
+     * @return the time to the first solution (in seconds), or {@code -1} if no solution
+     *         has been found
+     */
+    public double getTimeToFirstSolution() {
+        long first = firstSolution;
+        return (first < 0) ? -1 : ((first - start) / 1e9);
+    }
+
+    /**
+     * Gives the number of nodes explored so far.
+     *
+     * @return the number of nodes
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gives the number of fails encountered so far.
+     *
+     * @return the number of fails
+     */
+    public long getFails() {
+        return fails;
+    }
+
+    /**
+     * Gives the number of times constraints have been removed.
+     *
+     * @return the number of relaxations
+     */
+    public int getRelaxations() {
+        return relaxations;
+    }
+
+    /**
+     * Gives the number of times constraints have been restored.
+     *
+     * @return the number of restorations
+     */
+    public int getRestorations() {
+        return restorations;
+    }
+
+    /**
+     * Gives the final result of the run.
+     *
+     * @return the result, or {@link UniverseSolverResult#UNKNOWN} if the run is not
+     *         finished
+     */
+    public UniverseSolverResult getResult() {
+        return result;
+    }
+
+    /**
+     * Gives the bounds found so far, with the time at which they were found.
+     *
+     * @return the pairs {@code (time in seconds, bound)}, in chronological order
+     */
+    public synchronized List<double[]> getBoundTrace() {
+        return new ArrayList<>(boundTrace);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.chocosolver.solver.search.loop.monitors.IMonitorSolution#onSolution()
+     */
+    @Override
+    public void onSolution() {
+        var current = state;
+        if ((current == null) || !current.isSafe()) {
+            // This is a solution of a relaxed problem.
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (firstSolution < 0) {
+            firstSolution = now;
+        }
+
+        var om = solver.getObjectiveManager();
+        if (om.isOptimization()) {
+            synchronized (this) {
+                boundTrace.add(new double[] { (now - start) / 1e9,
+                        om.getBestSolutionValue().doubleValue() });
+            }
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * org.chocosolver.solver.search.loop.monitors.IMonitorDownBranch#beforeDownBranch(
+     * boolean)
+     */
+    @Override
+    public void beforeDownBranch(boolean left) {
+        nodes++;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * org.chocosolver.solver.search.loop.monitors.IMonitorContradiction#onContradiction(
+     * org.chocosolver.solver.exception.ContradictionException)
+     */
+    @Override
+    public void onContradiction(ContradictionException cex) {
+        fails++;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.approximation.util.ISolverListener#onStartState(fr.univartois.
+     * cril.approximation.solver.state.ISolverState)
+     */
+    @Override
+    public void onStartState(ISolverState state) {
+        this.state = state;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.approximation.util.ISolverListener#onSolveWithStarter(fr.
+     * univartois.cril.approximation.solver.state.ISolverState)
+     */
+    @Override
+    public void onSolveWithStarter(ISolverState state) {
+        // Nothing to record.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.util.ISolverListener#onSolve(fr.univartois.
+     * cril.approximation.solver.state.ISolverState)
+     */
+    @Override
+    public void onSolve(ISolverState state) {
+        // Nothing to record.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.approximation.util.ISolverListener#onStateSolved(fr.univartois.
+     * cril.approximation.solver.state.ISolverState)
+     */
+    @Override
+    public void onStateSolved(ISolverState state) {
+        // Nothing to record.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.approximation.util.ISolverListener#onEndState(fr.univartois.cril
+     * .approximation.solver.state.ISolverState)
+     */
+    @Override
+    public void onEndState(ISolverState state) {
+        // Nothing to record.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.util.ISolverListener#onResetSolver()
+     */
+    @Override
+    public void onResetSolver() {
+        // Nothing to record.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.approximation.util.ISolverListener#onSolution(java.lang.String)
+     */
+    @Override
+    public void onSolution(String solution) {
+        // Nothing to record.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.approximation.util.ISolverListener#onResult(fr.univartois.cril.
+     * approximation.solver.state.ISolverState,
+     * fr.univartois.cril.approximation.solver.UniverseSolverResult)
+     */
+    @Override
+    public void onResult(ISolverState state, UniverseSolverResult result) {
+        // Nothing to record.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.util.ISolverListener#onNewBoundFound(int,
+     * int)
+     */
+    @Override
+    public void onNewBoundFound(int bestBound, int bestIndex) {
+        // Nothing to record.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.approximation.util.ISolverListener#onRestoreConstraints(fr.
+     * univartois.cril.approximation.solver.state.ISolverState, int)
+     */
+    @Override
+    public void onRestoreConstraints(ISolverState state, int constraintCount) {
+        restorations++;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.util.ISolverListener#onRemoveConstraints(fr.
+     * univartois.cril.approximation.solver.state.ISolverState, int)
+     */
+    @Override
+    public void onRemoveConstraints(ISolverState state, int constraintCount) {
+        relaxations++;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.util.ISolverListener#onExtendFailLimit(double,
+     * long)
+     */
+    @Override
+    public void onExtendFailLimit(double ratio, long failLimit) {
+        // Nothing to record.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.approximation.util.ISolverListener#onDebugMessage(java.lang.
+     * String)
+     */
+    @Override
+    public void onDebugMessage(String message) {
+        // Nothing to record.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.util.ISolverListener#onCompleteRestore()
+     */
+    @Override
+    public void onCompleteRestore() {
+        // Nothing to record.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.util.ISolverListener#onFinishResolution(fr.
+     * univartois.cril.approximation.solver.state.ISolverState,
+     * fr.univartois.cril.approximation.solver.UniverseSolverResult)
+     */
+    @Override
+    public void onFinishResolution(ISolverState lastState, UniverseSolverResult result) {
+        this.result = result;
+    }
+
+}
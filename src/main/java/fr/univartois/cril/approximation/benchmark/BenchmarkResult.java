@@ -0,0 +1,210 @@
+/**
+ * approximation, a constraint programming solver based on Choco, utilizing relaxation
+ * techniques.
+ * Copyright (c) 2025 - Univ Artois, CNRS & Luxembourg University.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation.benchmark;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+import fr.univartois.cril.approximation.solver.UniverseSolverResult;
+
+/**
+ * The BenchmarkResult gathers the measures of a single run of the approximation
+ * solver, for a given instance and configuration, and writes them either as a CSV line
+ * or as a JSON object.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class BenchmarkResult {
+
+    /** The header of the CSV file the results are written to. */
+    public static final String CSV_HEADER = "instance,configuration,result,time,"
+            + "timeToFirstSolution,bestBound,nodes,fails,nodesPerSecond,failsPerSecond,"
+            + "relaxations,restorations,boundTrace";
+
+    /** The name of the instance. */
+    private final String instance;
+
+    /** The description of the configuration. */
+    private final String configuration;
+
+    /** The result of the run. */
+    private final UniverseSolverResult result;
+
+    /** The wall-clock time of the run (in seconds). */
+    private final double time;
+
+    /** The time to the first solution (in seconds), or {@code -1}. */
+    private final double timeToFirstSolution;
+
+    /** The number of nodes explored. */
+    private final long nodes;
+
+    /** The number of fails encountered. */
+    private final long fails;
+
+    /** The number of relaxation cycles. */
+    private final int relaxations;
+
+    /** The number of restoration cycles. */
+    private final int restorations;
+
+    /** The bounds found during the run, with the time at which they were found. */
+    private final List<double[]> boundTrace;
+
+    /**
+     * Creates a new BenchmarkResult from the measures collected by a recorder.
+     *
+     * @param instance the name of the instance
+     * @param configuration the description of the configuration
+     * @param time the wall-clock time of the run (in seconds)
+     * @param recorder the recorder that has collected the measures of the run
+     */
+    public BenchmarkResult(String instance, String configuration, double time,
+            BenchmarkRecorder recorder) {
+        this.instance = instance;
+        this.configuration = configuration;
+        this.result = recorder.getResult();
+        this.time = time;
+        this.timeToFirstSolution = recorder.getTimeToFirstSolution();
+        this.nodes = recorder.getNodes();
+        this.fails = recorder.getFails();
+        this.relaxations = recorder.getRelaxations();
+        this.restorations = recorder.getRestorations();
+        this.boundTrace = recorder.getBoundTrace();
+    }
+
+    /**
+     * Gives the best bound found during the run.
+     *
+     * @return the best bound, or {@code null} if no bound has been found
+     */
+    private String bestBound() {
+        if (boundTrace.isEmpty()) {
+            return null;
+        }
+        return format(boundTrace.get(boundTrace.size() - 1)[1]);
+    }
+
+    /**
+     * Gives the number of events of a given kind per second.
+     *
+     * @param count the number of events
+     *
+     * @return the number of events per second
+     */
+    private double perSecond(long count) {
+        return (time > 0) ? (count / time) : 0;
+    }
+
+    /**
+     * Gives this result as a line of a CSV file.
+     * The bound trace is written as a sequence of {@code time:bound} pairs separated by
+     * semicolons.
+     *
+     * @return the CSV line (without line terminator)
+     *
+     * @see #CSV_HEADER
+     */
+    public String toCSV() {
+        var trace = new StringJoiner(";");
+        for (double[] point : boundTrace) {
+            trace.add(format(point[0]) + ":" + format(point[1]));
+        }
+
+        var bound = bestBound();
+        return String.join(",", quote(instance), quote(configuration), result.name(),
+                format(time), format(timeToFirstSolution), (bound == null) ? "" : bound,
+                Long.toString(nodes), Long.toString(fails), format(perSecond(nodes)),
+                format(perSecond(fails)), Integer.toString(relaxations),
+                Integer.toString(restorations), trace.toString());
+    }
+
+    /**
+     * Gives this result as a JSON object.
+     *
+     * @return the JSON object
+     */
+    public String toJSON() {
+        var trace = new StringJoiner(",", "[", "]");
+        for (double[] point : boundTrace) {
+            trace.add("[" + format(point[0]) + "," + format(point[1]) + "]");
+        }
+
+        var json = new StringBuilder("{");
+        json.append("\"instance\":\"").append(escape(instance)).append("\",");
+        json.append("\"configuration\":\"").append(escape(configuration)).append("\",");
+        json.append("\"result\":\"").append(result.name()).append("\",");
+        json.append("\"time\":").append(format(time)).append(',');
+        json.append("\"timeToFirstSolution\":").append(format(timeToFirstSolution))
+                .append(',');
+        json.append("\"bestBound\":").append(bestBound()).append(',');
+        json.append("\"nodes\":").append(nodes).append(',');
+        json.append("\"fails\":").append(fails).append(',');
+        json.append("\"nodesPerSecond\":").append(format(perSecond(nodes))).append(',');
+        json.append("\"failsPerSecond\":").append(format(perSecond(fails))).append(',');
+        json.append("\"relaxations\":").append(relaxations).append(',');
+        json.append("\"restorations\":").append(restorations).append(',');
+        json.append("\"boundTrace\":").append(trace);
+        return json.append('}').toString();
+    }
+
+    /**
+     * Formats a decimal value independently from the default locale.
+     *
+     * @param value the value to format
+     *
+     * @return the formatted value
+     */
+    private static String format(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            return Long.toString((long) value);
+        }
+        return String.format(Locale.US, "%.3f", value);
+    }
+
+    /**
+     * Quotes a value to be written in a CSV file.
+     *
+     * @param value the value to quote
+     *
+     * @return the quoted value
+     */
+    private static String quote(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Escapes a value to be written as a JSON string.
+     *
+     * @param value the value to escape
+     *
+     * @return the escaped value
+     */
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+}
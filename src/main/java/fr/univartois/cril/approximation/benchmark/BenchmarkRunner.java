@@ -0,0 +1,379 @@
+/**
+ * approximation, a constraint programming solver based on Choco, utilizing relaxation
+ * techniques.
+ * Copyright (c) 2025 - Univ Artois, CNRS & Luxembourg University.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation.benchmark;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.chocosolver.parser.SetUpException;
+import org.chocosolver.solver.constraints.Constraint;
+
+import fr.univartois.cril.approximation.XCSPExtension;
+import fr.univartois.cril.approximation.cli.CLI;
+import fr.univartois.cril.approximation.solver.ApproximationSolverBuilder;
+import fr.univartois.cril.approximation.solver.IApproximationSolver;
+import fr.univartois.cril.approximation.solver.criteria.BooleanCriteria;
+import net.sourceforge.argparse4j.ArgumentParsers;
+import net.sourceforge.argparse4j.inf.ArgumentParser;
+import net.sourceforge.argparse4j.inf.ArgumentParserException;
+import net.sourceforge.argparse4j.inf.Namespace;
+
+/**
+ * The {@code BenchmarkRunner} is the entry point for benchmarking the approximation
+ * solver on a corpus of XCSP instances.
+ * <p>
+ * Each instance found in the given directory (with extension {@code .xml} or
+ * {@code .xml.lzma}) is solved with each configuration of the matrix defined by the
+ * constraint removers, measures, path strategies and numbers of runs given on the
+ * command line, under fixed time and fail limits.
+ * </p>
+ * <p>
+ * The measures of each run (time to the first solution, best bound over time, nodes
+ * and fails per second, number of relaxation and restoration cycles) are written to
+ * both a CSV and a JSON file, as soon as the run is over.
+ * </p>
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public class BenchmarkRunner {
+
+    /** The time given to a run to stop after its limits are reached (in seconds). */
+    private static final long GRACE_PERIOD = 10;
+
+    /**
+     * Disables instantiation.
+     */
+    private BenchmarkRunner() {
+        throw new AssertionError("The class BenchmarkRunner should not be instantiated.");
+    }
+
+    /**
+     * Creates the command-line argument parser of the benchmark runner.
+     *
+     * @return the argument parser
+     */
+    private static ArgumentParser createParser() {
+        ArgumentParser parser = ArgumentParsers.newFor("BenchmarkRunner").build()
+                .defaultHelp(true)
+                .description("Benchmarks the approximation solver on a corpus of instances");
+        parser.addArgument("-d", "--instances").type(String.class).required(true)
+                .help("The directory containing the instances to solve.");
+        parser.addArgument("--removers").nargs("+").setDefault(List.of("Group"))
+                .help("The constraint removers to benchmark.");
+        parser.addArgument("--measures").nargs("+").setDefault(List.of("NEffectiveFiltering"))
+                .help("The measures to benchmark.");
+        parser.addArgument("--path-strategies").nargs("+").setDefault(List.of("APPROX_NORMAL"))
+                .help("The path strategies to benchmark.");
+        parser.addArgument("--n-runs-normal").nargs("+").type(Integer.class)
+                .setDefault(List.of(50))
+                .help("The numbers of runs to solve the full problem.");
+        parser.addArgument("--n-runs-approx").nargs("+").type(Integer.class)
+                .setDefault(List.of(10))
+                .help("The numbers of runs to solve the approximate problem.");
+        parser.addArgument("--time-limit").type(Long.class).setDefault(60L)
+                .help("The time limit of each run (in seconds).");
+        parser.addArgument("--fail-limit").type(Long.class).setDefault(0L)
+                .help("The maximum number of fails of each run (0 for no limit).");
+        parser.addArgument("-o", "--output").type(String.class).setDefault("benchmark")
+                .help("The prefix of the CSV and JSON files to write the results to.");
+        parser.addArgument("--").dest("remaining").nargs("*")
+                .help("Arguments to pass to each run of the solver");
+        return parser;
+    }
+
+    /**
+     * The main method, which runs the whole benchmark.
+     *
+     * @param args The command-line arguments provided by the user.
+     */
+    public static void main(String[] args) {
+        var parser = createParser();
+        try {
+            var arguments = parser.parseArgs(args);
+            run(arguments);
+
+        } catch (ArgumentParserException e) {
+            parser.handleError(e);
+            System.exit(1);
+
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs the benchmark described by the given arguments.
+     *
+     * @param arguments the arguments of the benchmark
+     *
+     * @throws IOException if the instances cannot be listed, or the results cannot be
+     *         written
+     */
+    private static void run(Namespace arguments) throws IOException {
+        var instances = listInstances(Paths.get(arguments.getString("instances")));
+        var configurations = createConfigurations(arguments);
+        var output = arguments.getString("output");
+        int total = instances.size() * configurations.size();
+        int current = 0;
+        boolean first = true;
+
+        try (var csv = new PrintWriter(Files.newBufferedWriter(Paths.get(output + ".csv"),
+                StandardCharsets.UTF_8));
+                var json = new PrintWriter(Files.newBufferedWriter(
+                        Paths.get(output + ".json"), StandardCharsets.UTF_8))) {
+            csv.println(BenchmarkResult.CSV_HEADER);
+            json.println("[");
+
+            runs: for (Path instance : instances) {
+                for (List<String> configuration : configurations) {
+                    current++;
+                    var description = String.join(" ", configuration);
+                    System.out.printf("c [%d/%d] %s %s%n", current, total,
+                            instance.getFileName(), description);
+
+                    BenchmarkResult result;
+                    try {
+                        result = runOnce(instance, configuration, arguments);
+                    } catch (IllegalStateException e) {
+                        System.out.println("c " + e.getMessage() + ": ending the benchmark");
+                        break runs;
+                    }
+                    if (result == null) {
+                        continue;
+                    }
+
+                    csv.println(result.toCSV());
+                    csv.flush();
+                    json.print(first ? "" : ",\n");
+                    json.print(result.toJSON());
+                    json.flush();
+                    first = false;
+                }
+            }
+
+            json.println();
+            json.println("]");
+        }
+    }
+
+    /**
+     * Lists the instances to solve in the given directory.
+     *
+     * @param directory the directory containing the instances
+     *
+     * @return the paths of the instances, in lexicographic order
+     *
+     * @throws IOException if the directory cannot be read
+     */
+    private static List<Path> listInstances(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(p -> p.toString().endsWith(".xml")
+                                 || p.toString().endsWith(".xml.lzma"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Creates the matrix of configurations to benchmark, as the options to give to the
+     * approximation solver.
+     *
+     * @param arguments the arguments of the benchmark
+     *
+     * @return the options of each configuration
+     */
+    private static List<List<String>> createConfigurations(Namespace arguments) {
+        List<List<String>> configurations = new ArrayList<>();
+        for (Object remover : arguments.getList("removers")) {
+            for (Object measure : arguments.getList("measures")) {
+                for (Object path : arguments.getList("path_strategies")) {
+                    for (Object normal : arguments.getList("n_runs_normal")) {
+                        for (Object approx : arguments.getList("n_runs_approx")) {
+                            configurations.add(List.of(
+                                    "--constraint-remover", remover.toString(),
+                                    "--measure", measure.toString(),
+                                    "--path-strategy", path.toString(),
+                                    "--n-runs-normal", normal.toString(),
+                                    "--n-runs-approx", approx.toString()));
+                        }
+                    }
+                }
+            }
+        }
+        return configurations;
+    }
+
+    /**
+     * Solves an instance with a given configuration, and collects the measures of this
+     * run.
+     *
+     * @param instance the instance to solve
+     * @param configuration the options of the approximation solver
+     * @param arguments the arguments of the benchmark
+     *
+     * @return the result of the run, or {@code null} if the solver could not be set up
+     *
+     * @throws IllegalStateException if the run could not be stopped, in which case it
+     *         would compete with the following runs
+     */
+    private static BenchmarkResult runOnce(Path instance, List<String> configuration,
+            Namespace arguments) {
+        long timeLimit = arguments.getLong("time_limit");
+        long failLimit = arguments.getLong("fail_limit");
+        var description = String.join(" ", configuration);
+
+        try {
+            List<String> approxArgs = new ArrayList<>();
+            approxArgs.add("--approx");
+            approxArgs.add("-i");
+            approxArgs.add(instance.toString());
+            approxArgs.addAll(configuration);
+            var options = CLI.createCLIParser(true)
+                    .parseArgs(approxArgs.toArray(new String[approxArgs.size()]));
+
+            List<String> chocoArgs = new ArrayList<>();
+            chocoArgs.add(instance.toString());
+            chocoArgs.addAll(arguments.getList("remaining"));
+
+            Constraint.currentGroup = 1;
+            Constraint.currentBlock = 1;
+
+            var xcsp = new XCSPExtension();
+            if (!xcsp.setUp(chocoArgs.toArray(new String[chocoArgs.size()]))) {
+                return null;
+            }
+            xcsp.createSolver();
+            xcsp.buildModel();
+            xcsp.configureSearch();
+            xcsp.removeShutdownHook();
+            var model = xcsp.getModel();
+
+            var recorder = new BenchmarkRecorder(model.getSolver());
+            IApproximationSolver solver = new ApproximationSolverBuilder(model.getSolver())
+                    .withSpecificConstraintRemover(options.getString("constraint_remover"))
+                    .withSpecificConstraintMeasure(options.getString("measure"))
+                    .setKeepFalsified(options.get("keep_falsified"))
+                    .setSolverListener(recorder)
+                    .setTimeout(timeLimit * 1000)
+                    .initState(options)
+                    .build();
+
+            var stop = new BooleanCriteria();
+            solver.plugMonitor(recorder);
+            solver.addStopCriterion(stop);
+            if (failLimit > 0) {
+                solver.addStopCriterion(() -> recorder.getFails() >= failLimit);
+            }
+
+            // Each run has its own thread, so that a run that cannot be stopped can be
+            // detected (and abandoned) without blocking the benchmark.
+            ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+                var thread = new Thread(r, "benchmark");
+                thread.setDaemon(true);
+                return thread;
+            });
+            recorder.start();
+            Future<?> future = executor.submit(solver::solve);
+            awaitRun(future, stop, timeLimit);
+            executor.shutdownNow();
+            if (!awaitTermination(executor)) {
+                throw new IllegalStateException("the run on " + instance + " with "
+                        + description + " could not be stopped");
+            }
+            return new BenchmarkResult(instance.getFileName().toString(), description,
+                    recorder.elapsed(), recorder);
+
+        } catch (ArgumentParserException | SetUpException e) {
+            System.out.println("c could not run " + instance + " with " + description);
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Waits for a run to be over.
+     * If the run is still going after its time limit, it is asked to stop, and it is
+     * eventually interrupted if it does not stop by itself.
+     *
+     * @param future the future of the run
+     * @param stop the criterion used to stop the run
+     * @param timeLimit the time limit of the run (in seconds)
+     */
+    private static void awaitRun(Future<?> future, BooleanCriteria stop, long timeLimit) {
+        try {
+            try {
+                future.get(timeLimit + GRACE_PERIOD, TimeUnit.SECONDS);
+
+            } catch (TimeoutException e) {
+                stop.setStop(true);
+                future.get(GRACE_PERIOD, TimeUnit.SECONDS);
+            }
+
+        } catch (TimeoutException e) {
+            future.cancel(true);
+
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for the thread of a run to be terminated after it has been interrupted.
+     *
+     * @param executor the executor running the run
+     *
+     * @return whether the thread of the run is terminated
+     */
+    private static boolean awaitTermination(ExecutorService executor) {
+        try {
+            return executor.awaitTermination(GRACE_PERIOD, TimeUnit.SECONDS);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return executor.isTerminated();
+        }
+    }
+
+}
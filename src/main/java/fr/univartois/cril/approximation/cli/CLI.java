@@ -20,6 +20,7 @@
 
 package fr.univartois.cril.approximation.cli;
 
+import java.util.List;
 import java.util.Map;
 
 import fr.univartois.cril.approximation.core.KeepFalsifiedConstraintStrategy;
@@ -222,6 +223,19 @@ public class CLI {
         generalGroup.addArgument("--keep-falsified").type(KeepFalsifiedConstraintStrategy.class)
                 .setDefault(KeepFalsifiedConstraintStrategy.NEVER);
         generalGroup.addArgument("--portfolio-configuration").type(String.class);
+        generalGroup.addArgument("--threads")
+                .help("The number of threads of the portfolio (0 for the number of processors).")
+                .type(Integer.class).setDefault(0);
+        generalGroup.addArgument("--stall-timeout")
+                .help("The time after which a solver of the portfolio that does not improve "
+                        + "the bound is replaced (e.g., 30s), or 0s to never replace solvers.")
+                .action(timeoutAction).setDefault(0L);
+        generalGroup.addArgument("--share-nogoods")
+                .help("Shares the short nogoods learnt by the solvers of the portfolio.")
+                .action(Arguments.storeTrue());
+        generalGroup.addArgument("--nogood-size")
+                .help("The maximum size of the nogoods shared by the solvers of the portfolio.")
+                .type(Integer.class).setDefault(8);
 
         var normalGroup = parser.addArgumentGroup("Normal resolution");
         normalGroup.addArgument("--n-runs-normal")
@@ -254,10 +268,39 @@ public class CLI {
         approximationGroup.addArgument("--measure")
                 .help("The name of the measure considered to remove constraints.")
                 .setDefault("NEffectiveFiltering").type(String.class);
+        approximationGroup.addArgument("--measure-weights")
+                .help("The weights of the effective filterings, of the backtracks and of the "
+                        + "propagator weights in the Composite measure.")
+                .nargs(3).setDefault(List.of(1., 1., 1.)).type(Double.class);
+        approximationGroup.addArgument("--normalize-measures")
+                .help("Normalizes each signal of the Composite measure by its greatest value.")
+                .action(Arguments.storeTrue());
         approximationGroup.addArgument("--constraint-remover")
                 .help("The type of strategy for removes constraints using the specify measure")
                 .setDefault("Group")
                 .type(String.class);
+        approximationGroup.addArgument("--lazy-update")
+                .help("Defers the reordering of the constraints until the next removal.")
+                .action(Arguments.storeTrue());
+        approximationGroup.addArgument("--parallel-relaxation")
+                .help("The number of candidate relaxations explored concurrently.")
+                .setDefault(1).type(Integer.class);
+        approximationGroup.addArgument("--pipelined-restoration")
+                .help("Enumerates other solutions of the approximate problem (up to "
+                        + "--n-sol-limit) while restoring, to restart from them on failure.")
+                .action(Arguments.storeTrue());
+        approximationGroup.addArgument("--fail-budget")
+                .help("The policy deciding the number of fails of the runs (Geometric, "
+                        + "Luby or Bandit).")
+                .setDefault("Geometric").type(String.class);
+        approximationGroup.addArgument("--load-profile")
+                .help("The file storing the scores of a previous run, used to seed the scores "
+                        + "of the constraints.")
+                .type(String.class);
+        approximationGroup.addArgument("--save-profile")
+                .help("The file in which the scores of the constraints are saved at the end "
+                        + "of the run.")
+                .type(String.class);
         approximationGroup.addArgument("--path-strategy").type((p, a, v) -> PathStrategy.valueOf(v))
                 .setDefault(PathStrategy.APPROX_NORMAL);
 
@@ -55,6 +55,13 @@ public class GroupConstraint {
      */
     private double score;
 
+    /**
+     * The running sum of the scores of the constraints in this group.
+     * It is maintained incrementally by the removers, so that the score of the group
+     * never needs to be recomputed from all its constraints.
+     */
+    private double totalScore;
+
     /**
      * Creates a new {@code GroupConstraint} with the specified group number.
      *
@@ -110,4 +117,32 @@ public class GroupConstraint {
         this.score = score;
     }
 
+    /**
+     * Retrieves the running sum of the scores of the constraints in this group.
+     *
+     * @return The sum of the scores of the constraints in this group.
+     */
+    public double getTotalScore() {
+        return totalScore;
+    }
+
+    /**
+     * Sets the running sum of the scores of the constraints in this group.
+     *
+     * @param totalScore The sum of the scores of the constraints in this group.
+     */
+    public void setTotalScore(double totalScore) {
+        this.totalScore = totalScore;
+    }
+
+    /**
+     * Updates the running sum of the scores of the constraints in this group, after the
+     * score of one of these constraints has changed.
+     *
+     * @param delta The variation of the score of the updated constraint.
+     */
+    public void updateTotalScore(double delta) {
+        this.totalScore += delta;
+    }
+
 }
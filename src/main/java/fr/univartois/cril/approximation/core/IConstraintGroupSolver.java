@@ -71,6 +71,15 @@ public interface IConstraintGroupSolver extends ISolver {
      */
     GroupConstraint getGroup(int index);
 
+    /**
+     * Gives the identifier of the group of the given constraint.
+     *
+     * @param constraint the constraint
+     * @return the index of the group of the constraint, or {@code -1} if the constraint
+     *         has been posted after the groups have been numbered
+     */
+    int getGroupId(Constraint constraint);
+
     /**
      * N groups.
      *
@@ -20,9 +20,9 @@
 
 package fr.univartois.cril.approximation.core;
 
-import org.chocosolver.solver.constraints.Constraint;
+import java.util.function.DoubleConsumer;
 
-import fr.univartois.cril.approximation.util.collections.heaps.Heap;
+import org.chocosolver.solver.constraints.Constraint;
 
 /**
  * Interface defining a measure for evaluating constraints in an approximation solver.
@@ -55,6 +55,9 @@ public interface IConstraintMeasure {
 
     /**
      * Computes the score for a group of constraints.
+     * This method relies on the running sum maintained in the group (see
+     * {@link GroupConstraint#getTotalScore()}), and thus runs in constant time.
+     * The computed score is also cached in the group.
      *
      * @param g The constraint group to evaluate.
      * @param count the number of times this group has already been removed..
@@ -62,47 +65,122 @@ public interface IConstraintMeasure {
      * @return The computed score for the constraint group.
      */
     default double computeScore(GroupConstraint g, int count) {
+        double result = g.getTotalScore();
+        result = count > 0 ? result / (count * g.getConstraints().size()) : result;
+        g.setScore(result);
+        return result;
+    }
+
+    /**
+     * Initializes the running sum of the scores of the constraints in a group, by
+     * computing the score of each of them.
+     *
+     * @param g The constraint group to initialize.
+     * @param count the number of times this group has already been removed.
+     *
+     * @return The computed score for the constraint group.
+     */
+    default double initScore(GroupConstraint g, int count) {
         double result = 0.0;
         for (Constraint c : g.getConstraints()) {
             result += computeScore(c);
         }
-        result = count > 0 ? result / (count * g.getConstraints().size()) : result;
-        g.setScore(result);
-        return result;
+        g.setTotalScore(result);
+        return computeScore(g, count);
+    }
+
+    /**
+     * Initializes this measure for the constraints of the given solver, before the search
+     * starts.
+     * By default, the scores are only computed from the counters updated during the
+     * search, and nothing needs to be initialized.
+     *
+     * @param groupSolver The solver containing the constraints to evaluate.
+     */
+    default void initialize(IConstraintGroupSolver groupSolver) {
+        // Nothing to compute before the search.
+    }
+
+    /**
+     * Sets the listener to notify when the scores of all the constraints are multiplied
+     * at once by a same positive factor (which preserves their order), typically to
+     * prevent them from overflowing.
+     * By default, the scores are never rescaled, and the listener is ignored.
+     *
+     * @param listener The listener to notify with the factor applied to the scores.
+     */
+    default void setRescaleListener(DoubleConsumer listener) {
+        // The scores are never rescaled.
     }
 
     /**
-     * Updates the measure for effective filtering in constraint selection.
+     * Sets the listener to notify when the scores of all the constraints may have changed
+     * at once, in a way that does not preserve their order (e.g., when the scale by which
+     * they are normalized has changed).
+     * The listener is notified after the measure has been updated, so that the new scores
+     * can be computed right away.
+     * By default, an update only changes the score of the updated constraint, and the
+     * listener is ignored.
+     *
+     * @param listener The listener to notify when all the scores must be recomputed.
+     */
+    default void setRescoreListener(Runnable listener) {
+        // An update only changes the score of the updated constraint.
+    }
+
+    /**
+     * Gives the amount by which an event currently contributes to the scores of the
+     * constraints.
+     * The scores recorded in a profile are divided by this unit, and multiplied by the
+     * unit of the measure of the next run when they are seeded, so that they weigh as
+     * much as they did at the end of the recorded run.
+     * By default, each event contributes by the same amount during the whole search.
+     *
+     * @return The current unit of the scores.
+     */
+    default double getUnit() {
+        return 1;
+    }
+
+    /**
+     * Updates the measure after the number of times a constraint has been effective
+     * during filtering has changed.
+     * Only the score of {@code c} may change, unless the listener set with
+     * {@link #setRescoreListener(Runnable)} is notified.
      *
-     * @param <T> The type of elements in the heap.
-     * @param heap The heap structure used for constraint ordering.
      * @param c The constraint to update.
-     * @param oldValue The previous score value.
-     * @param newValue The updated score value.
+     * @param oldValue The previous number of effective filterings.
+     * @param newValue The updated number of effective filterings.
+     *
+     * @return Whether the score of the constraint may have changed.
      */
-    <T> void updateMeasureNEffectiveFiltering(Heap<T> heap, T c, double oldValue, double newValue);
+    boolean updateMeasureNEffectiveFiltering(Constraint c, double oldValue, double newValue);
 
     /**
-     * Updates the measure for weighted degree (WDEG) heuristic.
+     * Updates the measure after the weighted degree (WDEG) of a constraint has changed.
+     * Only the score of {@code c} may change, unless the listener set with
+     * {@link #setRescoreListener(Runnable)} is notified.
      *
-     * @param <T> The type of elements in the heap.
-     * @param heap The heap structure used for constraint ordering.
      * @param c The constraint to update.
      * @param oldValue The previous weight value.
      * @param newValue The updated weight value.
+     *
+     * @return Whether the score of the constraint may have changed.
      */
-    <T> void updateMeasureWDEGWeight(Heap<T> heap, T c, double oldValue, double newValue);
+    boolean updateMeasureWDEGWeight(Constraint c, double oldValue, double newValue);
 
     /**
-     * Updates the measure for backtracking efficiency in constraint selection.
+     * Updates the measure after the number of backtracks caused by a constraint has
+     * changed.
+     * Only the score of {@code c} may change, unless the listener set with
+     * {@link #setRescoreListener(Runnable)} is notified.
      *
-     * @param <T> The type of elements in the heap.
-     * @param heap The heap structure used for constraint ordering.
      * @param c The constraint to update.
-     * @param oldValue The previous score value.
-     * @param newValue The updated score value.
+     * @param oldValue The previous number of backtracks.
+     * @param newValue The updated number of backtracks.
+     *
+     * @return Whether the score of the constraint may have changed.
      */
-    <T> void updateMeasureNEffectiveBacktracking(Heap<T> heap, T c, double oldValue,
-            double newValue);
+    boolean updateMeasureNEffectiveBacktracking(Constraint c, double oldValue, double newValue);
 
 }
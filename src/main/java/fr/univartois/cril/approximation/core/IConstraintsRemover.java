@@ -64,4 +64,66 @@ public interface IConstraintsRemover extends IMonitorApprox {
      */
     void restoreConstraints(Collection<Constraint> constraints);
 
+    /**
+     * Gives back constraints that have been computed by
+     * {@link #computeNextConstraintsToRemove()} but that are not removed after all.
+     * Contrary to {@link #restoreConstraints(Collection)}, the remover forgets that these
+     * constraints have been chosen, as if they had never been computed.
+     *
+     * @param constraints The constraints that are not removed.
+     */
+    default void cancelRemoval(Collection<Constraint> constraints) {
+        restoreConstraints(constraints);
+    }
+
+    /**
+     * Sets whether the reordering of the constraints is deferred until the next
+     * constraints to remove are computed, instead of being performed on each event
+     * triggered during the search.
+     * Removers that do not order the constraints ignore this setting.
+     *
+     * @param lazyUpdate Whether the reordering of the constraints is deferred.
+     */
+    default void setLazyUpdate(boolean lazyUpdate) {
+        // Nothing to reorder by default.
+    }
+
+    /**
+     * Records the current scores of the constraints and of the groups of constraints in
+     * the given profile, so that they can be used to seed the next runs.
+     *
+     * @param profile The profile in which to record the scores.
+     */
+    default void recordProfile(ScoreProfile profile) {
+        // Nothing to record by default.
+    }
+
+    /**
+     * Seeds the scores of the constraints with those recorded in a profile of a previous
+     * run, so that the first constraints to remove are chosen accordingly.
+     * Removers that do not rely on scores ignore this profile.
+     *
+     * @param profile The profile of a previous run.
+     */
+    default void seed(ScoreProfile profile) {
+        // Nothing to seed by default.
+    }
+
+    /**
+     * Records the outcome of a relaxation of the problem, i.e., of the search performed
+     * after having removed some constraints and, when this search has found a solution,
+     * of the restoration of these constraints.
+     * Removers that do not learn from the previous relaxations ignore this outcome.
+     *
+     * @param constraints The constraints that have been removed.
+     * @param approximated Whether a solution of the relaxed problem has been found.
+     * @param restored Whether a solution has been found after having restored the
+     *        constraints.
+     * @param time The time spent by the relaxation and the restoration (in ms).
+     */
+    default void recordOutcome(Collection<Constraint> constraints, boolean approximated,
+            boolean restored, long time) {
+        // Nothing to learn by default.
+    }
+
 }
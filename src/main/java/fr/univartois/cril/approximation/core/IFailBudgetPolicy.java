@@ -0,0 +1,73 @@
+/**
+ * approximation, a constraint programming solver based on Choco, utilizing relaxation
+ * techniques.
+ * Copyright (c) 2025 - Univ Artois, CNRS & Luxembourg University.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation.core;
+
+import fr.univartois.cril.approximation.solver.SolverConfiguration;
+import fr.univartois.cril.approximation.solver.UniverseSolverResult;
+
+/**
+ * Interface defining how the number of failures allowed to the runs of the solver
+ * evolves during the solving process.
+ * <p>
+ * The policy is informed of the outcome of each run of the solver, either on the
+ * original problem or on a relaxed problem, and decides the number of failures allowed
+ * to the next run of the same kind.
+ * </p>
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public interface IFailBudgetPolicy {
+
+    /**
+     * Records the outcome of a run of the solver.
+     *
+     * @param approximation Whether the run has been performed on a relaxed problem.
+     * @param result The result of the run.
+     * @param ratio The maximum ratio of variables assigned by the run.
+     */
+    void onRunEnd(boolean approximation, UniverseSolverResult result, double ratio);
+
+    /**
+     * Checks whether this policy relies on the ratio of variables assigned by the runs,
+     * which must then be tracked during the search.
+     * By default, this ratio is ignored.
+     *
+     * @return Whether the ratio given to {@link #onRunEnd} is used.
+     */
+    default boolean usesRatio() {
+        return false;
+    }
+
+    /**
+     * Computes the number of failures allowed to the next run of the solver.
+     *
+     * @param approximation Whether the next run is performed on a relaxed problem.
+     * @param configuration The configuration of the last run of the same kind.
+     *
+     * @return The number of failures allowed to the next run.
+     */
+    int nextFailBudget(boolean approximation, SolverConfiguration configuration);
+
+}
@@ -21,56 +21,157 @@
 
 package fr.univartois.cril.approximation.core;
 
-import java.util.HashSet;
-import java.util.Set;
-
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.loop.monitors.IMonitorContradiction;
 import org.chocosolver.solver.search.loop.monitors.IMonitorRestart;
 import org.chocosolver.solver.variables.IVariableMonitor;
 import org.chocosolver.solver.variables.Variable;
 import org.chocosolver.solver.variables.events.IEventType;
+import org.chocosolver.solver.variables.events.IntEventType;
 
 import fr.univartois.cril.approximation.solver.ApproximationSolverDecorator;
+import fr.univartois.cril.approximation.solver.SolverConfiguration;
+import fr.univartois.cril.approximation.util.ISolverListener;
 
 /**
- * The RestartObserver.
+ * The RestartObserver extends the fail limit of the solver when the current run of the
+ * solver assigns a large part of the variables.
+ * <p>
+ * When the limit on the number of failures is about to be reached while the ratio of
+ * variables assigned by the current run is above the ratio limit, the run is considered
+ * promising, and the limit is multiplied by the restart factor instead of stopping the
+ * solver.
+ * The run must then go as deep again before the limit is extended once more.
+ * </p>
+ * <p>
+ * A single observer is plugged into the solver, and is configured with the parameters
+ * of each state before it is run.
+ * </p>
+ * <p>
+ * The number of assigned variables is maintained incrementally: it is increased each
+ * time a variable is instantiated, and it is stored on the trail of the solver, so that
+ * it is restored on backtrack.
+ * Knowing how deep a run went is thus done in constant time.
+ * As this requires to monitor all the variables, the observer is only plugged into the
+ * variables once a run needs it, i.e., when the fail limit of this run may be extended,
+ * or when the fail budget policy relies on the ratio of assigned variables.
+ * </p>
  *
  * @author Romain Wallon
  * @version 0.1.0
  */
-public class RestartObserver implements IVariableMonitor, IMonitorRestart {
+public class RestartObserver
+        implements IVariableMonitor, IMonitorRestart, IMonitorContradiction {
+
+    /** The number of variables currently assigned, restored on backtrack. */
+    private final IStateInt nbAssigned;
+
+    /** The maximum number of variables assigned since the last restart. */
+    private int maxAssigned;
 
-    /** The assigned vars. */
-    private Set<String> assignedVars = new HashSet<>();
+    /** The maximum number of variables assigned by the previous runs. */
+    private int deepestAssigned;
 
     /** The solver. */
     private final ApproximationSolverDecorator solver;
 
-    /** The nb runs. */
-    private int nbRuns;
+    /** The listener notified when the fail limit is extended. */
+    private ISolverListener listener;
 
     /** The ratio limit. */
-    private final double ratioLimit;
-
-    /** The restart limit. */
-    private int restartLimit;
+    private double ratioLimit;
 
     /** The restart factor. */
-    private final double restartFactor;
+    private double restartFactor;
+
+    /** Whether this observer controls the fail limit of the solver. */
+    private boolean enabled;
+
+    /** Whether this observer has been plugged into the variables of the model. */
+    private boolean tracking;
 
     /**
      * Creates a new RestartObserver.
+     * The observer is disabled until it is configured for a state.
      *
      * @param solver the solver
-     * @param ratioLimit the ratio limit
-     * @param restartLimit the restart limit
-     * @param restartFactor the restart factor
      */
-    public RestartObserver(ApproximationSolverDecorator solver, double ratioLimit, int restartLimit,
-            double restartFactor) {
+    public RestartObserver(ApproximationSolverDecorator solver) {
         this.solver = solver;
-        this.ratioLimit = ratioLimit;
-        this.restartLimit = (int) (restartLimit / restartFactor);
-        this.restartFactor = restartFactor;
+        this.nbAssigned = solver.getEnvironment().makeInt(0);
+    }
+
+    /**
+     * Configures this observer for the next run of the solver, and enables it.
+     * The ratio of assigned variables above which a run is extended and the factor
+     * applied to the fail limit are those of the configuration of the state being run.
+     * The assigned variables start being tracked if this ratio can be reached, or if
+     * the policy relies on it.
+     *
+     * @param listener the listener notified when the fail limit is extended
+     * @param configuration the configuration of the state being run
+     * @param policy the policy computing the fail budgets of the runs
+     */
+    public void configure(ISolverListener listener, SolverConfiguration configuration,
+            IFailBudgetPolicy policy) {
+        this.listener = listener;
+        this.ratioLimit = configuration.getRatio();
+        this.restartFactor = configuration.getFactor();
+        if ((ratioLimit <= 1) || policy.usesRatio()) {
+            track();
+        }
+        this.maxAssigned = nbAssigned.get();
+        this.deepestAssigned = 0;
+        this.enabled = true;
+    }
+
+    /**
+     * Enables or disables the control of the fail limit by this observer.
+     * The assigned variables are only tracked while this observer is enabled.
+     *
+     * @param enabled whether this observer controls the fail limit
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Plugs this observer into the solver.
+     * This is done once, the observer being then enabled and disabled as needed.
+     */
+    public void plug() {
+        solver.plugMonitor(this);
+    }
+
+    /**
+     * Plugs this observer into all the variables of the model, unless it is already, and
+     * counts the variables that are already assigned.
+     */
+    private void track() {
+        if (tracking) {
+            return;
+        }
+        int assigned = 0;
+        for (Variable variable : solver.getModel().getVars()) {
+            variable.addMonitor(this);
+            if (variable.isInstantiated()) {
+                assigned++;
+            }
+        }
+        nbAssigned.set(assigned);
+        tracking = true;
+    }
+
+    /**
+     * Gives the maximum ratio of variables assigned since this observer has been
+     * configured.
+     * This ratio is {@code 0} when the assigned variables have never been tracked.
+     *
+     * @return the maximum ratio of assigned variables
+     */
+    public double getMaxRatio() {
+        return (double) Math.max(deepestAssigned, maxAssigned) / (double) solver.nVariables();
     }
 
     /*
@@ -80,37 +181,52 @@ public class RestartObserver implements IVariableMonitor, IMonitorRestart {
      */
     @Override
     public void afterRestart() {
-        nbRuns++;
-        if (nbRuns >= restartLimit - 1) {
-            double ratio = (double) assignedVars.size() / (double) solver.nVariables();
-            if (ratio >= ratioLimit) {
-                restartLimit *= restartFactor;
-                solver.limitFail(restartLimit);
-            }
+        if (!enabled) {
+            return;
         }
+        deepestAssigned = Math.max(deepestAssigned, maxAssigned);
+        maxAssigned = nbAssigned.get();
     }
 
     /*
      * (non-Javadoc)
      *
-     * @see interfaces.Observers.ObserverOnRuns#beforeRun()
+     * @see org.chocosolver.solver.search.loop.monitors.IMonitorContradiction#
+     * onContradiction(org.chocosolver.solver.exception.ContradictionException)
      */
     @Override
-    public void beforeRestart() {
-        assignedVars.clear();
+    public void onContradiction(ContradictionException cex) {
+        long limit = solver.getFailLimit();
+        if (!enabled || solver.getMeasures().getFailCount() + 1 < limit) {
+            return;
+        }
+
+        double ratio = (double) maxAssigned / (double) solver.nVariables();
+        if (ratio >= ratioLimit) {
+            long extended = (long) Math.ceil(limit * restartFactor);
+            solver.extendFailLimit(extended);
+            listener.onExtendFailLimit(ratio, extended);
+            deepestAssigned = Math.max(deepestAssigned, maxAssigned);
+            maxAssigned = nbAssigned.get();
+        }
     }
 
     /*
      * (non-Javadoc)
      *
-     * @see org.chocosolver.solver.variables.IVariableMonitor#onUpdate(org.chocosolver.solver.variables.Variable, org.chocosolver.solver.variables.events.IEventType)
+     * @see org.chocosolver.solver.variables.IVariableMonitor#onUpdate(org.chocosolver.
+     * solver.variables.Variable, org.chocosolver.solver.variables.events.IEventType)
      */
     @Override
     public void onUpdate(Variable variable, IEventType event) {
-        if (variable.getDomainSize() == 1 && !assignedVars.contains(variable.getName())) {
-            assignedVars.add(variable.getName());
-        } else if (variable.getDomainSize() != 1 && assignedVars.contains(variable.getName())) {
-            assignedVars.remove(variable.getName());
+        if (!enabled) {
+            return;
+        }
+        if (event == IntEventType.INSTANTIATE) {
+            int assigned = nbAssigned.add(1);
+            if (assigned > maxAssigned) {
+                maxAssigned = assigned;
+            }
         }
     }
 
@@ -0,0 +1,305 @@
+/**
+ * approximation, an approximation solver.
+ * Copyright (c) 2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+
+package fr.univartois.cril.approximation.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+
+/**
+ * The ScoreProfile stores the scores of the constraints and of the groups of constraints
+ * computed by a measure at the end of a run, so as to seed the removers of the next runs
+ * on instances of the same family.
+ * <p>
+ * In memory, the scores are indexed by the index of the constraints in the model and by
+ * the identifiers of the groups.
+ * In the binary file storing the profile, each score is associated with the key of its
+ * constraint or group, i.e., its identifier in the XCSP instance when it is known, so
+ * that the scores are given back to the same constraints and groups whatever the order
+ * in which the models are built.
+ * The numbers of constraints and groups of the recorded model are also stored, so that
+ * a profile recorded on another model can be detected.
+ * </p>
+ * <p>
+ * The scores are expressed in units of the measure that has computed them (see
+ * {@link IConstraintMeasure#getUnit()}), so that, seeded in a new run, they weigh as much
+ * as the scores computed in this run for the same events, and are decayed with them.
+ * A score that has overflowed is stored as the greatest finite score.
+ * Scores given for constraints or groups that do not exist in the profile are
+ * considered to be {@code 0}.
+ * </p>
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class ScoreProfile {
+
+    /**
+     * The number written at the beginning of the files storing a profile.
+     */
+    private static final int MAGIC_NUMBER = 0x50524f46;
+
+    /**
+     * The version of the format of the files storing a profile.
+     */
+    private static final int VERSION = 3;
+
+    /**
+     * The keys of the constraints.
+     */
+    private final String[] constraintKeys;
+
+    /**
+     * The keys of the groups.
+     */
+    private final String[] groupKeys;
+
+    /**
+     * The scores of the constraints.
+     */
+    private final double[] constraintScores;
+
+    /**
+     * The scores of the groups.
+     */
+    private final double[] groupScores;
+
+    /**
+     * The number of constraints of the model on which this profile has been recorded.
+     */
+    private int recordedConstraints;
+
+    /**
+     * The number of groups of the model on which this profile has been recorded.
+     */
+    private int recordedGroups;
+
+    /**
+     * Creates a new ScoreProfile in which all the scores are {@code 0}, and the
+     * constraints and groups are keyed by their indexes.
+     *
+     * @param nConstraints the number of constraints
+     * @param nGroups the number of groups
+     */
+    public ScoreProfile(int nConstraints, int nGroups) {
+        this(indexKeys(nConstraints), indexKeys(nGroups));
+    }
+
+    /**
+     * Creates a new ScoreProfile in which all the scores are {@code 0}.
+     *
+     * @param constraintKeys the keys of the constraints, indexed by the index of the
+     *        constraints in the model
+     * @param groupKeys the keys of the groups, indexed by their identifiers
+     */
+    public ScoreProfile(String[] constraintKeys, String[] groupKeys) {
+        this.constraintKeys = constraintKeys;
+        this.groupKeys = groupKeys;
+        this.constraintScores = new double[constraintKeys.length];
+        this.groupScores = new double[groupKeys.length];
+        this.recordedConstraints = constraintKeys.length;
+        this.recordedGroups = groupKeys.length;
+    }
+
+    /**
+     * Gives keys identifying elements by their indexes, to be used when their XCSP
+     * identifiers are not known.
+     *
+     * @param n the number of elements
+     *
+     * @return the keys of the elements
+     */
+    public static String[] indexKeys(int n) {
+        var keys = new String[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = Integer.toString(i);
+        }
+        return keys;
+    }
+
+    /**
+     * Gives the score of a constraint.
+     *
+     * @param index the index of the constraint in the model
+     *
+     * @return the score of the constraint
+     */
+    public double getConstraintScore(int index) {
+        return (index < constraintScores.length) ? constraintScores[index] : 0;
+    }
+
+    /**
+     * Sets the score of a constraint.
+     *
+     * @param index the index of the constraint in the model
+     * @param score the score of the constraint
+     */
+    public void setConstraintScore(int index, double score) {
+        constraintScores[index] = score;
+    }
+
+    /**
+     * Gives the score of a group.
+     *
+     * @param group the identifier of the group
+     *
+     * @return the score of the group
+     */
+    public double getGroupScore(int group) {
+        return (group < groupScores.length) ? groupScores[group] : 0;
+    }
+
+    /**
+     * Adds to the score of a group.
+     *
+     * @param group the identifier of the group
+     * @param score the score to add to the score of the group
+     */
+    public void addGroupScore(int group, double score) {
+        groupScores[group] += score;
+    }
+
+    /**
+     * Gives the number of constraints of the model on which this profile has been
+     * recorded.
+     *
+     * @return the number of recorded constraints
+     */
+    public int getRecordedConstraints() {
+        return recordedConstraints;
+    }
+
+    /**
+     * Gives the number of groups of the model on which this profile has been recorded.
+     *
+     * @return the number of recorded groups
+     */
+    public int getRecordedGroups() {
+        return recordedGroups;
+    }
+
+    /**
+     * Writes this profile to a binary file.
+     *
+     * @param path the path of the file to write
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        try (var output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.writeInt(MAGIC_NUMBER);
+            output.writeInt(VERSION);
+            write(output, constraintKeys, constraintScores);
+            write(output, groupKeys, groupScores);
+        }
+    }
+
+    /**
+     * Writes an array of scores, together with the keys of the elements they are
+     * associated with.
+     *
+     * @param output the stream to write the scores to
+     * @param keys the keys of the elements
+     * @param scores the scores to write
+     *
+     * @throws IOException if the scores cannot be written
+     */
+    private static void write(DataOutputStream output, String[] keys, double[] scores)
+            throws IOException {
+        double max = 0;
+        for (double score : scores) {
+            if (Double.isFinite(score)) {
+                max = Math.max(max, score);
+            }
+        }
+        output.writeInt(scores.length);
+        for (int i = 0; i < scores.length; i++) {
+            output.writeUTF(keys[i]);
+            // A score that has overflowed is considered as the greatest one.
+            output.writeDouble(Double.isFinite(scores[i]) ? scores[i] : max);
+        }
+    }
+
+    /**
+     * Reads a profile from a binary file, and associates its scores with the constraints
+     * and groups having the same keys.
+     *
+     * @param path the path of the file to read
+     * @param constraintKeys the keys of the constraints, indexed by the index of the
+     *        constraints in the model
+     * @param groupKeys the keys of the groups, indexed by their identifiers
+     *
+     * @return the profile stored in the file
+     *
+     * @throws IOException if the file cannot be read, or does not store a profile
+     */
+    public static ScoreProfile read(Path path, String[] constraintKeys, String[] groupKeys)
+            throws IOException {
+        try (var input = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path)))) {
+            if ((input.readInt() != MAGIC_NUMBER) || (input.readInt() != VERSION)) {
+                throw new IOException(path + " does not store a score profile");
+            }
+            var profile = new ScoreProfile(constraintKeys, groupKeys);
+            profile.recordedConstraints = read(input, constraintKeys, profile.constraintScores);
+            profile.recordedGroups = read(input, groupKeys, profile.groupScores);
+            return profile;
+        }
+    }
+
+    /**
+     * Reads an array of scores, and stores those of the elements having the given keys.
+     *
+     * @param input the stream to read the scores from
+     * @param keys the keys of the elements
+     * @param scores the array in which to store the scores
+     *
+     * @return the number of scores that have been read
+     *
+     * @throws IOException if the scores cannot be read
+     */
+    private static int read(DataInputStream input, String[] keys, double[] scores)
+            throws IOException {
+        var indexes = new HashMap<String, Integer>();
+        for (int i = 0; i < keys.length; i++) {
+            indexes.put(keys[i], i);
+        }
+        int n = input.readInt();
+        for (int i = 0; i < n; i++) {
+            Integer index = indexes.get(input.readUTF());
+            double score = input.readDouble();
+            if (index != null) {
+                scores[index] = score;
+            }
+        }
+        return n;
+    }
+
+}
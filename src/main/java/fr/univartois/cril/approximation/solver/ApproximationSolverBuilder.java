@@ -20,16 +20,24 @@
 
 package fr.univartois.cril.approximation.solver;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.function.Supplier;
 
+import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solver;
 
 import fr.univartois.cril.approximation.core.IConstraintMeasure;
 import fr.univartois.cril.approximation.core.IConstraintsRemover;
 import fr.univartois.cril.approximation.core.KeepFalsifiedConstraintStrategy;
+import fr.univartois.cril.approximation.solver.budget.FailBudgetPolicyFactory;
 import fr.univartois.cril.approximation.solver.state.PathStrategy;
+import fr.univartois.cril.approximation.subapproximation.measure.CompositeConstraintMeasure;
 import fr.univartois.cril.approximation.subapproximation.measure.ConstraintMeasureFactory;
 import fr.univartois.cril.approximation.subapproximation.remover.ConstraintRemoverFactory;
+import fr.univartois.cril.approximation.util.ISolverListener;
 import net.sourceforge.argparse4j.inf.Namespace;
 
 /**
@@ -67,6 +75,12 @@ public class ApproximationSolverBuilder {
      */
     private IConstraintMeasure measure;
 
+    /**
+     * The factory building copies of the model, used to explore several relaxations at
+     * once.
+     */
+    private Callable<Model> modelFactory;
+
     /**
      * Instantiates a new approximation solver builder.
      *
@@ -89,6 +103,63 @@ public class ApproximationSolverBuilder {
         return this;
     }
 
+    /**
+     * Sets the listener of the approximation solver.
+     *
+     * @param listener the listener
+     *
+     * @return the approximation solver builder
+     */
+    public ApproximationSolverBuilder setSolverListener(ISolverListener listener) {
+        decorator.setSolverListener(listener);
+        return this;
+    }
+
+    /**
+     * Sets the identifier of the group of each constraint of the model.
+     *
+     * @param groupIds the identifiers of the groups, indexed by the index of the
+     *        constraints in the model, or {@code null} to use the identifiers stored in
+     *        the constraints
+     *
+     * @return the approximation solver builder
+     */
+    public ApproximationSolverBuilder setGroupIds(int[] groupIds) {
+        decorator.setGroupIds(groupIds);
+        return this;
+    }
+
+    /**
+     * Sets the keys identifying the constraints and groups of the model in the score
+     * profiles.
+     *
+     * @param constraintKeys the keys of the constraints, indexed by the index of the
+     *        constraints in the model, or {@code null} to use these indexes
+     * @param groupKeys the keys of the groups, indexed by their identifiers, or
+     *        {@code null} to use these identifiers
+     *
+     * @return the approximation solver builder
+     */
+    public ApproximationSolverBuilder setProfileKeys(String[] constraintKeys,
+            String[] groupKeys) {
+        decorator.setProfileKeys(constraintKeys, groupKeys);
+        return this;
+    }
+
+    /**
+     * Sets the factory building copies of the model, which is needed to explore several
+     * relaxations at once, or to enumerate other solutions of a relaxation while
+     * restoring.
+     *
+     * @param modelFactory the factory building copies of the model
+     *
+     * @return the approximation solver builder
+     */
+    public ApproximationSolverBuilder setModelFactory(Callable<Model> modelFactory) {
+        this.modelFactory = modelFactory;
+        return this;
+    }
+
     /**
      * Sets the verbosity of the decoree solver.
      *
@@ -153,9 +224,28 @@ public class ApproximationSolverBuilder {
         if (sRemover == null) {
             throw new IllegalStateException("Constraint remover must be initialized !");
         }
+        if (measure instanceof CompositeConstraintMeasure composite) {
+            List<Double> weights = arguments.getList("measure_weights");
+            composite.setFactors(weights.get(0), weights.get(1), weights.get(2));
+            composite.setNormalized(
+                    Boolean.TRUE.equals(arguments.getBoolean("normalize_measures")));
+        }
         PathStrategy pathStrategy = arguments.get("path_strategy");
         var remover = sRemover.get();
+        remover.setLazyUpdate(Boolean.TRUE.equals(arguments.getBoolean("lazy_update")));
         solver.plugMonitor(remover);
+        String loadProfile = arguments.getString("load_profile");
+        if (loadProfile != null) {
+            try {
+                remover.seed(decorator.readProfile(Path.of(loadProfile)));
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        String saveProfile = arguments.getString("save_profile");
+        if (saveProfile != null) {
+            decorator.setProfilePath(Path.of(saveProfile));
+        }
         var subApproximationConfiguration = new SolverConfiguration(
                 arguments.getInt("n_runs_approx"),
                 arguments.getDouble("factor_runs_approx"),
@@ -170,7 +260,21 @@ public class ApproximationSolverBuilder {
         normalConfiguration.setRemover(remover);
 
         var solverContext = new SolverContext(normalConfiguration, subApproximationConfiguration);
+        solverContext.setFailBudgetPolicy(FailBudgetPolicyFactory.instance()
+                .createFailBudgetPolicyByName(arguments.getString("fail_budget")));
         decorator.setContext(solverContext);
+
+        int nCandidates = arguments.getInt("parallel_relaxation");
+        if ((nCandidates > 1) && (modelFactory != null)) {
+            decorator.setSpeculativeRelaxation(
+                    new SpeculativeRelaxation(modelFactory, nCandidates));
+        }
+        int nSolutions = arguments.getInt("n_sol_limit");
+        if (Boolean.TRUE.equals(arguments.getBoolean("pipelined_restoration"))
+                && (nSolutions > 1) && (modelFactory != null)) {
+            decorator.setPipelinedRestoration(
+                    new PipelinedRestoration(modelFactory, nSolutions - 1));
+        }
         return this;
     }
 
@@ -21,7 +21,11 @@
 package fr.univartois.cril.approximation.solver;
 
 import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -73,12 +77,17 @@ import org.chocosolver.util.ESat;
 import org.chocosolver.util.criteria.Criterion;
 import org.chocosolver.util.criteria.LongCriterion;
 import org.chocosolver.util.logger.Logger;
+import org.chocosolver.util.tools.TimeUtils;
 import org.xcsp.parser.entries.XVariables.XVar;
 
 import fr.univartois.cril.approximation.XCSPParserExtension;
 import fr.univartois.cril.approximation.core.GroupConstraint;
 import fr.univartois.cril.approximation.core.IConstraintGroupSolver;
 import fr.univartois.cril.approximation.core.KeepFalsifiedConstraintStrategy;
+import fr.univartois.cril.approximation.core.RestartObserver;
+import fr.univartois.cril.approximation.core.ScoreProfile;
+import fr.univartois.cril.approximation.solver.criteria.FailLimitCriteria;
+import fr.univartois.cril.approximation.solver.criteria.SolutionLimitCriteria;
 import fr.univartois.cril.approximation.solver.state.ISolverState;
 import fr.univartois.cril.approximation.solver.state.NormalStateSolver;
 import fr.univartois.cril.approximation.util.ConsoleSolverListener;
@@ -109,6 +118,24 @@ public class ApproximationSolverDecorator
     /** The group constraints. */
     private List<GroupConstraint> groupConstraints;
 
+    /**
+     * The identifier of the group of each constraint, or {@code null} to use the
+     * identifiers stored in the constraints.
+     */
+    private int[] groupIds;
+
+    /**
+     * The keys of the constraints in the score profiles, or {@code null} to use their
+     * indexes.
+     */
+    private String[] constraintKeys;
+
+    /**
+     * The keys of the groups in the score profiles, or {@code null} to use their
+     * identifiers.
+     */
+    private String[] groupKeys;
+
     /** Needed to print the last solution found. */
     private final StringBuilder output = new StringBuilder();
 
@@ -124,6 +151,30 @@ public class ApproximationSolverDecorator
     /** The solution. */
     private Solution solution;
 
+    /**
+     * The variables receiving hints when constraints are restored, i.e., all the integer
+     * variables but the objective.
+     */
+    private final IntVar[] hintVariables;
+
+    /**
+     * The values of {@link #hintVariables} in the last solution, reused from one
+     * solution to the next.
+     */
+    private final int[] hintValues;
+
+    /** The indices of the {@link #hintVariables} that are assigned in the last solution. */
+    private final BitSet hinted;
+
+    /** The observer controlling the fail limit of the runs, shared by all the states. */
+    private final RestartObserver restartObserver;
+
+    /** The limit on the number of failures of the current state. */
+    private final FailLimitCriteria failLimit;
+
+    /** The limit on the number of solutions of the current state. */
+    private final SolutionLimitCriteria solutionLimit;
+
     /** The result. */
     private UniverseSolverResult result;
 
@@ -133,6 +184,21 @@ public class ApproximationSolverDecorator
     /** The listener. */
     private ISolverListener listener;
 
+    /** The exploration of several relaxations at once, if enabled. */
+    private SpeculativeRelaxation speculativeRelaxation;
+
+    /** The enumeration of alternative starting points for restoration, if enabled. */
+    private PipelinedRestoration pipelinedRestoration;
+
+    /** The time limit of the solver (in milliseconds), or {@code 0} if there is none. */
+    private long timeLimit;
+
+    /** The time at which the solving process started (in milliseconds). */
+    private long solveStartTime = System.currentTimeMillis();
+
+    /** The file in which the scores are saved at the end of the solving, if any. */
+    private Path profilePath;
+
     /** The Constant S_INST_IN. */
     private static final String S_INST_IN = "v <instantiation id='sol%s' type='solution' ";
 
@@ -160,14 +226,30 @@ public class ApproximationSolverDecorator
         this.solver = model.getSolver();
         this.model = model;
         this.groupConstraints = new ArrayList<>();
+        this.failLimit = new FailLimitCriteria(solver);
+        this.solutionLimit = new SolutionLimitCriteria(solver);
+        this.restartObserver = new RestartObserver(this);
+        restartObserver.plug();
         solution = new Solution(model);
-        solver.plugMonitor((IMonitorSolution) solution::record);
+        this.hintVariables = retrieveHintVariables(model);
+        this.hintValues = new int[hintVariables.length];
+        this.hinted = new BitSet(hintVariables.length);
+        solver.plugMonitor((IMonitorSolution) () -> {
+            solution.record();
+            recordHints();
+        });
         this.listener = new ConsoleSolverListener();
     }
 
     /** Indicates that the resolution stops on user instruction. */
     protected boolean userinterruption = true;
 
+    /**
+     * The stop criteria added to this solver from outside (e.g., by a portfolio), which
+     * end the whole solving process when they are met.
+     */
+    private final List<Criterion> stopCriteria = new ArrayList<>();
+
     /** The normal state. */
     private NormalStateSolver normalState;
 
@@ -434,6 +516,7 @@ public class ApproximationSolverDecorator
     @Override
     public void limitTime(long limit) {
         solver.limitTime(limit);
+        timeLimit = limit;
     }
 
     /*
@@ -464,7 +547,7 @@ public class ApproximationSolverDecorator
      */
     @Override
     public void limitTime(String duration) {
-        solver.limitTime(duration);
+        limitTime(TimeUtils.convertInMilliseconds(duration));
     }
 
     /**
@@ -1322,6 +1405,107 @@ public class ApproximationSolverDecorator
         solver.addHint(variable, val);
     }
 
+    /**
+     * Gives the values of the last solution as hints to the solver, all at once.
+     */
+    public void addSolutionHints() {
+        for (int i = hinted.nextSetBit(0); i >= 0; i = hinted.nextSetBit(i + 1)) {
+            solver.addHint(hintVariables[i], hintValues[i]);
+        }
+    }
+
+    /**
+     * Records the values of the last solution that will be given as hints to the
+     * solver, without allocating any object.
+     */
+    private void recordHints() {
+        for (int i = 0; i < hintVariables.length; i++) {
+            var variable = hintVariables[i];
+            if (variable.isInstantiated()) {
+                hintValues[i] = variable.getValue();
+                hinted.set(i);
+
+            } else {
+                hinted.clear(i);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the variables that receive hints when constraints are restored.
+     *
+     * @param model the model of the solver
+     *
+     * @return the integer variables of the model, except its objective
+     */
+    private static IntVar[] retrieveHintVariables(Model model) {
+        var objective = model.getObjective();
+        return Stream.of(model.retrieveIntVars(true))
+                .filter(v -> v != objective)
+                .toArray(IntVar[]::new);
+    }
+
+    /**
+     * Sets the number of failures at which the solver is stopped, and makes sure that
+     * this limit is installed on the solver.
+     *
+     * @param limit the limit on the number of failures
+     */
+    public void setFailLimit(long limit) {
+        failLimit.setLimit(limit);
+        solver.removeStopCriterion(failLimit);
+        solver.addStopCriterion(failLimit);
+    }
+
+    /**
+     * Extends the number of failures at which the solver is stopped, while the solver
+     * is running.
+     *
+     * @param limit the new limit on the number of failures
+     */
+    public void extendFailLimit(long limit) {
+        failLimit.setLimit(limit);
+    }
+
+    /**
+     * Gives the observer controlling the fail limit of the runs of the solver.
+     *
+     * @return the restart observer, which is disabled between the runs
+     */
+    public RestartObserver getRestartObserver() {
+        return restartObserver;
+    }
+
+    /**
+     * Gives the number of failures at which the solver is stopped.
+     *
+     * @return the limit on the number of failures
+     */
+    public long getFailLimit() {
+        return failLimit.getLimit();
+    }
+
+    /**
+     * Sets the number of solutions at which the solver is stopped, and makes sure that
+     * this limit is installed on the solver.
+     *
+     * @param limit the limit on the number of solutions
+     */
+    public void setSolutionLimit(long limit) {
+        solutionLimit.setLimit(limit);
+        solver.removeStopCriterion(solutionLimit);
+        solver.addStopCriterion(solutionLimit);
+    }
+
+    /**
+     * Removes the limits on the number of failures and solutions of the current state,
+     * so that the search goes on without restarting.
+     * The other stop criteria of the solver (e.g., its timeout) are kept.
+     */
+    public void removeStateLimits() {
+        solver.removeStopCriterion(failLimit, solutionLimit);
+    }
+
     /**
      * Removes the hints.
      */
@@ -1337,6 +1521,7 @@ public class ApproximationSolverDecorator
     @Override
     public void addStopCriterion(Criterion... criterion) {
         solver.addStopCriterion(criterion);
+        stopCriteria.addAll(Arrays.asList(criterion));
     }
 
     /**
@@ -1346,6 +1531,7 @@ public class ApproximationSolverDecorator
      */
     public void removeStopCriterion(Criterion... criterion) {
         solver.removeStopCriterion(criterion);
+        stopCriteria.removeAll(Arrays.asList(criterion));
     }
 
     /**
@@ -1353,6 +1539,22 @@ public class ApproximationSolverDecorator
      */
     public void removeAllStopCriteria() {
         solver.removeAllStopCriteria();
+        stopCriteria.clear();
+    }
+
+    /**
+     * Checks whether one of the stop criteria added to this solver from outside is met,
+     * in which case the solving process must end instead of moving to another state.
+     *
+     * @return Whether the solving process has been stopped.
+     */
+    public boolean isStopped() {
+        for (Criterion c : stopCriteria) {
+            if (c.isMet()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -1657,7 +1859,19 @@ public class ApproximationSolverDecorator
      */
     public void reset() {
         solver.removeHints();
-        solver.reset();
+        resetSearch();
+    }
+
+    /**
+     * Resets the search of the solver, while keeping the hints given to the solver.
+     * Nothing is done if no search has been run since the last reset, so that the
+     * initial propagation is not invalidated when the solver is reset several times
+     * during a transition between two states.
+     */
+    public void resetSearch() {
+        if (solver.getSearchState() != SearchState.NEW) {
+            solver.reset();
+        }
         userinterruption = true;
     }
 
@@ -1694,7 +1908,7 @@ public class ApproximationSolverDecorator
      * @param seconds the new timeout
      */
     public void setTimeout(long seconds) {
-        solver.limitTime(seconds * 1000);
+        limitTime(seconds * 1000);
     }
 
     /**
@@ -1703,7 +1917,20 @@ public class ApproximationSolverDecorator
      * @param mseconds the new timeout ms
      */
     public void setTimeoutMs(long mseconds) {
-        solver.limitTime(mseconds);
+        limitTime(mseconds);
+    }
+
+    /**
+     * Gives the time left before the time limit of the solver is reached.
+     *
+     * @return the remaining time (in milliseconds), or {@link Long#MAX_VALUE} if the
+     *         solver has no time limit
+     */
+    public long getRemainingTime() {
+        if (timeLimit <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, timeLimit - (System.currentTimeMillis() - solveStartTime));
     }
 
     /**
@@ -1727,6 +1954,7 @@ public class ApproximationSolverDecorator
      */
     @Override
     public UniverseSolverResult solve() {
+        solveStartTime = System.currentTimeMillis();
         this.state = getInitialState();
         listener.onStartState(this.state);
         state.resetLimitSolver();
@@ -1745,22 +1973,25 @@ public class ApproximationSolverDecorator
                    && !this.state.isSafe()
                    && !this.state.isTimeout()) {
                 reset();
-                for (IntVar variable : solution.retrieveIntVars(true)) {
-                    if (variable == normalState.getOm().getObjective()) {
-                        continue;
-                    }
-
-                    solver.addHint(variable, solution.getIntVal(variable));
-                }
+                addSolutionHints();
                 keepFalsified.checkConstraints(solver.getModel());
+                if (pipelinedRestoration != null) {
+                    pipelinedRestoration.start(model, solution);
+                }
+                var relaxed = state;
                 state = state.previousState();
                 listener.onStartState(this.state);
                 state.resetLimitSolver();
                 listener.onResetSolver();
                 result = state.solveStarter();
                 listener.onEndState(this.state);
+                result = restoreFromAlternatives(result);
+                relaxed.onRestorationEnd(result);
 
             }
+            if (pipelinedRestoration != null) {
+                pipelinedRestoration.stop();
+            }
             // System.out.println(result + " after while");
         }
         // System.out.println(result + " before end");
@@ -1775,17 +2006,98 @@ public class ApproximationSolverDecorator
                 result = UniverseSolverResult.UNKNOWN;
             }
         }
+        if (profilePath != null) {
+            saveProfile();
+        }
         listener.onFinishResolution(state, result);
         return result;
     }
 
+    /**
+     * Saves the current scores of the constraints and of the groups to
+     * {@link #profilePath}, so as to seed the next runs.
+     */
+    private void saveProfile() {
+        var profile = new ScoreProfile(profileKeys(constraintKeys, getConstraints().size()),
+                profileKeys(groupKeys, nGroups()));
+        context.getSubApproximationConfiguration().getRemover().recordProfile(profile);
+        try {
+            profile.write(profilePath);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads a score profile, whose scores are given to the constraints and groups of
+     * this solver having the same keys.
+     *
+     * @param path the path of the file storing the profile
+     *
+     * @return the profile stored in the file
+     *
+     * @throws IOException if the file cannot be read, or does not store a profile
+     */
+    public ScoreProfile readProfile(Path path) throws IOException {
+        return ScoreProfile.read(path, profileKeys(constraintKeys, getConstraints().size()),
+                profileKeys(groupKeys, nGroups()));
+    }
+
+    /**
+     * Gives the keys of the elements in the score profiles.
+     *
+     * @param keys the keys that have been set, or {@code null}
+     * @param n the number of elements
+     *
+     * @return the keys that have been set if they match the elements, or their indexes
+     *         otherwise
+     */
+    private static String[] profileKeys(String[] keys, int n) {
+        if ((keys == null) || (keys.length != n)) {
+            return ScoreProfile.indexKeys(n);
+        }
+        return keys;
+    }
+
+    /**
+     * Attempts the restoration again from the alternative solutions of the relaxed
+     * problem enumerated in the meantime, as long as the restoration fails.
+     *
+     * @param result the result of the last restoration attempt
+     *
+     * @return the result of the restoration
+     */
+    private UniverseSolverResult restoreFromAlternatives(UniverseSolverResult result) {
+        if (pipelinedRestoration == null) {
+            return result;
+        }
+
+        var r = result;
+        SolutionSnapshot alternative;
+        while ((r == UniverseSolverResult.UNKNOWN)
+               && !this.state.isTimeout()
+               && ((alternative = pipelinedRestoration.poll()) != null)) {
+            reset();
+            alternative.addHints(model, normalState.getOm().getObjective());
+            keepFalsified.checkConstraints(solver.getModel());
+            listener.onStartState(this.state);
+            state.resetLimitSolver();
+            listener.onResetSolver();
+            r = state.solveStarter();
+            listener.onEndState(this.state);
+        }
+        return r;
+    }
+
     /**
      * Gets the initial state.
      *
      * @return the initial state
      */
     private ISolverState getInitialState() {
-        normalState = new NormalStateSolver(solver, context, this);
+        if (normalState == null) {
+            normalState = new NormalStateSolver(solver, context, this);
+        }
         normalState.setSolverListener(listener);
         return normalState;
     }
@@ -1820,11 +2132,18 @@ public class ApproximationSolverDecorator
     @Override
     public List<GroupConstraint> getGroups() {
         if (this.groupConstraints.isEmpty()) {
-            int nbGroups = Constraint.currentGroup;
+            int nbGroups = 0;
+            for (int i = 0; i < nConstraints(); i++) {
+                nbGroups = Math.max(nbGroups, getGroupId(model.getCstrs()[i]) + 1);
+            }
             this.groupConstraints = new ArrayList<>(Collections.nCopies(nbGroups, null));
             for (int i = 0; i < nConstraints(); i++) {
                 Constraint c = model.getCstrs()[i];
-                int group = c.getGroupId();
+                int group = getGroupId(c);
+                if (group < 0) {
+                    // This constraint has been posted after the groups have been numbered.
+                    continue;
+                }
                 if (this.groupConstraints.get(group) == null) {
                     this.groupConstraints.set(group, new GroupConstraint(group));
                 }
@@ -1917,6 +2236,50 @@ public class ApproximationSolverDecorator
         return resultValue;
     }
 
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.approximation.core.IConstraintGroupSolver#getGroupId(org.
+     * chocosolver.solver.constraints.Constraint)
+     */
+    @Override
+    public int getGroupId(Constraint constraint) {
+        if (groupIds == null) {
+            return constraint.getGroupId();
+        }
+        // The constraints posted after the groups have been numbered have no group.
+        int index = constraint.getCidxInModel();
+        return (index < groupIds.length) ? groupIds[index] : -1;
+    }
+
+    /**
+     * Sets the identifier of the group of each constraint, so that the numbering of the
+     * groups is specific to the model of this solver.
+     * This method must be called before the groups are computed.
+     *
+     * @param groupIds the identifiers of the groups, indexed by the index of the
+     *        constraints in the model, or {@code null} to use the identifiers stored in
+     *        the constraints
+     */
+    public void setGroupIds(int[] groupIds) {
+        this.groupIds = groupIds;
+    }
+
+    /**
+     * Sets the keys identifying the constraints and groups of the model in the score
+     * profiles, which are typically their identifiers in the instance.
+     *
+     * @param constraintKeys the keys of the constraints, indexed by the index of the
+     *        constraints in the model, or {@code null} to use these indexes
+     * @param groupKeys the keys of the groups, indexed by their identifiers, or
+     *        {@code null} to use these identifiers
+     */
+    public void setProfileKeys(String[] constraintKeys, String[] groupKeys) {
+        this.constraintKeys = constraintKeys;
+        this.groupKeys = groupKeys;
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -2041,6 +2404,79 @@ public class ApproximationSolverDecorator
         return buffer.toString();
     }
 
+    /**
+     * Sets the listener notified of the events occurring while this solver is running.
+     *
+     * @param listener The listener to set.
+     */
+    public void setSolverListener(ISolverListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Sets the exploration of several relaxations at once.
+     *
+     * @param speculativeRelaxation The exploration of the relaxations, or {@code null}
+     *        to explore a single relaxation at a time.
+     */
+    public void setSpeculativeRelaxation(SpeculativeRelaxation speculativeRelaxation) {
+        this.speculativeRelaxation = speculativeRelaxation;
+    }
+
+    /**
+     * Gives the exploration of several relaxations at once.
+     *
+     * @return The exploration of the relaxations, or {@code null} if a single relaxation
+     *         is explored at a time.
+     */
+    public SpeculativeRelaxation getSpeculativeRelaxation() {
+        return speculativeRelaxation;
+    }
+
+    /**
+     * Gives the objective variable of the original problem, which must not be hinted
+     * with the values found for the relaxed problems.
+     *
+     * @return The objective variable, or {@code null} if there is none.
+     */
+    public Variable getOriginalObjective() {
+        if (normalState == null) {
+            return null;
+        }
+        return normalState.getOm().getObjective();
+    }
+
+    /**
+     * Sets the enumeration of alternative starting points for restoration.
+     *
+     * @param pipelinedRestoration The enumeration of the alternative starting points, or
+     *        {@code null} to restore the constraints from a single solution.
+     */
+    public void setPipelinedRestoration(PipelinedRestoration pipelinedRestoration) {
+        this.pipelinedRestoration = pipelinedRestoration;
+    }
+
+    /**
+     * Gives the enumeration of alternative starting points for restoration.
+     *
+     * @return The enumeration of the alternative starting points, or {@code null} if the
+     *         constraints are restored from a single solution.
+     */
+    public PipelinedRestoration getPipelinedRestoration() {
+        return pipelinedRestoration;
+    }
+
+    /**
+     * Sets the file in which the scores of the constraints and of the groups are saved
+     * at the end of the solving.
+     *
+     * @param profilePath The file in which the scores are saved, or {@code null} to not
+     *        save them.
+     */
+    public void setProfilePath(Path profilePath) {
+        this.profilePath = profilePath;
+    }
+
     /**
      * Gives the context of this ApproximationSolverDecorator.
      *
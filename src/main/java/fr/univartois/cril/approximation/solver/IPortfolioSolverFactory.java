@@ -0,0 +1,49 @@
+/**
+ * approximation, a constraint programming solver based on Choco, utilizing relaxation
+ * techniques.
+ * Copyright (c) 2025 - Univ Artois, CNRS & Luxembourg University.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation.solver;
+
+/**
+ * The IPortfolioSolverFactory defines how the solvers of a {@link Portfolio} are created,
+ * each time a slot of the portfolio is (re)assigned to a configuration.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+@FunctionalInterface
+public interface IPortfolioSolverFactory {
+
+    /**
+     * Creates a solver of the portfolio.
+     *
+     * @param slot The index of the slot of the portfolio in which the solver will run.
+     * @param seed The seed to use for the random choices of the solver, or {@code 0} to
+     *        use the seed of the configuration.
+     *
+     * @return The created solver.
+     *
+     * @throws Exception If the solver cannot be created.
+     */
+    MyISolver createSolver(int slot, long seed) throws Exception;
+
+}
@@ -0,0 +1,470 @@
+/**
+ * approximation, a constraint programming solver based on Choco, utilizing relaxation
+ * techniques.
+ * Copyright (c) 2025 - Univ Artois, CNRS & Luxembourg University.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation.solver;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.chocosolver.sat.MiniSat;
+import org.chocosolver.solver.constraints.nary.nogood.PropNogoods;
+import org.chocosolver.solver.search.loop.monitors.IMonitorRestart;
+import org.chocosolver.solver.search.strategy.decision.DecisionPath;
+import org.chocosolver.solver.search.strategy.decision.IntDecision;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperator;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperatorFactory;
+import org.chocosolver.solver.variables.IntVar;
+
+/**
+ * The NogoodExchange allows the solvers of a portfolio to share the short nogoods they
+ * learn.
+ * <p>
+ * Each solver (or worker) publishes its nogoods into its own bounded ring buffer, in
+ * which it is the only writer.
+ * The other workers read these buffers without any lock, and import the nogoods they
+ * have not seen yet into their own nogood store at restarts, i.e., when their search is
+ * at the root node.
+ * When a worker does not read the buffer of another one fast enough, the oldest
+ * nogoods are simply lost.
+ * </p>
+ * <p>
+ * Nogoods are only expressed over the variables of the problem, identified by their
+ * name, which are shared by all the models of the same instance.
+ * Before each restart, a worker extracts the nld-nogoods of its decision path: for each
+ * refuted decision of the path, the positive decisions preceding it together with this
+ * decision form a nogood, which is shared provided that it is short enough.
+ * Only decisions that have a refutation (i.e., whose arity is greater than 1) may be
+ * refuted: the other ones are always considered as positive.
+ * As removing constraints only weakens a problem, such nogoods remain valid for the
+ * original problem even when they are learnt by an approximation solver.
+ * </p>
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public class NogoodExchange {
+
+    /**
+     * The kind of a literal stating that a variable is equal to a value.
+     */
+    private static final int EQ = 0;
+
+    /**
+     * The kind of a literal stating that a variable is different from a value.
+     */
+    private static final int NEQ = 1;
+
+    /**
+     * The kind of a literal stating that a variable is at most a value.
+     */
+    private static final int LE = 2;
+
+    /**
+     * The kind of a literal stating that a variable is at least a value.
+     */
+    private static final int GE = 3;
+
+    /**
+     * The number of integers used to encode a literal of a nogood.
+     */
+    private static final int LITERAL_SIZE = 3;
+
+    /**
+     * The identifiers of the variables shared by the workers, indexed by their names.
+     */
+    private final Map<String, Integer> identifiers = new ConcurrentHashMap<>();
+
+    /**
+     * The next identifier to give to a shared variable.
+     */
+    private final AtomicInteger nextIdentifier = new AtomicInteger();
+
+    /**
+     * The ring buffer of each worker.
+     */
+    private final RingBuffer[] buffers;
+
+    /**
+     * The number of nogoods each buffer can hold.
+     */
+    private final int capacity;
+
+    /**
+     * The maximum number of literals of a shared nogood.
+     */
+    private final int maxSize;
+
+    /**
+     * Creates a new NogoodExchange.
+     *
+     * @param nWorkers The number of workers sharing their nogoods.
+     * @param capacity The number of nogoods each buffer can hold, which must be a power
+     *        of 2.
+     * @param maxSize The maximum number of literals of a shared nogood.
+     */
+    public NogoodExchange(int nWorkers, int capacity, int maxSize) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity must be a power of 2");
+        }
+        this.buffers = new RingBuffer[nWorkers];
+        for (int i = 0; i < nWorkers; i++) {
+            buffers[i] = new RingBuffer(capacity);
+        }
+        this.capacity = capacity;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Connects a worker to this exchange, so that it publishes its nogoods and imports
+     * those of the other workers.
+     * This method must be called before the worker starts solving.
+     *
+     * @param worker The index of the worker.
+     * @param solver The solver of the worker.
+     * @param variables The variables of the problem, indexed by their names.
+     */
+    public void connect(int worker, MyISolver solver, Map<String, IntVar> variables) {
+        solver.plugMonitor(newWorker(worker, solver, variables));
+    }
+
+    /**
+     * Creates the monitor publishing the nogoods of a worker and importing those of the
+     * other workers.
+     *
+     * @param worker The index of the worker.
+     * @param solver The solver of the worker.
+     * @param variables The variables of the problem, indexed by their names.
+     *
+     * @return The monitor of the worker.
+     */
+    Worker newWorker(int worker, MyISolver solver, Map<String, IntVar> variables) {
+        int maxId = -1;
+        for (IntVar variable : variables.values()) {
+            maxId = Math.max(maxId, variable.getId());
+        }
+        int[] localToShared = new int[maxId + 1];
+        Arrays.fill(localToShared, -1);
+
+        // All the models of the instance have the same variables, so the identifiers
+        // are the same as long as all the workers give the same variables.
+        IntVar[] sharedToLocal = new IntVar[variables.size()];
+        for (var entry : variables.entrySet()) {
+            int id = identifiers.computeIfAbsent(entry.getKey(),
+                    k -> nextIdentifier.getAndIncrement());
+            localToShared[entry.getValue().getId()] = id;
+            if (id >= sharedToLocal.length) {
+                sharedToLocal = Arrays.copyOf(sharedToLocal, id + 1);
+            }
+            sharedToLocal[id] = entry.getValue();
+        }
+
+        // The nogood store must exist before the search starts to be posted.
+        var nogoods = solver.getModel().getNogoodStore().getPropNogoods();
+        return new Worker(worker, solver, nogoods, localToShared, sharedToLocal);
+    }
+
+    /**
+     * The RingBuffer is a bounded buffer with a single writer and several readers, which
+     * never blocks.
+     */
+    private static final class RingBuffer {
+
+        /**
+         * The nogoods stored in this buffer.
+         */
+        private final AtomicReferenceArray<Entry> entries;
+
+        /**
+         * The sequence number of the next nogood to publish.
+         */
+        private final AtomicLong head = new AtomicLong();
+
+        /**
+         * The mask giving the position of a sequence number in {@link #entries}.
+         */
+        private final int mask;
+
+        /**
+         * Creates a new RingBuffer.
+         *
+         * @param capacity The capacity of the buffer, which is a power of 2.
+         */
+        RingBuffer(int capacity) {
+            this.entries = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        /**
+         * Publishes a nogood in this buffer, possibly overwriting the oldest one.
+         * This method must only be called by the owner of this buffer.
+         *
+         * @param nogood The nogood to publish.
+         */
+        void publish(int[] nogood) {
+            long sequence = head.get();
+            entries.set((int) sequence & mask, new Entry(sequence, nogood));
+            head.set(sequence + 1);
+        }
+
+        /**
+         * Gives the nogood with the given sequence number.
+         *
+         * @param sequence The sequence number of the nogood.
+         *
+         * @return The nogood, or {@code null} if it has been overwritten.
+         */
+        int[] get(long sequence) {
+            Entry entry = entries.get((int) sequence & mask);
+            if ((entry == null) || (entry.sequence != sequence)) {
+                return null;
+            }
+            return entry.nogood;
+        }
+
+    }
+
+    /**
+     * The Entry is a nogood stored in a {@link RingBuffer}, together with its sequence
+     * number, so that readers can detect that it has been overwritten.
+     */
+    private static final class Entry {
+
+        /**
+         * The sequence number of the nogood.
+         */
+        private final long sequence;
+
+        /**
+         * The literals of the nogood.
+         */
+        private final int[] nogood;
+
+        /**
+         * Creates a new Entry.
+         *
+         * @param sequence The sequence number of the nogood.
+         * @param nogood The literals of the nogood.
+         */
+        Entry(long sequence, int[] nogood) {
+            this.sequence = sequence;
+            this.nogood = nogood;
+        }
+
+    }
+
+    /**
+     * The Worker is the monitor publishing and importing the nogoods of a solver.
+     * All its methods are invoked by the thread running the solver.
+     */
+    final class Worker implements IMonitorRestart {
+
+        /**
+         * The index of this worker.
+         */
+        private final int index;
+
+        /**
+         * The solver of this worker.
+         */
+        private final MyISolver solver;
+
+        /**
+         * The nogood store of the solver.
+         */
+        private final PropNogoods nogoods;
+
+        /**
+         * The identifier of each variable of the model, or {@code -1} if it is not
+         * shared.
+         */
+        private final int[] localToShared;
+
+        /**
+         * The variable of the model having each identifier.
+         */
+        private final IntVar[] sharedToLocal;
+
+        /**
+         * The sequence number of the next nogood to read in the buffer of each worker.
+         */
+        private final long[] cursors;
+
+        /**
+         * The literals of the positive decisions of the path being read, reused from one
+         * restart to the next.
+         */
+        private final int[] literals = new int[maxSize * LITERAL_SIZE];
+
+        /**
+         * Creates a new Worker.
+         *
+         * @param index The index of the worker.
+         * @param solver The solver of the worker.
+         * @param nogoods The nogood store of the solver.
+         * @param localToShared The identifier of each variable of the model.
+         * @param sharedToLocal The variable of the model having each identifier.
+         */
+        Worker(int index, MyISolver solver, PropNogoods nogoods, int[] localToShared,
+                IntVar[] sharedToLocal) {
+            this.index = index;
+            this.solver = solver;
+            this.nogoods = nogoods;
+            this.localToShared = localToShared;
+            this.sharedToLocal = sharedToLocal;
+            this.cursors = new long[buffers.length];
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see org.chocosolver.solver.search.loop.monitors.IMonitorRestart#beforeRestart()
+         */
+        @Override
+        public void beforeRestart() {
+            publish(solver.getDecisionPath());
+        }
+
+        /**
+         * Publishes the nld-nogoods of a decision path that are short enough.
+         * The extraction stops at the first decision that cannot be expressed over the
+         * shared variables.
+         *
+         * @param path The decision path to extract the nogoods from.
+         */
+        void publish(DecisionPath path) {
+            int nPositive = 0;
+            // The decision at index 0 is the root decision.
+            for (int i = 1; (i < path.size()) && (nPositive < maxSize); i++) {
+                if (!(path.getDecision(i) instanceof IntDecision decision)) {
+                    return;
+                }
+                int variable = decision.getDecisionVariable().getId();
+                if ((variable >= localToShared.length) || (localToShared[variable] < 0)) {
+                    return;
+                }
+                int kind = kindOf(decision.getDecOp());
+                if (kind < 0) {
+                    return;
+                }
+                int offset = nPositive * LITERAL_SIZE;
+                literals[offset] = localToShared[variable];
+                literals[offset + 1] = decision.getDecisionValue();
+                literals[offset + 2] = kind;
+
+                if ((decision.getArity() > 1) && (decision.triesLeft() == 0)) {
+                    // The decision has been refuted: it cannot hold with the positive
+                    // decisions that precede it.
+                    buffers[index].publish(Arrays.copyOf(literals, offset + LITERAL_SIZE));
+
+                } else {
+                    nPositive++;
+                }
+            }
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see org.chocosolver.solver.search.loop.monitors.IMonitorRestart#afterRestart()
+         */
+        @Override
+        public void afterRestart() {
+            importNogoods();
+        }
+
+        /**
+         * Imports into the nogood store of the solver the nogoods published by the other
+         * workers since the last import.
+         */
+        void importNogoods() {
+            for (int w = 0; w < buffers.length; w++) {
+                if (w == index) {
+                    continue;
+                }
+                long head = buffers[w].head.get();
+                // The nogoods that have been overwritten are skipped.
+                long sequence = Math.max(cursors[w], head - capacity);
+                for (; sequence < head; sequence++) {
+                    int[] nogood = buffers[w].get(sequence);
+                    if (nogood != null) {
+                        importNogood(nogood);
+                    }
+                }
+                cursors[w] = head;
+            }
+        }
+
+        /**
+         * Adds a nogood published by another worker to the nogood store of the solver.
+         *
+         * @param nogood The nogood to import.
+         */
+        private void importNogood(int[] nogood) {
+            int[] clause = new int[nogood.length / LITERAL_SIZE];
+            for (int i = 0; i < clause.length; i++) {
+                int id = nogood[i * LITERAL_SIZE];
+                if ((id >= sharedToLocal.length) || (sharedToLocal[id] == null)) {
+                    return;
+                }
+                IntVar variable = sharedToLocal[id];
+                int value = nogood[i * LITERAL_SIZE + 1];
+                clause[i] = switch (nogood[i * LITERAL_SIZE + 2]) {
+                    case EQ -> MiniSat.neg(nogoods.Literal(variable, value, true));
+                    case NEQ -> nogoods.Literal(variable, value, true);
+                    case LE -> MiniSat.neg(nogoods.Literal(variable, value, false));
+                    default -> nogoods.Literal(variable, value - 1, false);
+                };
+            }
+            nogoods.addLearnt(clause);
+        }
+
+        /**
+         * Gives the kind of the literal corresponding to a decision operator.
+         *
+         * @param operator The operator of the decision.
+         *
+         * @return The kind of the literal, or {@code -1} if the operator is not supported.
+         */
+        private int kindOf(DecisionOperator<IntVar> operator) {
+            if (operator == DecisionOperatorFactory.makeIntEq()) {
+                return EQ;
+            }
+            if (operator == DecisionOperatorFactory.makeIntNeq()) {
+                return NEQ;
+            }
+            if (operator == DecisionOperatorFactory.makeIntSplit()) {
+                return LE;
+            }
+            if (operator == DecisionOperatorFactory.makeIntReverseSplit()) {
+                return GE;
+            }
+            return -1;
+        }
+
+    }
+
+}
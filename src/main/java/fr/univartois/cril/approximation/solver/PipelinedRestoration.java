@@ -0,0 +1,223 @@
+/**
+ * approximation, a constraint programming solver based on Choco, utilizing relaxation
+ * techniques.
+ * Copyright (c) 2025 - Univ Artois, CNRS & Luxembourg University.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation.solver;
+
+import java.util.BitSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.objective.ObjectiveFactory;
+
+import fr.univartois.cril.approximation.solver.criteria.BooleanCriteria;
+
+/**
+ * The PipelinedRestoration keeps enumerating the solutions of a relaxed problem while the
+ * solver tries to restore the constraints removed from this problem.
+ * <p>
+ * When the solver starts restoring the constraints from a solution of the relaxed
+ * problem, the relaxed problem is also solved on a copy of the model, in another thread.
+ * The other solutions found on this copy are queued as alternative starting points, so
+ * that, if the restoration fails, it can be attempted again from the next solution in
+ * the queue without solving the relaxed problem again.
+ * </p>
+ * <p>
+ * The copy of the model is built from the same instance and with the same options as
+ * the original model, so that the constraints and variables of the copy are identified
+ * by their indices in the original model.
+ * </p>
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public class PipelinedRestoration {
+
+    /**
+     * The time (in seconds) after which the idle thread enumerating the solutions is
+     * released.
+     */
+    private static final long KEEP_ALIVE = 30;
+
+    /**
+     * The factory building the copy of the model.
+     */
+    private final Callable<Model> modelFactory;
+
+    /**
+     * The maximum number of alternative solutions enumerated for a relaxed problem.
+     */
+    private final int capacity;
+
+    /**
+     * The alternative solutions of the current relaxed problem.
+     */
+    private final BlockingQueue<SolutionSnapshot> alternatives;
+
+    /**
+     * The executor enumerating the solutions of the relaxed problems.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The copy of the model, built on demand.
+     */
+    private Model copy;
+
+    /**
+     * The criterion stopping the current enumeration.
+     */
+    private BooleanCriteria stop;
+
+    /**
+     * The current enumeration, if any.
+     */
+    private Future<Integer> enumeration;
+
+    /**
+     * Creates a new PipelinedRestoration.
+     *
+     * @param modelFactory The factory building the copy of the model.
+     * @param capacity The maximum number of alternative solutions enumerated for a
+     *        relaxed problem.
+     */
+    public PipelinedRestoration(Callable<Model> modelFactory, int capacity) {
+        this.modelFactory = modelFactory;
+        this.capacity = capacity;
+        this.alternatives = new LinkedBlockingQueue<>(capacity);
+        var pool = new ThreadPoolExecutor(1, 1, KEEP_ALIVE, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    var thread = new Thread(r, "pipelined-restoration");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // The thread of a solver that does not restore constraints anymore (e.g., because
+        // it has been stopped) is released.
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+    }
+
+    /**
+     * Starts enumerating the solutions of the relaxed problem currently solved by the
+     * solver of the original model.
+     * This method must be invoked before the removed constraints are restored.
+     * The solutions of the previous relaxed problem that have not been tried are
+     * discarded.
+     *
+     * @param model The original model.
+     * @param solution The solution of the relaxed problem from which the constraints are
+     *        about to be restored, which is not queued again.
+     */
+    public void start(Model model, Solution solution) {
+        stop();
+        var disabled = new BitSet();
+        for (Constraint c : model.getCstrs()) {
+            if (!c.isEnabled()) {
+                disabled.set(c.getCidxInModel());
+            }
+        }
+        var current = SolutionSnapshot.of(model, solution);
+        var criterion = new BooleanCriteria();
+        stop = criterion;
+        enumeration = executor.submit(() -> enumerate(disabled, current, criterion));
+    }
+
+    /**
+     * Gives the next alternative solution of the relaxed problem, if any has already
+     * been found.
+     *
+     * @return The next alternative solution, or {@code null} if there is none yet.
+     */
+    public SolutionSnapshot poll() {
+        return alternatives.poll();
+    }
+
+    /**
+     * Stops the current enumeration, and waits for the copy of the model to be idle.
+     * The alternative solutions that have not been tried are discarded.
+     */
+    public void stop() {
+        if (enumeration != null) {
+            stop.setStop(true);
+            try {
+                enumeration.get();
+
+            } catch (ExecutionException e) {
+                e.getCause().printStackTrace();
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            enumeration = null;
+        }
+        alternatives.clear();
+    }
+
+    /**
+     * Enumerates the solutions of a relaxed problem on the copy of the model, until
+     * enough solutions have been found or the enumeration is stopped.
+     *
+     * @param disabled The indices of the constraints removed from the problem.
+     * @param current The solution from which the solver restores the constraints.
+     * @param criterion The criterion stopping the enumeration.
+     *
+     * @return The number of alternative solutions that have been queued.
+     *
+     * @throws Exception If the copy of the model cannot be built.
+     */
+    private int enumerate(BitSet disabled, SolutionSnapshot current, BooleanCriteria criterion)
+            throws Exception {
+        if (copy == null) {
+            copy = modelFactory.call();
+        }
+        for (Constraint c : copy.getCstrs()) {
+            c.setEnabled(!c.isIgnorable() || !disabled.get(c.getCidxInModel()));
+        }
+
+        var solver = copy.getSolver();
+        solver.reset();
+        solver.removeAllStopCriteria();
+        solver.addStopCriterion(criterion);
+        solver.setObjectiveManager(ObjectiveFactory.SAT());
+        var solution = new Solution(copy);
+        int found = 0;
+        while ((found < capacity) && solver.solve()) {
+            // The copy follows the same search, and may thus find the same solution first.
+            // Both solutions are recorded in the same way, so that they can be compared.
+            var snapshot = SolutionSnapshot.of(copy, solution.record());
+            if (!snapshot.equals(current) && alternatives.offer(snapshot)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+}
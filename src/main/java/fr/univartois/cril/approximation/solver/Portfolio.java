@@ -21,12 +21,24 @@
 
 package fr.univartois.cril.approximation.solver;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.chocosolver.solver.ResolutionPolicy;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.objective.IObjectiveManager;
+import org.chocosolver.solver.search.SearchState;
+import org.chocosolver.solver.search.loop.monitors.IMonitorContradiction;
+import org.chocosolver.solver.search.loop.monitors.IMonitorDownBranch;
+import org.chocosolver.solver.search.loop.monitors.IMonitorRestart;
 import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
 
 import fr.univartois.cril.approximation.solver.criteria.BooleanCriteria;
@@ -43,6 +55,25 @@ import fr.univartois.cril.approximation.solver.criteria.BooleanCriteria;
  * The portfolio keeps track of the best bound found and updates all solvers accordingly.
  * If an optimization problem is being solved, the best solution value is propagated to
  * all solvers to improve efficiency.
+ * This bound is shared without any lock: each solver publishes its bounds with a
+ * compare-and-set, and pulls the best bound into its own objective manager at restarts
+ * and periodically during its search, so that no thread modifies the solver of another
+ * thread.
+ * </p>
+ *
+ * <p>
+ * Solvers may also be added as factories creating them, in which case each solver is
+ * created on its own thread and starts solving as soon as it is ready, without waiting
+ * for the other solvers to be created.
+ * The portfolio runs its solvers in a fixed number of slots (one per thread).
+ * The solvers that do not fit in these slots are kept in a pool of configurations, and
+ * are started when a slot becomes free.
+ * When a stall timeout is set, the portfolio periodically watches the progress of its
+ * solvers, and replaces a solver that has not improved the bound for this time with a
+ * configuration from the pool or, when the pool is empty, with a copy of the leading
+ * solver using another random seed (provided that this solver has been added as a
+ * factory).
+ * As soon as a solver completes the solving process, the other solvers are stopped.
  * </p>
  *
  * @author Thibault Falque
@@ -53,22 +84,39 @@ import fr.univartois.cril.approximation.solver.criteria.BooleanCriteria;
 public class Portfolio {
 
     /**
-     * List of solvers included in the portfolio.
+     * The number of nodes after which a solver pulls the best bound found by the other
+     * solvers, in addition to the restarts.
      */
-    private List<MyISolver> solvers = new ArrayList<>();
+    private static final int SYNCHRONIZATION_PERIOD = 1000;
 
     /**
-     * Index of the solver that found the best solution.
+     * The period (in milliseconds) at which the progress of the solvers is checked.
      */
-    private Integer bestIndex;
+    private static final long CHECK_PERIOD = 1000;
 
     /**
-     * Best bound found among all solvers.
+     * The value of {@link #best} when no bound has been found yet.
      */
-    private Integer bestBound;
+    private static final long NO_BOUND = pack(0, -1);
 
     /**
-     * Result of the solving process.
+     * List of the factories creating the solvers included in the portfolio.
+     */
+    private List<IPortfolioSolverFactory> factories = new ArrayList<>();
+
+    /**
+     * List of the workers that have been started, indexed by their identifier.
+     */
+    private List<Worker> workers = new ArrayList<>();
+
+    /**
+     * Best bound found among all solvers, packed together with the identifier of the
+     * worker that found it (see {@link #pack(int, int)}).
+     */
+    private final AtomicLong best = new AtomicLong(NO_BOUND);
+
+    /**
+     * Result of the solving process, which is only set once a solver has completed it.
      */
     private UniverseSolverResult result = UniverseSolverResult.UNKNOWN;
 
@@ -82,6 +130,18 @@ public class Portfolio {
      */
     private long timeout;
 
+    /**
+     * The maximum number of solvers running at the same time, or {@code 0} to run all
+     * the solvers at the same time.
+     */
+    private int maxWorkers;
+
+    /**
+     * The time (in milliseconds) after which a solver that does not improve the bound is
+     * replaced, or {@code 0} to never replace solvers.
+     */
+    private long stallTimeout;
+
     /**
      * Creates a new {@code Portfolio} with the specified timeout.
      *
@@ -94,11 +154,58 @@ public class Portfolio {
 
     /**
      * Adds a solver to the portfolio.
+     * As this solver is a single instance, it is never copied to replace a stalled
+     * solver.
      *
      * @param solver The solver to add.
      */
     public void addSolver(MyISolver solver) {
-        solvers.add(solver);
+        factories.add(new SingleSolverFactory(solver));
+    }
+
+    /**
+     * Adds a solver to the portfolio, which is created when the portfolio starts solving
+     * it (or later, if this solver does not fit in the slots of the portfolio).
+     *
+     * @param factory The factory creating the solver to add.
+     */
+    public void addSolver(IPortfolioSolverFactory factory) {
+        factories.add(factory);
+    }
+
+    /**
+     * Sets the maximum number of solvers running at the same time.
+     * The solvers added after this number is reached are kept in a pool of
+     * configurations, used to replace the solvers that are stopped.
+     *
+     * @param maxWorkers The maximum number of solvers, or {@code 0} to run all the
+     *        solvers at the same time.
+     */
+    public void setMaxWorkers(int maxWorkers) {
+        this.maxWorkers = maxWorkers;
+    }
+
+    /**
+     * Sets the time after which a solver that does not improve the bound is replaced.
+     *
+     * @param stallTimeout The stall timeout (in milliseconds), or {@code 0} to never
+     *        replace solvers.
+     */
+    public void setStallTimeout(long stallTimeout) {
+        this.stallTimeout = stallTimeout;
+    }
+
+    /**
+     * Gives the number of slots of this portfolio, i.e., the number of solvers running
+     * at the same time.
+     *
+     * @return The number of slots.
+     */
+    public int nSlots() {
+        if (maxWorkers <= 0) {
+            return factories.size();
+        }
+        return Math.min(maxWorkers, factories.size());
     }
 
     /**
@@ -107,86 +214,280 @@ public class Portfolio {
      * @return The result of the solving process as a {@link UniverseSolverResult}.
      */
     public UniverseSolverResult solve() {
-        var service = Executors.newFixedThreadPool(solvers.size());
-        for (int i = 0; i < solvers.size(); i++) {
-            var solver = solvers.get(i);
-            solver.plugMonitor(createMonitor(i));
-            solver.addStopCriterion(stopSolver);
-            service.submit(() -> solve(solver));
+        int nSlots = nSlots();
+        Deque<IPortfolioSolverFactory> pool = new ArrayDeque<>(
+                factories.subList(nSlots, factories.size()));
+        Worker[] running = new Worker[nSlots];
+        var service = Executors.newFixedThreadPool(nSlots);
+        for (int slot = 0; slot < nSlots; slot++) {
+            running[slot] = start(service, slot, factories.get(slot), 0);
         }
+
         try {
-            service.shutdown();
-            service.awaitTermination(timeout, TimeUnit.MILLISECONDS);
-            stopSolver.setStop(true);
-            service.shutdownNow();
+            long now = System.currentTimeMillis();
+            long deadline = (timeout > Long.MAX_VALUE - now) ? Long.MAX_VALUE : (now + timeout);
+            while (!stopSolver.isMet() && schedule(service, running, pool)) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                synchronized (this) {
+                    if ((result == UniverseSolverResult.UNKNOWN) && !stopSolver.isMet()) {
+                        // The scheduler is woken up as soon as a solver is done.
+                        wait(Math.min(CHECK_PERIOD, remaining));
+                    }
+                }
+            }
+
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
 
-        return result;
+        stopSolver.setStop(true);
+        service.shutdownNow();
+        synchronized (this) {
+            if ((result == UniverseSolverResult.UNKNOWN) && (best.get() != NO_BOUND)) {
+                // The search has been interrupted after some solutions have been found.
+                return UniverseSolverResult.SATISFIABLE;
+            }
+            return result;
+        }
     }
 
     /**
-     * Runs the solving process for a given solver.
+     * Checks the progress of the running solvers, and reassigns the slots of the
+     * portfolio if needed.
      *
-     * @param solver The solver to execute.
+     * @param service The executor running the solvers.
+     * @param running The worker running in each slot (if any).
+     * @param pool The configurations that have not been started yet.
+     *
+     * @return Whether some solvers are still running.
      */
-    private void solve(MyISolver solver) {
-        var tmp = solver.solve();
+    private boolean schedule(ExecutorService service, Worker[] running,
+            Deque<IPortfolioSolverFactory> pool) {
         synchronized (this) {
-            if (tmp != UniverseSolverResult.UNKNOWN) {
-                result = tmp;
+            if (result != UniverseSolverResult.UNKNOWN) {
+                // A solver has completed the solving process.
+                return false;
+            }
+        }
+
+        boolean adaptive = stallTimeout > 0;
+        for (int slot = 0; slot < running.length; slot++) {
+            if ((running[slot] != null) && running[slot].future.isDone()) {
+                // The slot is given to another configuration only once its solver is done.
+                running[slot] = replace(service, slot, pool, adaptive);
+            }
+        }
+
+        if (adaptive) {
+            var stalled = findStalledWorker(running, pool);
+            if (stalled != null) {
+                System.out.println("c Stopping the stalled solver " + stalled.id);
+                stalled.stop.setStop(true);
+            }
+        }
+
+        for (Worker worker : running) {
+            if (worker != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds a running solver that does not make progress anymore.
+     * A solver is stalled when it has not improved the bound for the stall timeout.
+     * The leading solver is never considered as stalled, and among the stalled solvers,
+     * the one having the lowest rate of failures is chosen.
+     *
+     * @param running The worker running in each slot (if any).
+     * @param pool The configurations that have not been started yet.
+     *
+     * @return The stalled worker, or {@code null} if there is none (or if it could not
+     *         be replaced).
+     */
+    private Worker findStalledWorker(Worker[] running, Deque<IPortfolioSolverFactory> pool) {
+        long current = best.get();
+        if (pool.isEmpty() && (current == NO_BOUND)) {
+            // There is nothing to replace a stalled solver with.
+            return null;
+        }
+
+        long now = System.nanoTime();
+        long stall = TimeUnit.MILLISECONDS.toNanos(stallTimeout);
+        Worker stalled = null;
+        double stalledRate = Double.POSITIVE_INFINITY;
+        for (Worker worker : running) {
+            if ((worker == null) || (worker.monitor == null) || worker.stop.isMet()
+                    || ((current != NO_BOUND) && (index(current) == worker.id))
+                    || (now - worker.monitor.lastImprovement < stall)) {
+                continue;
+            }
+            double rate = worker.monitor.fails / (double) Math.max(1, now - worker.startTime);
+            if (rate < stalledRate) {
+                stalled = worker;
+                stalledRate = rate;
             }
         }
+        return stalled;
     }
 
     /**
-     * Creates a monitor for tracking solutions found by solvers.
+     * Gives a slot of the portfolio to a new configuration.
+     * If the pool of configurations is empty, the leading solver may be copied with
+     * another random seed.
      *
-     * @param solverIndex The index of the solver being monitored.
+     * @param service The executor running the solvers.
+     * @param slot The slot to give.
+     * @param pool The configurations that have not been started yet.
+     * @param copyLeader Whether the leading solver is copied when the pool is empty.
      *
-     * @return A monitor that triggers when a solution is found.
+     * @return The worker running in the slot, or {@code null} if there is none.
      */
-    private IMonitorSolution createMonitor(int solverIndex) {
-        return () -> onSolution(solverIndex);
+    private Worker replace(ExecutorService service, int slot,
+            Deque<IPortfolioSolverFactory> pool, boolean copyLeader) {
+        if (stopSolver.isMet()) {
+            return null;
+        }
+
+        if (!pool.isEmpty()) {
+            return start(service, slot, pool.poll(), 0);
+        }
+
+        long current = best.get();
+        if (!copyLeader || (current == NO_BOUND)) {
+            return null;
+        }
+        var leader = workers.get(index(current));
+        if (leader.factory instanceof SingleSolverFactory) {
+            // The solver of the leader cannot be created again.
+            return null;
+        }
+        long seed;
+        do {
+            seed = ThreadLocalRandom.current().nextLong();
+        } while (seed == 0);
+        System.out.println("c Copying the solver " + leader.id + " with seed " + seed);
+        return start(service, slot, leader.factory, seed);
+    }
+
+    /**
+     * Starts a new worker in a slot of the portfolio.
+     *
+     * @param service The executor running the solvers.
+     * @param slot The slot of the worker.
+     * @param factory The factory creating the solver of the worker.
+     * @param seed The seed of the solver, or {@code 0} to use the seed of the
+     *        configuration.
+     *
+     * @return The started worker.
+     */
+    private Worker start(ExecutorService service, int slot, IPortfolioSolverFactory factory,
+            long seed) {
+        Worker worker;
+        synchronized (this) {
+            worker = new Worker(workers.size(), slot, factory, seed);
+            workers.add(worker);
+        }
+        worker.future = service.submit(() -> createAndSolve(worker));
+        return worker;
     }
 
     /**
-     * Handles the event of a solution being found by a solver.
+     * Creates the solver of a worker, and runs its solving process as soon as it is
+     * ready.
      *
-     * @param solverIndex The index of the solver that found the solution.
+     * @param worker The worker to run.
      */
-    private synchronized void onSolution(int solverIndex) {
-        var om = solvers.get(solverIndex).getObjectiveManager();
-        if (om.isOptimization()) {
-            int bound = (int) om.getBestSolutionValue();
-            boolean updated = false;
-            boolean bmax = om.getPolicy() == ResolutionPolicy.MAXIMIZE
-                           && (bestBound == null || bound > bestBound);
-            boolean bmin = om.getPolicy() == ResolutionPolicy.MINIMIZE
-                           && (bestBound == null || bound < bestBound);
-            if (bmax || bmin) {
-                bestBound = bound;
-                bestIndex = solverIndex;
-                updated = true;
+    private void createAndSolve(Worker worker) {
+        try {
+            MyISolver solver;
+            try {
+                solver = worker.factory.createSolver(worker.slot, worker.seed);
+
+            } catch (Exception e) {
+                e.printStackTrace();
+                return;
             }
-            System.out.println("New bound " + bestBound + " found by the solver " + bestIndex);
-            if (updated) {
-                for (MyISolver solver : solvers) {
-                    solver.getObjectiveManager().updateBestSolution(bestBound);
 
-                }
+            if (stopSolver.isMet() || worker.stop.isMet()) {
+                // The solver has been stopped while it was created.
+                return;
             }
+            var monitor = new WorkerMonitor(worker.id, solver.getObjectiveManager());
+            solver.plugMonitor(monitor);
+            solver.addStopCriterion(stopSolver, worker.stop);
+            worker.solver = solver;
+            worker.startTime = System.nanoTime();
+            worker.monitor = monitor;
+
+            // Other solvers may have found solutions while this one was created.
+            monitor.pull();
+            solve(worker, solver);
+
+        } finally {
+            // The slot of the worker may be given to another configuration.
+            wakeUp();
         }
     }
 
+    /**
+     * Runs the solving process for a given solver.
+     * Only a solver that has completed the solving process ends the portfolio: the
+     * result of a solver stopped by the portfolio is ignored, as its bound has already
+     * been shared.
+     *
+     * @param worker The worker running the solver.
+     * @param solver The solver to execute.
+     */
+    private void solve(Worker worker, MyISolver solver) {
+        var tmp = solver.solve();
+        if (stopSolver.isMet() || worker.stop.isMet() || !isComplete(tmp, solver)) {
+            return;
+        }
+        synchronized (this) {
+            if (result == UniverseSolverResult.UNKNOWN) {
+                result = tmp;
+            }
+        }
+        // The other solvers are stopped right away.
+        stop();
+    }
+
+    /**
+     * Checks whether the result of a solver that has not been stopped by the portfolio
+     * completes the solving process.
+     *
+     * @param result The result of the solver.
+     * @param solver The solver that has produced the result.
+     *
+     * @return Whether the result is definitive.
+     */
+    private static boolean isComplete(UniverseSolverResult result, MyISolver solver) {
+        if (result == UniverseSolverResult.SATISFIABLE) {
+            // An optimization problem is only solved once the search has been completed.
+            return !solver.getObjectiveManager().isOptimization()
+                   || (solver.ref().getSearchState() == SearchState.TERMINATED);
+        }
+        return (result == UniverseSolverResult.OPTIMUM_FOUND)
+               || (result == UniverseSolverResult.UNSATISFIABLE);
+    }
+
     /**
      * Retrieves the solver that found the best solution.
      *
-     * @return The solver that obtained the best solution.
+     * @return The solver that obtained the best solution, or {@code null} if no bound
+     *         has been found.
      */
     public synchronized MyISolver getBestSolver() {
-        return solvers.get(bestIndex);
+        long current = best.get();
+        if (current == NO_BOUND) {
+            return null;
+        }
+        return workers.get(index(current)).solver;
     }
 
     /**
@@ -194,6 +495,297 @@ public class Portfolio {
      */
     public void stop() {
         stopSolver.setStop(true);
+        wakeUp();
+    }
+
+    /**
+     * Wakes up the thread scheduling the solvers, so that it takes into account the
+     * solvers that are done without waiting for the next check.
+     */
+    private synchronized void wakeUp() {
+        notifyAll();
+    }
+
+    /**
+     * Packs a bound and the identifier of the worker that found it into a single value.
+     *
+     * @param bound The bound.
+     * @param workerId The identifier of the worker that found the bound.
+     *
+     * @return The packed value.
+     */
+    private static long pack(int bound, int workerId) {
+        return ((long) bound << 32) | (workerId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gives the bound stored in a packed value.
+     *
+     * @param packed The packed value.
+     *
+     * @return The bound.
+     */
+    private static int bound(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    /**
+     * Gives the identifier of the worker stored in a packed value.
+     *
+     * @param packed The packed value.
+     *
+     * @return The identifier of the worker.
+     */
+    private static int index(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * The SingleSolverFactory gives a solver that has been added to the portfolio as a
+     * single instance, which thus cannot be created again.
+     */
+    private static final class SingleSolverFactory implements IPortfolioSolverFactory {
+
+        /**
+         * The solver given by this factory.
+         */
+        private final MyISolver solver;
+
+        /**
+         * Creates a new SingleSolverFactory.
+         *
+         * @param solver The solver given by the factory.
+         */
+        SingleSolverFactory(MyISolver solver) {
+            this.solver = solver;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see
+         * fr.univartois.cril.approximation.solver.IPortfolioSolverFactory#createSolver(int,
+         * long)
+         */
+        @Override
+        public MyISolver createSolver(int slot, long seed) {
+            return solver;
+        }
+
+    }
+
+    /**
+     * The Worker represents a solver running in a slot of the portfolio.
+     */
+    private static final class Worker {
+
+        /**
+         * The identifier of this worker.
+         */
+        private final int id;
+
+        /**
+         * The slot in which this worker runs.
+         */
+        private final int slot;
+
+        /**
+         * The factory creating the solver of this worker.
+         */
+        private final IPortfolioSolverFactory factory;
+
+        /**
+         * The seed of the solver of this worker, or {@code 0} for the seed of its
+         * configuration.
+         */
+        private final long seed;
+
+        /**
+         * The stop criterion of this worker only.
+         */
+        private final BooleanCriteria stop = new BooleanCriteria();
+
+        /**
+         * The result of the task running this worker.
+         */
+        private Future<?> future;
+
+        /**
+         * The solver of this worker, once it has been created.
+         */
+        private volatile MyISolver solver;
+
+        /**
+         * The monitor of the solver of this worker, once it has been created.
+         */
+        private volatile WorkerMonitor monitor;
+
+        /**
+         * The time (in nanoseconds) at which the solver of this worker started solving.
+         */
+        private volatile long startTime;
+
+        /**
+         * Creates a new Worker.
+         *
+         * @param id The identifier of the worker.
+         * @param slot The slot in which the worker runs.
+         * @param factory The factory creating the solver of the worker.
+         * @param seed The seed of the solver of the worker.
+         */
+        Worker(int id, int slot, IPortfolioSolverFactory factory, long seed) {
+            this.id = id;
+            this.slot = slot;
+            this.factory = factory;
+            this.seed = seed;
+        }
+
+    }
+
+    /**
+     * The monitor that shares the bounds of a solver of the portfolio, and records its
+     * progress.
+     * All its methods are invoked by the thread running the solver, so that the
+     * objective manager of a solver is only accessed by this thread.
+     */
+    private final class WorkerMonitor implements IMonitorSolution, IMonitorRestart,
+            IMonitorDownBranch, IMonitorContradiction {
+
+        /**
+         * The identifier of the worker of the monitored solver.
+         */
+        private final int workerId;
+
+        /**
+         * The objective manager of the monitored solver.
+         */
+        private final IObjectiveManager<?> objectiveManager;
+
+        /**
+         * The last value of {@link Portfolio#best} seen by the monitored solver.
+         */
+        private long lastSeen = NO_BOUND;
+
+        /**
+         * The number of nodes explored since the last synchronization.
+         */
+        private int nodes;
+
+        /**
+         * The number of failures encountered by the monitored solver.
+         */
+        private volatile long fails;
+
+        /**
+         * The time (in nanoseconds) at which the monitored solver last improved the
+         * bound, or started solving.
+         */
+        private volatile long lastImprovement = System.nanoTime();
+
+        /**
+         * Creates a new WorkerMonitor.
+         *
+         * @param workerId The identifier of the worker of the monitored solver.
+         * @param objectiveManager The objective manager of the monitored solver.
+         */
+        WorkerMonitor(int workerId, IObjectiveManager<?> objectiveManager) {
+            this.workerId = workerId;
+            this.objectiveManager = objectiveManager;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see org.chocosolver.solver.search.loop.monitors.IMonitorSolution#onSolution()
+         */
+        @Override
+        public void onSolution() {
+            if (!objectiveManager.isOptimization()) {
+                return;
+            }
+
+            int bound = (int) objectiveManager.getBestSolutionValue();
+            long current;
+            do {
+                current = best.get();
+                if ((current != NO_BOUND) && !isBetter(bound, bound(current))) {
+                    // Another solver has already found a better bound.
+                    return;
+                }
+            } while (!best.compareAndSet(current, pack(bound, workerId)));
+
+            lastSeen = pack(bound, workerId);
+            lastImprovement = System.nanoTime();
+            System.out.println("New bound " + bound + " found by the solver " + workerId);
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see
+         * org.chocosolver.solver.search.loop.monitors.IMonitorContradiction#onContradiction(
+         * org.chocosolver.solver.exception.ContradictionException)
+         */
+        @Override
+        public void onContradiction(ContradictionException cex) {
+            fails++;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see org.chocosolver.solver.search.loop.monitors.IMonitorRestart#afterRestart()
+         */
+        @Override
+        public void afterRestart() {
+            pull();
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see
+         * org.chocosolver.solver.search.loop.monitors.IMonitorDownBranch#beforeDownBranch(
+         * boolean)
+         */
+        @Override
+        public void beforeDownBranch(boolean left) {
+            nodes++;
+            if (nodes >= SYNCHRONIZATION_PERIOD) {
+                nodes = 0;
+                pull();
+            }
+        }
+
+        /**
+         * Updates the objective manager of the monitored solver with the best bound found
+         * by the solvers of the portfolio, if it has changed since the last update.
+         */
+        void pull() {
+            long current = best.get();
+            if ((current != lastSeen) && objectiveManager.isOptimization()) {
+                lastSeen = current;
+                objectiveManager.updateBestSolution(bound(current));
+            }
+        }
+
+        /**
+         * Checks whether a bound is better than another one, w.r.t. the objective of the
+         * monitored solver.
+         *
+         * @param bound The bound to check.
+         * @param other The bound to compare with.
+         *
+         * @return Whether the bound is better than the other one.
+         */
+        private boolean isBetter(int bound, int other) {
+            if (objectiveManager.getPolicy() == ResolutionPolicy.MAXIMIZE) {
+                return bound > other;
+            }
+            return (objectiveManager.getPolicy() == ResolutionPolicy.MINIMIZE)
+                    && (bound < other);
+        }
+
     }
 
 }
@@ -0,0 +1,163 @@
+/**
+ * approximation, a constraint programming solver based on Choco, utilizing relaxation
+ * techniques.
+ * Copyright (c) 2025 - Univ Artois, CNRS & Luxembourg University.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation.solver;
+
+import java.util.BitSet;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+
+/**
+ * The SolutionSnapshot stores the values of the variables of a model, identified by their
+ * indices in the model, so that they can be given as hints to the solver of another
+ * model built from the same instance.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public final class SolutionSnapshot {
+
+    /**
+     * The values of the variables, indexed by the indices of the variables.
+     */
+    private final int[] values;
+
+    /**
+     * The indices of the variables having a value in this snapshot.
+     */
+    private final BitSet assigned;
+
+    /**
+     * Creates a new SolutionSnapshot.
+     *
+     * @param values The values of the variables.
+     * @param assigned The indices of the variables having a value.
+     */
+    private SolutionSnapshot(int[] values, BitSet assigned) {
+        this.values = values;
+        this.assigned = assigned;
+    }
+
+    /**
+     * Creates a snapshot of the variables of a model that are currently instantiated.
+     *
+     * @param model The model to take the snapshot of.
+     *
+     * @return The snapshot of the model.
+     */
+    public static SolutionSnapshot of(Model model) {
+        var variables = model.getVars();
+        int[] values = new int[variables.length];
+        var assigned = new BitSet(variables.length);
+        for (int i = 0; i < variables.length; i++) {
+            if (variables[i] instanceof IntVar v && v.isInstantiated()) {
+                values[i] = v.getValue();
+                assigned.set(i);
+            }
+        }
+        return new SolutionSnapshot(values, assigned);
+    }
+
+    /**
+     * Creates a snapshot of a solution recorded for a model.
+     *
+     * @param model The model of the solution.
+     * @param solution The solution to take the snapshot of.
+     *
+     * @return The snapshot of the solution.
+     */
+    public static SolutionSnapshot of(Model model, Solution solution) {
+        var variables = model.getVars();
+        int[] values = new int[variables.length];
+        var assigned = new BitSet(variables.length);
+        for (int i = 0; i < variables.length; i++) {
+            if (variables[i] instanceof IntVar v) {
+                try {
+                    values[i] = solution.getIntVal(v);
+                    assigned.set(i);
+
+                } catch (SolverException e) {
+                    // The variable is not recorded in the solution.
+                }
+            }
+        }
+        return new SolutionSnapshot(values, assigned);
+    }
+
+    /**
+     * Gives the values of this snapshot as hints to the solver of a model.
+     *
+     * @param model The model to give the hints to.
+     * @param ignored A variable that must not receive a hint (typically, the objective
+     *        variable), or {@code null}.
+     */
+    public void addHints(Model model, Variable ignored) {
+        Variable[] variables = model.getVars();
+        for (int i = assigned.nextSetBit(0); (i >= 0) && (i < variables.length);
+                i = assigned.nextSetBit(i + 1)) {
+            if ((variables[i] instanceof IntVar v) && (v != ignored)) {
+                model.getSolver().addHint(v, values[i]);
+            }
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof SolutionSnapshot other) || !assigned.equals(other.assigned)) {
+            return false;
+        }
+        for (int i = assigned.nextSetBit(0); i >= 0; i = assigned.nextSetBit(i + 1)) {
+            if (values[i] != other.values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+        int hash = assigned.hashCode();
+        for (int i = assigned.nextSetBit(0); i >= 0; i = assigned.nextSetBit(i + 1)) {
+            hash = 31 * hash + values[i];
+        }
+        return hash;
+    }
+
+}
@@ -182,8 +182,20 @@ public class SolverConfiguration {
      * @return a new {@code SolverConfiguration} instance with updated parameters
      */
     public SolverConfiguration update() {
-        var s = new SolverConfiguration((int) (this.nbFailed * this.factor), factor, limitSolution,
-                ratio);
+        return update((int) (this.nbFailed * this.factor));
+    }
+
+    /**
+     * Generates an updated solver configuration with the given number of failed
+     * attempts. The new configuration retains the same factor, solution limit, and ratio
+     * while inheriting the remover and path strategy.
+     *
+     * @param nbFailed the number of failed attempts of the new configuration
+     *
+     * @return a new {@code SolverConfiguration} instance with updated parameters
+     */
+    public SolverConfiguration update(int nbFailed) {
+        var s = new SolverConfiguration(nbFailed, factor, limitSolution, ratio);
         s.setRemover(remover);
         s.setPathStrategy(pathStrategy);
         return s;
@@ -20,6 +20,9 @@
 
 package fr.univartois.cril.approximation.solver;
 
+import fr.univartois.cril.approximation.core.IFailBudgetPolicy;
+import fr.univartois.cril.approximation.solver.budget.GeometricFailBudgetPolicy;
+
 /**
  * The {@code SolverContext} class stores shared configuration settings for different
  * solver states. It provides access to both the normal and relaxation solver
@@ -45,6 +48,9 @@ public class SolverContext {
     /** The sub approximation configuration. */
     private SolverConfiguration subApproximationConfiguration;
 
+    /** The policy deciding the number of failures allowed to the runs. */
+    private IFailBudgetPolicy failBudgetPolicy = new GeometricFailBudgetPolicy();
+
     /**
      * Creates a new SolverContext.
      *
@@ -76,7 +82,8 @@ public class SolverContext {
     }
 
     public void updateNormalConfiguration() {
-        this.normalConfiguration = normalConfiguration.update();
+        this.normalConfiguration = normalConfiguration.update(
+                failBudgetPolicy.nextFailBudget(false, normalConfiguration));
     }
 
     /**
@@ -99,6 +106,25 @@ public class SolverContext {
     }
 
     public void updateSubApproximationConfiguration() {
-        this.subApproximationConfiguration = subApproximationConfiguration.update();
+        this.subApproximationConfiguration = subApproximationConfiguration.update(
+                failBudgetPolicy.nextFailBudget(true, subApproximationConfiguration));
+    }
+
+    /**
+     * Gives the policy deciding the number of failures allowed to the runs.
+     *
+     * @return This SolverContext's failBudgetPolicy.
+     */
+    public IFailBudgetPolicy getFailBudgetPolicy() {
+        return failBudgetPolicy;
+    }
+
+    /**
+     * Sets the policy deciding the number of failures allowed to the runs.
+     *
+     * @param failBudgetPolicy The failBudgetPolicy to set.
+     */
+    public void setFailBudgetPolicy(IFailBudgetPolicy failBudgetPolicy) {
+        this.failBudgetPolicy = failBudgetPolicy;
     }
 }
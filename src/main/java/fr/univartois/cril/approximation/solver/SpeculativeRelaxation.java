@@ -0,0 +1,317 @@
+/**
+ * approximation, a constraint programming solver based on Choco, utilizing relaxation
+ * techniques.
+ * Copyright (c) 2025 - Univ Artois, CNRS & Luxembourg University.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation.solver;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.objective.ObjectiveFactory;
+import org.chocosolver.util.ESat;
+
+import fr.univartois.cril.approximation.core.IConstraintsRemover;
+import fr.univartois.cril.approximation.solver.criteria.BooleanCriteria;
+
+/**
+ * The SpeculativeRelaxation explores several candidate relaxations concurrently, instead
+ * of relaxing the problem with the best candidate only.
+ * <p>
+ * The top candidates of the remover are each relaxed on their own copy of the model, in
+ * their own thread.
+ * The first candidate whose relaxed problem has a solution that also satisfies the
+ * constraints it removes (so that restoring them is straightforward) is chosen
+ * immediately.
+ * Otherwise, the first candidate whose relaxed problem has a solution is chosen, and when
+ * none of them has a solution, the best candidate is chosen as in the sequential case.
+ * The solution found on the copy of the model is then given as hints to the solver of
+ * the original model.
+ * The explorations are stopped as soon as the solver of the original model is stopped,
+ * and never run past its time limit.
+ * </p>
+ * <p>
+ * The copies of the model are built from the same instance and with the same options
+ * as the original model, so that the constraints and variables of the copies are
+ * identified by their indices in the original model.
+ * </p>
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public class SpeculativeRelaxation {
+
+    /**
+     * The time (in seconds) after which an idle thread exploring the candidates is
+     * released.
+     */
+    private static final long KEEP_ALIVE = 30;
+
+    /**
+     * The factory building the copies of the model.
+     */
+    private final Callable<Model> modelFactory;
+
+    /**
+     * The copies of the model, built on demand.
+     */
+    private final Model[] copies;
+
+    /**
+     * The executor exploring the candidates.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Creates a new SpeculativeRelaxation.
+     *
+     * @param modelFactory The factory building the copies of the model.
+     * @param nCandidates The number of candidates to explore concurrently.
+     */
+    public SpeculativeRelaxation(Callable<Model> modelFactory, int nCandidates) {
+        this.modelFactory = modelFactory;
+        this.copies = new Model[nCandidates];
+        var pool = new ThreadPoolExecutor(nCandidates, nCandidates, KEEP_ALIVE,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                    var thread = new Thread(r, "speculative-relaxation");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // The threads of a solver that does not relax its problem anymore (e.g., because
+        // it has been stopped) are released.
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+    }
+
+    /**
+     * Computes the next constraints to remove from the problem, by exploring the top
+     * candidates of the remover concurrently.
+     * The candidates that are not chosen are given back to the remover, which forgets
+     * that they have been computed.
+     *
+     * @param remover The remover giving the candidates.
+     * @param decorator The solver of the original model, which receives the hints.
+     * @param failLimit The number of failures allowed to solve each relaxed problem.
+     *
+     * @return The constraints to remove.
+     */
+    public List<Constraint> computeNextConstraintsToRemove(IConstraintsRemover remover,
+            ApproximationSolverDecorator decorator, long failLimit) {
+        List<List<Constraint>> candidates = new ArrayList<>();
+        while (candidates.size() < copies.length) {
+            var candidate = remover.computeNextConstraintsToRemove();
+            if (candidate.isEmpty()) {
+                break;
+            }
+            candidates.add(candidate);
+        }
+        if (candidates.size() <= 1) {
+            return candidates.isEmpty() ? List.of() : candidates.get(0);
+        }
+
+        // The constraints removed by the previous states are also removed from the copies.
+        var disabled = new BitSet();
+        for (Constraint c : decorator.getModel().getCstrs()) {
+            if (!c.isEnabled()) {
+                disabled.set(c.getCidxInModel());
+            }
+        }
+
+        var completion = new ExecutorCompletionService<Attempt>(executor);
+        var stop = new BooleanCriteria();
+        List<Future<Attempt>> futures = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            int index = i;
+            var candidate = candidates.get(i);
+            futures.add(completion.submit(
+                    () -> explore(index, candidate, disabled, decorator, failLimit, stop)));
+        }
+
+        Attempt chosen = null;
+        var failed = new BitSet();
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                var future = completion.take();
+                Attempt attempt;
+                try {
+                    attempt = future.get();
+
+                } catch (ExecutionException e) {
+                    // Only the failed candidate is discarded.
+                    e.getCause().printStackTrace();
+                    failed.set(futures.indexOf(future));
+                    continue;
+                }
+                if ((attempt.snapshot != null) && ((chosen == null) || attempt.clean)) {
+                    chosen = attempt;
+                }
+                if ((chosen != null) && chosen.clean) {
+                    break;
+                }
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+        } finally {
+            // The copies of the model must be idle before they are used again.
+            stop.setStop(true);
+            awaitAll(futures);
+        }
+
+        // Without any solution, the best candidate whose exploration did not fail is kept,
+        // or the best one if all the explorations have failed.
+        int winner = (chosen == null) ? failed.nextClearBit(0) : chosen.index;
+        if (winner >= candidates.size()) {
+            winner = 0;
+        }
+        for (int i = 0; i < candidates.size(); i++) {
+            if (i != winner) {
+                remover.cancelRemoval(candidates.get(i));
+            }
+        }
+        if (chosen != null) {
+            chosen.snapshot.addHints(decorator.getModel(), decorator.getOriginalObjective());
+        }
+        return candidates.get(winner);
+    }
+
+    /**
+     * Solves the relaxed problem of a candidate on a copy of the model.
+     *
+     * @param index The index of the candidate (and of its copy).
+     * @param candidate The constraints removed by the candidate.
+     * @param disabled The indices of the constraints already removed from the problem.
+     * @param decorator The solver of the original model, whose stop criteria and time
+     *        limit also apply to the exploration.
+     * @param failLimit The number of failures allowed to solve the relaxed problem.
+     * @param stop The criterion stopping the exploration of all the candidates.
+     *
+     * @return The result of the attempt.
+     *
+     * @throws Exception If the copy of the model cannot be built.
+     */
+    private Attempt explore(int index, List<Constraint> candidate, BitSet disabled,
+            ApproximationSolverDecorator decorator, long failLimit, BooleanCriteria stop)
+            throws Exception {
+        if (copies[index] == null) {
+            copies[index] = modelFactory.call();
+        }
+        var copy = copies[index];
+        var constraints = copy.getCstrs();
+        var removed = (BitSet) disabled.clone();
+        for (Constraint c : candidate) {
+            removed.set(c.getCidxInModel());
+        }
+        for (Constraint c : constraints) {
+            c.setEnabled(!c.isIgnorable() || !removed.get(c.getCidxInModel()));
+        }
+
+        var solver = copy.getSolver();
+        solver.reset();
+        solver.removeAllStopCriteria();
+        solver.addStopCriterion(stop, decorator::isStopped);
+        solver.limitFail(failLimit);
+        long remaining = decorator.getRemainingTime();
+        if (remaining < Long.MAX_VALUE) {
+            solver.limitTime(remaining);
+        }
+        solver.setObjectiveManager(ObjectiveFactory.SAT());
+        if (!solver.solve()) {
+            return new Attempt(index, null, false);
+        }
+
+        // The solver remains on the solution, so that the removed constraints can be checked.
+        boolean clean = true;
+        for (Constraint c : candidate) {
+            clean &= constraints[c.getCidxInModel()].isSatisfied() == ESat.TRUE;
+        }
+        return new Attempt(index, SolutionSnapshot.of(copy), clean);
+    }
+
+    /**
+     * Waits for the explorations of all the candidates to be done.
+     *
+     * @param futures The explorations of the candidates.
+     */
+    private static void awaitAll(List<Future<Attempt>> futures) {
+        for (Future<Attempt> future : futures) {
+            try {
+                future.get();
+
+            } catch (ExecutionException e) {
+                // The failure of an exploration has already been reported if needed.
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * The Attempt is the result of the exploration of a candidate.
+     */
+    private static final class Attempt {
+
+        /**
+         * The index of the candidate.
+         */
+        private final int index;
+
+        /**
+         * The solution of the relaxed problem, or {@code null} if no solution has been
+         * found.
+         */
+        private final SolutionSnapshot snapshot;
+
+        /**
+         * Whether the solution also satisfies the constraints removed by the candidate.
+         */
+        private final boolean clean;
+
+        /**
+         * Creates a new Attempt.
+         *
+         * @param index The index of the candidate.
+         * @param snapshot The solution of the relaxed problem, if any.
+         * @param clean Whether the solution satisfies the removed constraints.
+         */
+        Attempt(int index, SolutionSnapshot snapshot, boolean clean) {
+            this.index = index;
+            this.snapshot = snapshot;
+            this.clean = clean;
+        }
+
+    }
+
+}
@@ -0,0 +1,112 @@
+/**
+ * approximation, a constraint programming solver based on Choco, utilizing relaxation
+ * techniques.
+ * Copyright (c) 2025 - Univ Artois, CNRS & Luxembourg University.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation.solver.budget;
+
+import fr.univartois.cril.approximation.core.IFailBudgetPolicy;
+import fr.univartois.cril.approximation.solver.SolverConfiguration;
+import fr.univartois.cril.approximation.solver.UniverseSolverResult;
+
+/**
+ * The BanditFailBudgetPolicy gives more failures to the kind of runs (on the original
+ * problem or on the relaxed problems) that recently made progress.
+ * <p>
+ * A run makes progress when it finds a solution, or when it assigns more variables than
+ * any previous run of the same kind.
+ * Each kind of runs has a reward, which is an exponential moving average of the progress
+ * of its runs.
+ * The number of failures of a kind is then multiplied by {@code factor^(4s - 1)}, where
+ * {@code factor} is the factor of its configuration and {@code s} is its share of the
+ * rewards.
+ * When both kinds progress equally, this gives the usual geometric growth, while the
+ * budget of a kind that does not progress any more decreases.
+ * </p>
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public class BanditFailBudgetPolicy implements IFailBudgetPolicy {
+
+    /**
+     * The weight of the past runs in the rewards.
+     */
+    private static final double DECAY = 0.8;
+
+    /**
+     * The value added to the rewards, so that a kind never gets a null share.
+     */
+    private static final double EPSILON = 0.05;
+
+    /**
+     * The rewards of the runs on the original problem and on the relaxed problems,
+     * respectively.
+     */
+    private final double[] rewards = { 0.5, 0.5 };
+
+    /**
+     * The maximum ratio of assigned variables reached by the runs on the original
+     * problem and on the relaxed problems, respectively.
+     */
+    private final double[] bestRatios = new double[2];
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IFailBudgetPolicy#onRunEnd(boolean,
+     * fr.univartois.cril.approximation.solver.UniverseSolverResult, double)
+     */
+    @Override
+    public void onRunEnd(boolean approximation, UniverseSolverResult result, double ratio) {
+        int kind = approximation ? 1 : 0;
+        boolean progress = (result == UniverseSolverResult.SATISFIABLE)
+                || (ratio > bestRatios[kind]);
+        bestRatios[kind] = Math.max(bestRatios[kind], ratio);
+        rewards[kind] = DECAY * rewards[kind] + (1 - DECAY) * (progress ? 1 : 0);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IFailBudgetPolicy#usesRatio()
+     */
+    @Override
+    public boolean usesRatio() {
+        return true;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IFailBudgetPolicy#nextFailBudget(boolean,
+     * fr.univartois.cril.approximation.solver.SolverConfiguration)
+     */
+    @Override
+    public int nextFailBudget(boolean approximation, SolverConfiguration configuration) {
+        int kind = approximation ? 1 : 0;
+        double share = (rewards[kind] + EPSILON) / (rewards[0] + rewards[1] + 2 * EPSILON);
+        double budget = configuration.getNbFailed()
+                * Math.pow(configuration.getFactor(), 4 * share - 1);
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, budget));
+    }
+
+}
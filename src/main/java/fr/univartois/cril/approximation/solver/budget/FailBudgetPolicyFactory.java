@@ -0,0 +1,84 @@
+/**
+ * approximation, a constraint programming solver based on Choco, utilizing relaxation
+ * techniques.
+ * Copyright (c) 2025 - Univ Artois, CNRS & Luxembourg University.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation.solver.budget;
+
+import java.lang.reflect.InvocationTargetException;
+
+import fr.univartois.cril.approximation.core.IFailBudgetPolicy;
+import fr.univartois.cril.approximation.util.AbstractFactory;
+
+/**
+ * The FailBudgetPolicyFactory.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ * @version 0.1.0
+ */
+public class FailBudgetPolicyFactory extends AbstractFactory<IFailBudgetPolicy> {
+
+    /** The Constant PACKAGE. */
+    private static final String PACKAGE = "fr.univartois.cril.approximation.solver.budget.";
+
+    /** The Constant CLASS_NAME_SUFFIX. */
+    private static final String CLASS_NAME_SUFFIX = "FailBudgetPolicy";
+
+    /**
+     * The single instance of this class.
+     */
+    private static final FailBudgetPolicyFactory INSTANCE = new FailBudgetPolicyFactory();
+
+    /**
+     * Instantiates a new fail budget policy factory.
+     */
+    private FailBudgetPolicyFactory() {
+    }
+
+    /**
+     * Creates a new FailBudgetPolicy object.
+     *
+     * @param name the name
+     * @return the fail budget policy
+     */
+    public IFailBudgetPolicy createFailBudgetPolicyByName(String name) {
+        try {
+            if (name.contains(".")) {
+                return createByName(name).newInstance();
+            }
+            return createByName(PACKAGE + name + CLASS_NAME_SUFFIX).newInstance();
+
+        } catch (InstantiationException | IllegalAccessException | IllegalArgumentException
+                 | InvocationTargetException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Instance.
+     *
+     * @return the fail budget policy factory
+     */
+    public static FailBudgetPolicyFactory instance() {
+        return INSTANCE;
+    }
+
+}
@@ -0,0 +1,62 @@
+/**
+ * approximation, a constraint programming solver based on Choco, utilizing relaxation
+ * techniques.
+ * Copyright (c) 2025 - Univ Artois, CNRS & Luxembourg University.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation.solver.budget;
+
+import fr.univartois.cril.approximation.core.IFailBudgetPolicy;
+import fr.univartois.cril.approximation.solver.SolverConfiguration;
+import fr.univartois.cril.approximation.solver.UniverseSolverResult;
+
+/**
+ * The GeometricFailBudgetPolicy multiplies the number of failures allowed to the runs
+ * of each kind by the factor of their configuration, whatever happened during these
+ * runs.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public class GeometricFailBudgetPolicy implements IFailBudgetPolicy {
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IFailBudgetPolicy#onRunEnd(boolean,
+     * fr.univartois.cril.approximation.solver.UniverseSolverResult, double)
+     */
+    @Override
+    public void onRunEnd(boolean approximation, UniverseSolverResult result, double ratio) {
+        // The budget does not depend on the runs.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IFailBudgetPolicy#nextFailBudget(boolean,
+     * fr.univartois.cril.approximation.solver.SolverConfiguration)
+     */
+    @Override
+    public int nextFailBudget(boolean approximation, SolverConfiguration configuration) {
+        return (int) (configuration.getNbFailed() * configuration.getFactor());
+    }
+
+}
@@ -0,0 +1,105 @@
+/**
+ * approximation, a constraint programming solver based on Choco, utilizing relaxation
+ * techniques.
+ * Copyright (c) 2025 - Univ Artois, CNRS & Luxembourg University.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation.solver.budget;
+
+import fr.univartois.cril.approximation.core.IFailBudgetPolicy;
+import fr.univartois.cril.approximation.solver.SolverConfiguration;
+import fr.univartois.cril.approximation.solver.UniverseSolverResult;
+
+/**
+ * The LubyFailBudgetPolicy allows to the runs of each kind a number of failures that
+ * follows the Luby sequence {@code 1, 1, 2, 1, 1, 2, 4, 1, ...}, multiplied by the
+ * number of failures initially allowed to the runs of this kind.
+ * <p>
+ * Contrary to a geometric growth, short runs keep being interleaved with longer ones,
+ * so that neither the original problem nor the relaxed problems monopolize the solver.
+ * </p>
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public class LubyFailBudgetPolicy implements IFailBudgetPolicy {
+
+    /**
+     * The number of failures initially allowed to the runs on the original problem and
+     * on the relaxed problems, respectively ({@code 0} if not known yet).
+     */
+    private final int[] bases = new int[2];
+
+    /**
+     * The number of runs performed on the original problem and on the relaxed problems,
+     * respectively.
+     */
+    private final int[] runs = new int[2];
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IFailBudgetPolicy#onRunEnd(boolean,
+     * fr.univartois.cril.approximation.solver.UniverseSolverResult, double)
+     */
+    @Override
+    public void onRunEnd(boolean approximation, UniverseSolverResult result, double ratio) {
+        // The budget does not depend on the outcome of the runs.
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IFailBudgetPolicy#nextFailBudget(boolean,
+     * fr.univartois.cril.approximation.solver.SolverConfiguration)
+     */
+    @Override
+    public int nextFailBudget(boolean approximation, SolverConfiguration configuration) {
+        int kind = approximation ? 1 : 0;
+        if (bases[kind] == 0) {
+            bases[kind] = Math.max(1, configuration.getNbFailed());
+        }
+        runs[kind]++;
+        return (int) Math.min(Integer.MAX_VALUE, (long) bases[kind] * luby(runs[kind] + 1));
+    }
+
+    /**
+     * Computes the i-th element of the Luby sequence.
+     *
+     * @param i The (1-based) index of the element.
+     *
+     * @return The value of the element.
+     */
+    static long luby(int i) {
+        int index = i;
+        while (true) {
+            // Looking for the smallest k such that index <= 2^k - 1.
+            int k = 1;
+            while (((1L << k) - 1) < index) {
+                k++;
+            }
+            if (((1L << k) - 1) == index) {
+                return 1L << (k - 1);
+            }
+            index -= (int) (1L << (k - 1)) - 1;
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+/**
+ * approximation, a constraint programming solver based on Choco, utilizing relaxation
+ * techniques.
+ * Copyright (c) 2025 - Univ Artois, CNRS & Luxembourg University.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation.solver.criteria;
+
+import org.chocosolver.solver.Solver;
+import org.chocosolver.util.criteria.Criterion;
+
+/**
+ * A criterion that stops a solving process once a given number of failures is reached.
+ * <p>
+ * Contrary to the criterion installed by {@link Solver#limitFail(long)}, the limit of
+ * a {@code FailLimitCriteria} may be changed while the solver is running, so that the
+ * budget of a promising run can be extended without stopping it.
+ * </p>
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public class FailLimitCriteria implements Criterion {
+
+    /**
+     * The solver whose failures are counted.
+     */
+    private final Solver solver;
+
+    /**
+     * The number of failures at which the solver is stopped.
+     */
+    private long limit = Long.MAX_VALUE;
+
+    /**
+     * Creates a new FailLimitCriteria.
+     *
+     * @param solver The solver whose failures are counted.
+     */
+    public FailLimitCriteria(Solver solver) {
+        this.solver = solver;
+    }
+
+    /**
+     * Gives the number of failures at which the solver is stopped.
+     *
+     * @return The limit on the number of failures.
+     */
+    public long getLimit() {
+        return limit;
+    }
+
+    /**
+     * Sets the number of failures at which the solver is stopped.
+     *
+     * @param limit The limit on the number of failures.
+     */
+    public void setLimit(long limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Checks whether the limit on the number of failures is reached.
+     *
+     * @return {@code true} if the solver must be stopped, otherwise {@code false}.
+     */
+    @Override
+    public boolean isMet() {
+        return solver.getMeasures().getFailCount() >= limit;
+    }
+
+}
@@ -0,0 +1,80 @@
+/**
+ * approximation, a constraint programming solver based on Choco, utilizing relaxation
+ * techniques.
+ * Copyright (c) 2025 - Univ Artois, CNRS & Luxembourg University.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation.solver.criteria;
+
+import org.chocosolver.solver.Solver;
+import org.chocosolver.util.criteria.Criterion;
+
+/**
+ * A criterion that stops a solving process once a given number of solutions is found.
+ * <p>
+ * Contrary to the criterion installed by {@link Solver#limitSolution(long)}, a
+ * {@code SolutionLimitCriteria} may be reused by changing its limit, so that it can be
+ * removed from the solver without removing the other stop criteria.
+ * </p>
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public class SolutionLimitCriteria implements Criterion {
+
+    /**
+     * The solver whose solutions are counted.
+     */
+    private final Solver solver;
+
+    /**
+     * The number of solutions at which the solver is stopped.
+     */
+    private long limit = Long.MAX_VALUE;
+
+    /**
+     * Creates a new SolutionLimitCriteria.
+     *
+     * @param solver The solver whose solutions are counted.
+     */
+    public SolutionLimitCriteria(Solver solver) {
+        this.solver = solver;
+    }
+
+    /**
+     * Sets the number of solutions at which the solver is stopped.
+     *
+     * @param limit The limit on the number of solutions.
+     */
+    public void setLimit(long limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Checks whether the limit on the number of solutions is reached.
+     *
+     * @return {@code true} if the solver must be stopped, otherwise {@code false}.
+     */
+    @Override
+    public boolean isMet() {
+        return solver.getMeasures().getSolutionCount() >= limit;
+    }
+
+}
@@ -23,7 +23,6 @@ package fr.univartois.cril.approximation.solver.state;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.util.ESat;
 
-import fr.univartois.cril.approximation.core.RestartObserver;
 import fr.univartois.cril.approximation.solver.ApproximationSolverDecorator;
 import fr.univartois.cril.approximation.solver.SolverContext;
 import fr.univartois.cril.approximation.solver.UniverseSolverResult;
@@ -119,8 +118,20 @@ public abstract class AbstractState implements ISolverState {
      */
     @Override
     public void resetLimitSolver() {
-        solver.limitSolution(getConfig().getLimitSolution());
-        solver.limitFail(getConfig().getNbFailed());
+        decorator.setSolutionLimit(getConfig().getLimitSolution());
+        decorator.setFailLimit(getConfig().getNbFailed());
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.approximation.solver.state.ISolverState#onRestorationEnd(fr.
+     * univartois.cril.approximation.solver.UniverseSolverResult)
+     */
+    @Override
+    public void onRestorationEnd(UniverseSolverResult result) {
+        // Nothing has been removed by default.
     }
 
     /**
@@ -129,9 +140,8 @@ public abstract class AbstractState implements ISolverState {
      * @return the universe solver result
      */
     protected UniverseSolverResult internalSolve() {
-        var observer = new RestartObserver(decorator, getConfig().getRatio(),
-                getConfig().getNbFailed(), getConfig().getFactor());
-        solver.plugMonitor(observer);
+        var observer = decorator.getRestartObserver();
+        observer.configure(listener, getConfig(), context.getFailBudgetPolicy());
         var f = false;
         if (solver.getObjectiveManager().isOptimization()) {
             f = solver.solve();
@@ -152,10 +162,22 @@ public abstract class AbstractState implements ISolverState {
             f = solver.solve();
         }
         solver.log().white().printf("%s %n", solver.getMeasures().toOneLineString());
-        solver.unplugMonitor(observer);
+        observer.setEnabled(false);
         decorator.setUserInterruption(false);
 
-        var feasible = solver.isFeasible();
+        var result = toResult(solver.isFeasible());
+        context.getFailBudgetPolicy().onRunEnd(!isSafe(), result, observer.getMaxRatio());
+        return result;
+    }
+
+    /**
+     * Converts the feasibility of the problem into a result.
+     *
+     * @param feasible the feasibility of the problem
+     *
+     * @return the universe solver result
+     */
+    private static UniverseSolverResult toResult(ESat feasible) {
         if (feasible == ESat.TRUE) {
             return UniverseSolverResult.SATISFIABLE;
         }
@@ -172,7 +194,7 @@ public abstract class AbstractState implements ISolverState {
      */
     @Override
     public boolean isTimeout() {
-        return decorator.isUserinterruption();
+        return decorator.isUserinterruption() || decorator.isStopped();
     }
 
     /*
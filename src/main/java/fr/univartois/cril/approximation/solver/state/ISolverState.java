@@ -98,7 +98,8 @@ public interface ISolverState {
     int getNbRemoved();
 
     /**
-     * Checks if the solver has reached a timeout condition.
+     * Checks if the solver has reached a timeout condition, or has been stopped by one of
+     * the stop criteria added from outside.
      *
      * @return {@code true} if the solver has timed out, {@code false} otherwise.
      */
@@ -116,6 +117,14 @@ public interface ISolverState {
      */
     void resetLimitSolver();
 
+    /**
+     * Records the result of the search performed after the constraints removed by this
+     * state have been restored.
+     *
+     * @param result the result of the search on the restored problem
+     */
+    void onRestorationEnd(UniverseSolverResult result);
+
     /**
      * Gets the config.
      *
@@ -46,16 +46,33 @@ import fr.univartois.cril.approximation.solver.UniverseSolverResult;
 public class NormalStateSolver extends AbstractState {
 
     /**
-     * Default solution observer that resets stop criteria and removes hints.
+     * Whether this state is being solved, in which case {@link #observerSolution} is
+     * notified of the solutions.
+     */
+    private boolean solving;
+
+    /**
+     * Default solution observer that removes the limits of the state and the hints.
      * If the solver finds a solution during a normal search state, it continues
      * using this classical search approach. Hints are also removed as they become
      * irrelevant once a solution has been found.
+     * The other stop criteria (e.g., the timeout, or those of a portfolio) are kept.
      */
     private IMonitorSolution observerSolution = () -> {
-        solver.removeAllStopCriteria();
+        decorator.removeStateLimits();
         solver.removeHints();
     };
 
+    /**
+     * The monitor plugged once into the solver, which notifies {@link #observerSolution}
+     * only while this state is being solved.
+     */
+    private final IMonitorSolution solvingMonitor = () -> {
+        if (solving) {
+            observerSolution.onSolution();
+        }
+    };
+
     /**
      * A reference to the next state of the solver in the relaxation process.
      */
@@ -75,6 +92,7 @@ public class NormalStateSolver extends AbstractState {
             ApproximationSolverDecorator decorator) {
         super(context, solver, decorator, context.getNormalConfiguration().getPathStrategy());
         this.om = solver.getObjectiveManager();
+        solver.plugMonitor(solvingMonitor);
     }
 
     /*
@@ -97,9 +115,9 @@ public class NormalStateSolver extends AbstractState {
     public UniverseSolverResult solve() {
         listener.onSolve(this);
         solver.setObjectiveManager(om);
-        solver.plugMonitor(observerSolution);
+        solving = true;
         var r = internalSolve();
-        solver.unplugMonitor(observerSolution);
+        solving = false;
         listener.onResult(this, r);
         listener.onStateSolved(this);
         return r;
@@ -126,11 +144,11 @@ public class NormalStateSolver extends AbstractState {
     public UniverseSolverResult solveStarter() {
         listener.onSolveWithStarter(this);
         solver.setObjectiveManager(om);
-        solver.plugMonitor(observerSolution);
-        solver.limitSolution(Integer.MAX_VALUE);
+        decorator.setSolutionLimit(Integer.MAX_VALUE);
 
+        solving = true;
         var r = internalSolve();
-        solver.unplugMonitor(observerSolution);
+        solving = false;
         listener.onResult(this, r);
         listener.onStateSolved(this);
         return r;
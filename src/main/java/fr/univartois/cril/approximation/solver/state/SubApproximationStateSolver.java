@@ -64,6 +64,9 @@ public class SubApproximationStateSolver extends AbstractState {
     /** The restored. */
     private boolean restored;
 
+    /** The time at which the search on the relaxed problem has started (in ms). */
+    private long startTime;
+
     /**
      * Instantiates a new sub approximation state solver.
      *
@@ -101,8 +104,13 @@ public class SubApproximationStateSolver extends AbstractState {
     @Override
     public UniverseSolverResult solve() {
         listener.onSolve(this);
+        startTime = System.currentTimeMillis();
         if (removedConstraints == null) {
-            removedConstraints = new HashSet<>(remover.computeNextConstraintsToRemove());
+            var speculation = decorator.getSpeculativeRelaxation();
+            removedConstraints = new HashSet<>((speculation == null)
+                    ? remover.computeNextConstraintsToRemove()
+                    : speculation.computeNextConstraintsToRemove(remover, decorator,
+                            getConfig().getNbFailed()));
             nbRemoved += removedConstraints.size();
         } else {
             restored = true;
@@ -121,11 +129,29 @@ public class SubApproximationStateSolver extends AbstractState {
 
         solver.setObjectiveManager(ObjectiveFactory.SAT());
         last = internalSolve();
+        if (last != UniverseSolverResult.SATISFIABLE) {
+            remover.recordOutcome(removedConstraints, false, false,
+                    System.currentTimeMillis() - startTime);
+        }
         listener.onResult(this, last);
         listener.onStateSolved(this);
         return last;
     }
 
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.approximation.solver.state.AbstractState#onRestorationEnd(fr.
+     * univartois.cril.approximation.solver.UniverseSolverResult)
+     */
+    @Override
+    public void onRestorationEnd(UniverseSolverResult result) {
+        remover.recordOutcome(removedConstraints, true,
+                result == UniverseSolverResult.SATISFIABLE,
+                System.currentTimeMillis() - startTime);
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -0,0 +1,135 @@
+/**
+ * approximation, an approximation solver.
+ * Copyright (c) 2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation.subapproximation.measure;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+
+import org.chocosolver.solver.constraints.Constraint;
+
+import fr.univartois.cril.approximation.core.IConstraintMeasure;
+
+/**
+ * The AbstractDecayedConstraintMeasure is the parent class of the measures that favor
+ * the constraints that have been involved in the most recent events of the search,
+ * in the style of VSIDS.
+ * <p>
+ * Each time an event involving a constraint occurs, the activity of the constraint is
+ * bumped by the current increment, which is then divided by a decay factor.
+ * As the increment grows geometrically, older events weigh less and less in the
+ * activities.
+ * When the increment becomes too large, all the activities (and the increment) are
+ * rescaled, which preserves their order.
+ * </p>
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ * @version 0.1.0
+ */
+public abstract class AbstractDecayedConstraintMeasure implements IConstraintMeasure {
+
+    /** The factor by which the increment is divided after each bump. */
+    private static final double DECAY = 0.999;
+
+    /** The value of the increment above which the activities are rescaled. */
+    private static final double RESCALE_LIMIT = 1e100;
+
+    /** The activity of each constraint, indexed by the index of the constraints. */
+    private double[] activities = new double[0];
+
+    /** The amount by which the activity of a constraint is currently bumped. */
+    private double increment = 1;
+
+    /** The listener notified when the activities are rescaled. */
+    private DoubleConsumer rescaleListener = factor -> {
+    };
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#computeScore(org.
+     * chocosolver.solver.constraints.Constraint)
+     */
+    @Override
+    public double computeScore(Constraint c) {
+        int index = c.getCidxInModel();
+        return (index < activities.length) ? activities[index] : 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#setRescaleListener(
+     * java.util.function.DoubleConsumer)
+     */
+    @Override
+    public void setRescaleListener(DoubleConsumer listener) {
+        this.rescaleListener = listener;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#getUnit()
+     */
+    @Override
+    public double getUnit() {
+        return increment;
+    }
+
+    /**
+     * Bumps the activity of a constraint after an event involving this constraint.
+     *
+     * @param c The constraint involved in the event.
+     * @param amount The amount of the event (e.g., the variation of a counter).
+     *
+     * @return Whether the activity of the constraint has changed.
+     */
+    protected boolean bump(Constraint c, double amount) {
+        if (amount <= 0) {
+            return false;
+        }
+
+        int index = c.getCidxInModel();
+        if (index >= activities.length) {
+            activities = Arrays.copyOf(activities, Math.max(index + 1, 2 * activities.length));
+        }
+        activities[index] += increment * amount;
+        increment /= DECAY;
+        if (increment > RESCALE_LIMIT) {
+            rescale();
+        }
+        return true;
+    }
+
+    /**
+     * Rescales the activities of all the constraints and the increment.
+     */
+    private void rescale() {
+        double factor = 1 / RESCALE_LIMIT;
+        for (int i = 0; i < activities.length; i++) {
+            activities[i] *= factor;
+        }
+        increment *= factor;
+        rescaleListener.accept(factor);
+    }
+
+}
@@ -0,0 +1,138 @@
+/**
+ * approximation, an approximation solver.
+ * Copyright (c) 2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation.subapproximation.measure;
+
+import java.util.Arrays;
+
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.variables.Variable;
+
+import fr.univartois.cril.approximation.core.IConstraintGroupSolver;
+import fr.univartois.cril.approximation.core.IConstraintMeasure;
+
+/**
+ * The AbstractStaticConstraintMeasure is the parent class of the measures that only
+ * depend on the structure of the problem.
+ * <p>
+ * The score of each constraint is computed once when the measure is initialized, i.e.,
+ * before the search starts, so that the constraints to remove may be chosen in an
+ * informed way from the very first relaxation.
+ * As the scores of the constraints are independent, they are computed in parallel.
+ * </p>
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ * @version 0.1.0
+ */
+public abstract class AbstractStaticConstraintMeasure implements IConstraintMeasure {
+
+    /** The score of each constraint, indexed by the index of the constraints. */
+    private double[] scores = new double[0];
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#initialize(fr.
+     * univartois.cril.approximation.core.IConstraintGroupSolver)
+     */
+    @Override
+    public void initialize(IConstraintGroupSolver groupSolver) {
+        var constraints = groupSolver.getConstraints();
+        var values = new double[constraints.size()];
+        constraints.parallelStream().forEach(c -> values[c.getCidxInModel()] = compute(c));
+        this.scores = values;
+    }
+
+    /**
+     * Computes the score of a constraint from the structure of the problem.
+     * This method may be invoked concurrently for different constraints.
+     *
+     * @param c The constraint to evaluate.
+     *
+     * @return The score of the constraint.
+     */
+    protected abstract double compute(Constraint c);
+
+    /**
+     * Gives the variables involved in a constraint, i.e., in any of its propagators.
+     *
+     * @param c The constraint to get the variables of.
+     *
+     * @return The (distinct) variables of the constraint.
+     */
+    protected static Variable[] scope(Constraint c) {
+        return Arrays.stream(c.getPropagators())
+                .<Variable> flatMap(p -> Arrays.stream(p.getVars()))
+                .distinct()
+                .toArray(Variable[]::new);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#computeScore(org.
+     * chocosolver.solver.constraints.Constraint)
+     */
+    @Override
+    public double computeScore(Constraint c) {
+        int index = c.getCidxInModel();
+        return (index < scores.length) ? scores[index] : 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#
+     * updateMeasureNEffectiveFiltering(org.chocosolver.solver.constraints.Constraint,
+     * double, double)
+     */
+    @Override
+    public boolean updateMeasureNEffectiveFiltering(Constraint c, double oldValue,
+            double newValue) {
+        return false;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#
+     * updateMeasureWDEGWeight(org.chocosolver.solver.constraints.Constraint, double,
+     * double)
+     */
+    @Override
+    public boolean updateMeasureWDEGWeight(Constraint c, double oldValue, double newValue) {
+        return false;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#
+     * updateMeasureNEffectiveBacktracking(org.chocosolver.solver.constraints.Constraint,
+     * double, double)
+     */
+    @Override
+    public boolean updateMeasureNEffectiveBacktracking(Constraint c, double oldValue,
+            double newValue) {
+        return false;
+    }
+
+}
@@ -0,0 +1,258 @@
+/**
+ * approximation, an approximation solver.
+ * Copyright (c) 2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+
+package fr.univartois.cril.approximation.subapproximation.measure;
+
+import java.util.Arrays;
+
+import org.chocosolver.solver.constraints.Constraint;
+
+import fr.univartois.cril.approximation.core.IConstraintMeasure;
+
+/**
+ * The CompositeConstraintMeasure scores the constraints by a weighted combination of the
+ * number of times they have been effective during filtering, of the number of
+ * backtracks they have caused, and of the weights of their propagators.
+ * <p>
+ * Contrary to the other measures, which ignore the events they do not rely on, this
+ * measure records all of them.
+ * The three signals are stored in parallel primitive arrays indexed by the index of the
+ * constraints in the model.
+ * When normalized, each signal is divided by a scale, so that the weights do not depend
+ * on the magnitude of the signals.
+ * This scale is the smallest power of two greater than all the values reached so far by
+ * the signal: it is thus within a factor two of the greatest value, and only changes a
+ * logarithmic number of times.
+ * Each time a scale changes, the scores of all the constraints are recomputed (see
+ * {@link #setRescoreListener(Runnable)}).
+ * </p>
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ * @version 0.1.0
+ */
+public class CompositeConstraintMeasure implements IConstraintMeasure {
+
+    /** The number of effective filterings of each constraint. */
+    private double[] filterings = new double[0];
+
+    /** The number of backtracks caused by each constraint. */
+    private double[] backtrackings = new double[0];
+
+    /** The sum of the weights of the propagators of each constraint. */
+    private double[] weights = new double[0];
+
+    /** The scale of the numbers of effective filterings. */
+    private double filteringScale;
+
+    /** The scale of the numbers of backtracks. */
+    private double backtrackingScale;
+
+    /** The scale of the average weights of the propagators. */
+    private double weightScale;
+
+    /** The listener to notify when the scores of all the constraints have changed. */
+    private Runnable rescoreListener = () -> {};
+
+    /** The weight of the number of effective filterings in the score. */
+    private double filteringFactor = 1;
+
+    /** The weight of the number of backtracks in the score. */
+    private double backtrackingFactor = 1;
+
+    /** The weight of the weights of the propagators in the score. */
+    private double weightFactor = 1;
+
+    /** Whether each signal is normalized by its greatest value before being combined. */
+    private boolean normalized;
+
+    /**
+     * Sets the weights of the signals in the score of the constraints.
+     *
+     * @param filteringFactor The weight of the number of effective filterings.
+     * @param backtrackingFactor The weight of the number of backtracks.
+     * @param weightFactor The weight of the weights of the propagators.
+     */
+    public void setFactors(double filteringFactor, double backtrackingFactor,
+            double weightFactor) {
+        this.filteringFactor = filteringFactor;
+        this.backtrackingFactor = backtrackingFactor;
+        this.weightFactor = weightFactor;
+    }
+
+    /**
+     * Sets whether each signal is normalized by its greatest value before being combined.
+     *
+     * @param normalized Whether the signals are normalized.
+     */
+    public void setNormalized(boolean normalized) {
+        this.normalized = normalized;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.approximation.core.IConstraintMeasure#setRescoreListener(java.
+     * lang.Runnable)
+     */
+    @Override
+    public void setRescoreListener(Runnable listener) {
+        this.rescoreListener = listener;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#computeScore(org.
+     * chocosolver.solver.constraints.Constraint)
+     */
+    @Override
+    public double computeScore(Constraint c) {
+        int index = c.getCidxInModel();
+        if (index >= filterings.length) {
+            return 0;
+        }
+
+        double weight = weights[index] / c.getPropagators().length;
+        if (normalized) {
+            return (filteringFactor * ratio(filterings[index], filteringScale))
+                    + (backtrackingFactor * ratio(backtrackings[index], backtrackingScale))
+                    + (weightFactor * ratio(weight, weightScale));
+        }
+        return (filteringFactor * filterings[index])
+                + (backtrackingFactor * backtrackings[index]) + (weightFactor * weight);
+    }
+
+    /**
+     * Normalizes a signal by its scale.
+     *
+     * @param value The value of the signal.
+     * @param scale The scale of the signal.
+     *
+     * @return The normalized value, in {@code [0, 1]}.
+     */
+    private static double ratio(double value, double scale) {
+        return (scale > 0) ? (value / scale) : 0;
+    }
+
+    /**
+     * Computes the scale of a signal after it has reached a new value.
+     *
+     * @param scale The current scale of the signal.
+     * @param value The new value of the signal.
+     *
+     * @return The smallest power of two greater than the value, if the value has
+     *         reached the current scale, or the current scale otherwise.
+     */
+    private double scale(double scale, double value) {
+        if (!normalized || (value < scale) || (value <= 0)) {
+            return scale;
+        }
+        return Math.scalb(1.0, Math.getExponent(value) + 1);
+    }
+
+    /**
+     * Notifies the listener that the scores of all the constraints have changed, if the
+     * scale of a signal taken into account in the scores has changed.
+     *
+     * @param oldScale The previous scale of the signal.
+     * @param newScale The new scale of the signal.
+     * @param factor The weight of the signal in the scores.
+     */
+    private void rescore(double oldScale, double newScale, double factor) {
+        if ((oldScale != newScale) && (factor != 0)) {
+            rescoreListener.run();
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#
+     * updateMeasureNEffectiveFiltering(org.chocosolver.solver.constraints.Constraint,
+     * double, double)
+     */
+    @Override
+    public boolean updateMeasureNEffectiveFiltering(Constraint c, double oldValue,
+            double newValue) {
+        int index = ensureCapacity(c);
+        filterings[index] = newValue;
+        double old = filteringScale;
+        filteringScale = scale(old, newValue);
+        rescore(old, filteringScale, filteringFactor);
+        return filteringFactor != 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#
+     * updateMeasureWDEGWeight(org.chocosolver.solver.constraints.Constraint, double,
+     * double)
+     */
+    @Override
+    public boolean updateMeasureWDEGWeight(Constraint c, double oldValue, double newValue) {
+        int index = ensureCapacity(c);
+        weights[index] += newValue - oldValue;
+        double old = weightScale;
+        weightScale = scale(old, weights[index] / c.getPropagators().length);
+        rescore(old, weightScale, weightFactor);
+        return weightFactor != 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#
+     * updateMeasureNEffectiveBacktracking(org.chocosolver.solver.constraints.Constraint,
+     * double, double)
+     */
+    @Override
+    public boolean updateMeasureNEffectiveBacktracking(Constraint c, double oldValue,
+            double newValue) {
+        int index = ensureCapacity(c);
+        backtrackings[index] = newValue;
+        double old = backtrackingScale;
+        backtrackingScale = scale(old, newValue);
+        rescore(old, backtrackingScale, backtrackingFactor);
+        return backtrackingFactor != 0;
+    }
+
+    /**
+     * Ensures that the signals of the given constraint can be stored.
+     *
+     * @param c The constraint to store the signals of.
+     *
+     * @return The index of the constraint in the arrays of signals.
+     */
+    private int ensureCapacity(Constraint c) {
+        int index = c.getCidxInModel();
+        if (index >= filterings.length) {
+            int capacity = Math.max(index + 1, 2 * filterings.length);
+            filterings = Arrays.copyOf(filterings, capacity);
+            backtrackings = Arrays.copyOf(backtrackings, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+        return index;
+    }
+
+}
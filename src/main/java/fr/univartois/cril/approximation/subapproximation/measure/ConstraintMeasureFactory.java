@@ -69,6 +69,7 @@ public class ConstraintMeasureFactory extends AbstractFactory<IConstraintMeasure
             } else {
                 m = createByName(PACKAGE + name + CLASS_NAME_SUFFIX).newInstance();
             }
+            m.initialize(adapter);
             return m;
         } catch (InstantiationException | IllegalAccessException | IllegalArgumentException
                  | InvocationTargetException e) {
@@ -0,0 +1,54 @@
+/**
+ * approximation, an approximation solver.
+ * Copyright (c) 2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation.subapproximation.measure;
+
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.Propagator;
+
+/**
+ * The CostConstraintMeasure scores the constraints by the cost class of their most
+ * expensive propagator, from unary (1) to very slow (7) propagators.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ * @version 0.1.0
+ *
+ * @see AbstractStaticConstraintMeasure
+ */
+public class CostConstraintMeasure extends AbstractStaticConstraintMeasure {
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.subapproximation.measure.
+     * AbstractStaticConstraintMeasure#compute(org.chocosolver.solver.constraints.
+     * Constraint)
+     */
+    @Override
+    protected double compute(Constraint c) {
+        int cost = 0;
+        for (Propagator p : c.getPropagators()) {
+            cost = Math.max(cost, p.getPriority().ordinal() + 1);
+        }
+        return cost;
+    }
+
+}
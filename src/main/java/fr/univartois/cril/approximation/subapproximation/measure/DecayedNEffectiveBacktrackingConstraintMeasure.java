@@ -0,0 +1,76 @@
+/**
+ * approximation, an approximation solver.
+ * Copyright (c) 2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+package fr.univartois.cril.approximation.subapproximation.measure;
+
+import org.chocosolver.solver.constraints.Constraint;
+
+/**
+ * The DecayedNEffectiveBacktrackingConstraintMeasure scores the constraints by a decayed
+ * count of the backtracks they cause, so
+ * that the constraints involved in the most recent events have the highest score.
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ * @version 0.1.0
+ *
+ * @see AbstractDecayedConstraintMeasure
+ */
+public class DecayedNEffectiveBacktrackingConstraintMeasure
+        extends AbstractDecayedConstraintMeasure {
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#
+     * updateMeasureNEffectiveFiltering(org.chocosolver.solver.constraints.Constraint,
+     * double, double)
+     */
+    @Override
+    public boolean updateMeasureNEffectiveFiltering(Constraint c, double oldValue,
+            double newValue) {
+        return false;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#updateMeasureWDEGWeight(
+     * org.chocosolver.solver.constraints.Constraint, double, double)
+     */
+    @Override
+    public boolean updateMeasureWDEGWeight(Constraint c, double oldValue, double newValue) {
+        return false;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#
+     * updateMeasureNEffectiveBacktracking(org.chocosolver.solver.constraints.Constraint,
+     * double, double)
+     */
+    @Override
+    public boolean updateMeasureNEffectiveBacktracking(Constraint c, double oldValue,
+            double newValue) {
+        return bump(c, newValue - oldValue);
+    }
+
+}
@@ -23,7 +23,6 @@ package fr.univartois.cril.approximation.subapproximation.measure;
 import org.chocosolver.solver.constraints.Constraint;
 
 import fr.univartois.cril.approximation.core.IConstraintMeasure;
-import fr.univartois.cril.approximation.util.collections.heaps.Heap;
 
 /**
  * The NEffectiveFilteringConstraintMeasureSelector.
@@ -48,35 +47,33 @@ public class NEffectiveBacktrackingConstraintMeasure implements IConstraintMeasu
     /*
      * (non-Javadoc)
      *
-     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#updateMeasureNEffectiveFiltering(fr.univartois.cril.approximation.util.collections.heaps.Heap, java.lang.Object, double, double)
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#updateMeasureNEffectiveFiltering(org.chocosolver.solver.constraints.Constraint, double, double)
      */
     @Override
-    public <T> void updateMeasureNEffectiveFiltering(Heap<T> heap, T c, double oldValue,
+    public boolean updateMeasureNEffectiveFiltering(Constraint c, double oldValue,
             double newValue) {
+        return false;
     }
 
     /*
      * (non-Javadoc)
      *
-     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#updateMeasureWDEGWeight(fr.univartois.cril.approximation.util.collections.heaps.Heap, java.lang.Object, double, double)
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#updateMeasureWDEGWeight(org.chocosolver.solver.constraints.Constraint, double, double)
      */
     @Override
-    public <T> void updateMeasureWDEGWeight(Heap<T> heap, T c, double oldValue, double newValue) {
+    public boolean updateMeasureWDEGWeight(Constraint c, double oldValue, double newValue) {
+        return false;
     }
 
     /*
      * (non-Javadoc)
      *
-     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#updateMeasureNEffectiveBacktracking(fr.univartois.cril.approximation.util.collections.heaps.Heap, java.lang.Object, double, double)
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#updateMeasureNEffectiveBacktracking(org.chocosolver.solver.constraints.Constraint, double, double)
      */
     @Override
-    public <T> void updateMeasureNEffectiveBacktracking(Heap<T> heap, T c, double oldValue,
+    public boolean updateMeasureNEffectiveBacktracking(Constraint c, double oldValue,
             double newValue) {
-        if (oldValue < newValue) {
-            heap.increase(c);
-        } else {
-            heap.decrease(c);
-        }
+        return true;
     }
 
 }
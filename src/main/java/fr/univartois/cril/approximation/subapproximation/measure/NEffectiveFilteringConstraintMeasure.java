@@ -23,7 +23,6 @@ package fr.univartois.cril.approximation.subapproximation.measure;
 import org.chocosolver.solver.constraints.Constraint;
 
 import fr.univartois.cril.approximation.core.IConstraintMeasure;
-import fr.univartois.cril.approximation.util.collections.heaps.Heap;
 
 /**
  * The NEffectiveFilteringConstraintMeasureSelector.
@@ -54,48 +53,42 @@ public class NEffectiveFilteringConstraintMeasure implements IConstraintMeasure
     /**
      * Update measure N effective filtering.
      *
-     * @param <T> the generic type
-     * @param heap the heap
      * @param c the c
      * @param oldValue the old value
      * @param newValue the new value
+     * @return whether the score may have changed
      */
     @Override
-    public <T> void updateMeasureNEffectiveFiltering(Heap<T> heap, T c, double oldValue,
+    public boolean updateMeasureNEffectiveFiltering(Constraint c, double oldValue,
             double newValue) {
-        if (oldValue < newValue) {
-            heap.increase(c);
-        } else {
-            heap.decrease(c);
-        }
+        return true;
     }
 
     /**
      * Update measure WDEG weight.
      *
-     * @param <T> the generic type
-     * @param heap the heap
      * @param c the c
      * @param oldValue the old value
      * @param newValue the new value
+     * @return whether the score may have changed
      */
     @Override
-    public <T> void updateMeasureWDEGWeight(Heap<T> heap, T c, double oldValue, double newValue) {
+    public boolean updateMeasureWDEGWeight(Constraint c, double oldValue, double newValue) {
+        return false;
     }
 
     /**
      * Update measure N effective backtracking.
      *
-     * @param <T> the generic type
-     * @param heap the heap
      * @param c the c
      * @param oldValue the old value
      * @param newValue the new value
+     * @return whether the score may have changed
      */
     @Override
-    public <T> void updateMeasureNEffectiveBacktracking(Heap<T> heap, T c, double oldValue,
+    public boolean updateMeasureNEffectiveBacktracking(Constraint c, double oldValue,
             double newValue) {
-        // TODO Auto-generated method stub
+        return false;
     }
 
 }
@@ -24,7 +24,6 @@ import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.constraints.Propagator;
 
 import fr.univartois.cril.approximation.core.IConstraintMeasure;
-import fr.univartois.cril.approximation.util.collections.heaps.Heap;
 
 /**
  * The WdegFilteringConstraintMeasureSelector.
@@ -55,36 +54,33 @@ public class WdegFilteringConstraintMeasure implements IConstraintMeasure {
     /*
      * (non-Javadoc)
      *
-     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#updateMeasureNEffectiveFiltering(fr.univartois.cril.approximation.util.collections.heaps.Heap, java.lang.Object, double, double)
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#updateMeasureNEffectiveFiltering(org.chocosolver.solver.constraints.Constraint, double, double)
      */
     @Override
-    public <T> void updateMeasureNEffectiveFiltering(Heap<T> heap, T c, double oldValue,
+    public boolean updateMeasureNEffectiveFiltering(Constraint c, double oldValue,
             double newValue) {
+        return false;
     }
 
     /*
      * (non-Javadoc)
      *
-     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#updateMeasureWDEGWeight(fr.univartois.cril.approximation.util.collections.heaps.Heap, java.lang.Object, double, double)
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#updateMeasureWDEGWeight(org.chocosolver.solver.constraints.Constraint, double, double)
      */
     @Override
-    public <T> void updateMeasureWDEGWeight(Heap<T> heap, T c, double oldValue, double newValue) {
-        if (oldValue < newValue) {
-            heap.increase(c);
-        } else {
-            heap.decrease(c);
-        }
+    public boolean updateMeasureWDEGWeight(Constraint c, double oldValue, double newValue) {
+        return true;
     }
 
     /*
      * (non-Javadoc)
      *
-     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#updateMeasureNEffectiveBacktracking(fr.univartois.cril.approximation.util.collections.heaps.Heap, java.lang.Object, double, double)
+     * @see fr.univartois.cril.approximation.core.IConstraintMeasure#updateMeasureNEffectiveBacktracking(org.chocosolver.solver.constraints.Constraint, double, double)
      */
     @Override
-    public <T> void updateMeasureNEffectiveBacktracking(Heap<T> heap, T c, double oldValue,
+    public boolean updateMeasureNEffectiveBacktracking(Constraint c, double oldValue,
             double newValue) {
-        // TODO Auto-generated method stub
+        return false;
     }
 
 }
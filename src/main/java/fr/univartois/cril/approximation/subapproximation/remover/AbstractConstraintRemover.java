@@ -20,10 +20,15 @@
 
 package fr.univartois.cril.approximation.subapproximation.remover;
 
+import java.util.BitSet;
+
+import org.chocosolver.solver.constraints.Constraint;
+
 import fr.univartois.cril.approximation.core.IConstraintGroupSolver;
 import fr.univartois.cril.approximation.core.IConstraintMeasure;
 import fr.univartois.cril.approximation.core.IConstraintsRemover;
-import fr.univartois.cril.approximation.util.collections.heaps.Heap;
+import fr.univartois.cril.approximation.core.ScoreProfile;
+import fr.univartois.cril.approximation.util.collections.heaps.IntDoubleIndexedHeap;
 
 /**
  * The AbstractConstraintRemover.
@@ -43,8 +48,28 @@ public abstract class AbstractConstraintRemover<T> implements IConstraintsRemove
     /** The group solver. */
     protected IConstraintGroupSolver groupSolver;
 
-    /** The heap constraint. */
-    protected Heap<T> heapConstraint;
+    /**
+     * The heap ordering the indices of the elements that may be removed by their score.
+     */
+    protected IntDoubleIndexedHeap heapConstraint;
+
+    /**
+     * Whether the reordering of the heap is deferred until the next constraints to
+     * remove are computed.
+     */
+    protected boolean lazyUpdate;
+
+    /**
+     * The indices of the elements whose score has changed since the last time the heap
+     * has been repaired.
+     */
+    private final BitSet dirty = new BitSet();
+
+    /**
+     * The number of constraints of the model when the measure has been set.
+     * The constraints posted afterwards (such as the nogood store) are not scored.
+     */
+    private int nTracked;
 
     /**
      * Instantiates a new abstract constraint remover.
@@ -65,6 +90,166 @@ public abstract class AbstractConstraintRemover<T> implements IConstraintsRemove
     @Override
     public void setConstraintMeasure(IConstraintMeasure measure) {
         this.measure = measure;
+        this.nTracked = groupSolver.getConstraints().size();
+        measure.setRescaleListener(this::rescale);
+        measure.setRescoreListener(this::rescore);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.approximation.core.IConstraintsRemover#setLazyUpdate(boolean)
+     */
+    @Override
+    public void setLazyUpdate(boolean lazyUpdate) {
+        this.lazyUpdate = lazyUpdate;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IConstraintsRemover#recordProfile(fr.
+     * univartois.cril.approximation.core.ScoreProfile)
+     */
+    @Override
+    public void recordProfile(ScoreProfile profile) {
+        double unit = measure.getUnit();
+        for (Constraint c : groupSolver.getConstraints()) {
+            if (!isTracked(c)) {
+                continue;
+            }
+            double score = measure.computeScore(c) / unit;
+            profile.setConstraintScore(c.getCidxInModel(), score);
+            profile.addGroupScore(groupSolver.getGroupId(c), score);
+        }
+    }
+
+    /**
+     * Checks that a profile has been recorded on a model having as many constraints and
+     * groups as the model of the solver, and warns otherwise.
+     * The scores of the profile are still used for the constraints and groups it shares
+     * with the model.
+     *
+     * @param profile The profile to check.
+     */
+    protected void checkProfile(ScoreProfile profile) {
+        int nConstraints = groupSolver.getConstraints().size();
+        int nGroups = groupSolver.nGroups();
+        if ((profile.getRecordedConstraints() != nConstraints)
+                || (profile.getRecordedGroups() != nGroups)) {
+            System.err.println("The profile has been recorded on a model with "
+                    + profile.getRecordedConstraints() + " constraints and "
+                    + profile.getRecordedGroups() + " groups, instead of " + nConstraints
+                    + " constraints and " + nGroups + " groups");
+        }
+    }
+
+    /**
+     * Checks whether a constraint existed when the measure has been set, i.e., whether
+     * its score is taken into account by this remover.
+     *
+     * @param c The constraint to check.
+     *
+     * @return Whether the constraint is scored by this remover.
+     */
+    protected boolean isTracked(Constraint c) {
+        return c.getCidxInModel() < nTracked;
+    }
+
+    /**
+     * Records that the score of an element has changed.
+     * When lazy updates are enabled, the element is only marked as dirty, and the heap
+     * will be repaired by {@link #repairHeap()}.
+     * Otherwise, the element is immediately moved to its new position in the heap.
+     *
+     * @param index The index of the element whose score has changed.
+     */
+    protected void updateScore(int index) {
+        if (lazyUpdate) {
+            dirty.set(index);
+
+        } else {
+            heapConstraint.setKey(index, computeScore(index));
+        }
     }
 
+    /**
+     * Takes into account that the scores of all the constraints have been multiplied by
+     * the same positive factor.
+     *
+     * @param factor The factor applied to the scores.
+     */
+    protected void rescale(double factor) {
+        heapConstraint.scaleKeys(factor);
+    }
+
+    /**
+     * Takes into account that the scores of all the elements may have changed, in a way
+     * that does not preserve their order.
+     * When lazy updates are enabled, all the elements are marked as dirty, so that the
+     * heap is rebuilt by {@link #repairHeap()}.
+     * Otherwise, the heap is rebuilt right away.
+     */
+    protected void rescore() {
+        dirty.set(0, heapConstraint.capacity());
+        if (!lazyUpdate) {
+            repairHeap();
+        }
+    }
+
+    /**
+     * Repairs the heap after the scores of some of its elements have changed.
+     * If only a few elements are dirty, each of them is moved to its new position.
+     * Otherwise, the whole heap is rebuilt at once.
+     */
+    protected void repairHeap() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        int nDirty = dirty.cardinality();
+        int size = heapConstraint.size();
+        int depth = Integer.SIZE - Integer.numberOfLeadingZeros(size);
+        if ((long) nDirty * depth > size) {
+            for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+                heapConstraint.setRawKey(i, computeScore(i));
+            }
+            heapConstraint.heapify();
+
+        } else {
+            for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+                heapConstraint.setKey(i, computeScore(i));
+            }
+        }
+        dirty.clear();
+    }
+
+    /**
+     * Removes the element having the highest score from the heap.
+     *
+     * @return The removed element.
+     */
+    protected T poll() {
+        return get(heapConstraint.poll());
+    }
+
+    /**
+     * Gives the element with the given index.
+     *
+     * @param index The index of the element.
+     *
+     * @return The element with the given index.
+     */
+    protected abstract T get(int index);
+
+    /**
+     * Computes the score used to order the element with the given index in the heap.
+     *
+     * @param index The index of the element to compute the score of.
+     *
+     * @return The score of the element.
+     */
+    protected abstract double computeScore(int index);
+
 }
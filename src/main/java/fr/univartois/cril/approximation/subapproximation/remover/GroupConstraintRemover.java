@@ -29,8 +29,8 @@ import org.chocosolver.solver.constraints.Constraint;
 import fr.univartois.cril.approximation.core.GroupConstraint;
 import fr.univartois.cril.approximation.core.IConstraintGroupSolver;
 import fr.univartois.cril.approximation.core.IConstraintMeasure;
-import fr.univartois.cril.approximation.util.CollectionFactory;
-import fr.univartois.cril.approximation.util.collections.heaps.HeapFactory;
+import fr.univartois.cril.approximation.core.ScoreProfile;
+import fr.univartois.cril.approximation.util.collections.heaps.IntDoubleIndexedHeap;
 
 /**
  * The GroupConstraintRemover.
@@ -45,6 +45,12 @@ public class GroupConstraintRemover extends AbstractConstraintRemover<GroupConst
     /** The counters. */
     public int[] counters;
 
+    /**
+     * The last score of each constraint, as taken into account in the score of its
+     * group.
+     */
+    private double[] scores;
+
     /**
      * Instantiates a new group constraint remover.
      *
@@ -64,13 +70,14 @@ public class GroupConstraintRemover extends AbstractConstraintRemover<GroupConst
     @Override
     public List<Constraint> computeNextConstraintsToRemove() {
         var list = new ArrayList<Constraint>();
+        repairHeap();
 
         do {
             if (heapConstraint.size() <= 1) {
                 return List.of();
             }
 
-            var g = heapConstraint.poll();
+            var g = poll();
             counters[g.getGroupNumber()]++;
             for (var c : g.getConstraints()) {
                 if (c.isIgnorable()) {
@@ -93,16 +100,113 @@ public class GroupConstraintRemover extends AbstractConstraintRemover<GroupConst
     @Override
     public void setConstraintMeasure(IConstraintMeasure measure) {
         super.setConstraintMeasure(measure);
-        this.heapConstraint = HeapFactory.newMaximumHeap(this.groupSolver.nGroups(),
-                () -> CollectionFactory.newMapInt(GroupConstraint.class,
-                        GroupConstraint::getGroupNumber,
-                        i -> this.groupSolver.getGroup(i), this.groupSolver.nGroups()),
-                (a, b) -> Double.compare(measure.computeScore(a, counters[a.getGroupNumber()]),
-                        measure.computeScore(b, counters[b.getGroupNumber()])));
+        this.heapConstraint = new IntDoubleIndexedHeap(this.groupSolver.nGroups());
+
+        this.scores = new double[groupSolver.getConstraints().size()];
+        for (Constraint c : groupSolver.getConstraints()) {
+            scores[c.getCidxInModel()] = measure.computeScore(c);
+        }
 
         for (GroupConstraint c : groupSolver.getGroups()) {
-            heapConstraint.add(c);
+            int index = c.getGroupNumber();
+            heapConstraint.add(index, measure.initScore(c, counters[index]));
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.subapproximation.remover.
+     * AbstractConstraintRemover#rescale(double)
+     */
+    @Override
+    protected void rescale(double factor) {
+        super.rescale(factor);
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] *= factor;
+        }
+        for (GroupConstraint g : groupSolver.getGroups()) {
+            g.setTotalScore(g.getTotalScore() * factor);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.subapproximation.remover.
+     * AbstractConstraintRemover#rescore()
+     */
+    @Override
+    protected void rescore() {
+        // The running sums are updated with the variations only, to keep the seeded scores.
+        for (Constraint c : groupSolver.getConstraints()) {
+            if (!isTracked(c)) {
+                continue;
+            }
+            GroupConstraint g = groupSolver.getGroup(groupSolver.getGroupId(c));
+            int index = c.getCidxInModel();
+            double score = measure.computeScore(c);
+            g.updateTotalScore(score - scores[index]);
+            scores[index] = score;
+        }
+        super.rescore();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IConstraintsRemover#seed(fr.univartois.
+     * cril.approximation.core.ScoreProfile)
+     */
+    @Override
+    public void seed(ScoreProfile profile) {
+        checkProfile(profile);
+        // The score of a group in the previous run is added to its running sum.
+        double unit = measure.getUnit();
+        for (GroupConstraint g : groupSolver.getGroups()) {
+            int index = g.getGroupNumber();
+            g.setTotalScore(g.getTotalScore() + (profile.getGroupScore(index) * unit));
+            heapConstraint.setRawKey(index, computeScore(index));
         }
+        heapConstraint.heapify();
+    }
+
+    /**
+     * Updates the running sum of the scores of the group of the given constraint, by
+     * taking into account the variation of the score of this constraint only, and
+     * records that the score of the group has changed.
+     *
+     * @param c The constraint whose score has changed.
+     */
+    private void updateScore(Constraint c) {
+        GroupConstraint g = this.groupSolver.getGroup(this.groupSolver.getGroupId(c));
+        int index = c.getCidxInModel();
+        double score = measure.computeScore(c);
+        g.updateTotalScore(score - scores[index]);
+        scores[index] = score;
+        updateScore(g.getGroupNumber());
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.subapproximation.remover.
+     * AbstractConstraintRemover#get(int)
+     */
+    @Override
+    protected GroupConstraint get(int index) {
+        return this.groupSolver.getGroup(index);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.subapproximation.remover.
+     * AbstractConstraintRemover#computeScore(int)
+     */
+    @Override
+    protected double computeScore(int index) {
+        return measure.computeScore(get(index), counters[index]);
     }
 
     /*
@@ -114,8 +218,9 @@ public class GroupConstraintRemover extends AbstractConstraintRemover<GroupConst
      */
     @Override
     public void whenEffectiveFilteringChange(Constraint c, int oldValue, int newValue) {
-        GroupConstraint g = this.groupSolver.getGroup(c.getGroupId());
-        measure.updateMeasureNEffectiveFiltering(heapConstraint, g, oldValue, newValue);
+        if (isTracked(c) && measure.updateMeasureNEffectiveFiltering(c, oldValue, newValue)) {
+            updateScore(c);
+        }
     }
 
     /*
@@ -127,8 +232,9 @@ public class GroupConstraintRemover extends AbstractConstraintRemover<GroupConst
      */
     @Override
     public void whenWDEGWeightChange(Constraint c, double oldValue, double newValue) {
-        GroupConstraint g = this.groupSolver.getGroup(c.getGroupId());
-        measure.updateMeasureWDEGWeight(heapConstraint, g, oldValue, newValue);
+        if (isTracked(c) && measure.updateMeasureWDEGWeight(c, oldValue, newValue)) {
+            updateScore(c);
+        }
     }
 
     /*
@@ -143,10 +249,25 @@ public class GroupConstraintRemover extends AbstractConstraintRemover<GroupConst
         int group = -1;
         for (Constraint c : constraints) {
             c.setEnabled(true);
-            group = c.getGroupId();
+            group = groupSolver.getGroupId(c);
         }
 
-        heapConstraint.add(groupSolver.getGroup(group));
+        heapConstraint.add(group, computeScore(group));
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.approximation.core.IConstraintsRemover#cancelRemoval(java.util.
+     * Collection)
+     */
+    @Override
+    public void cancelRemoval(Collection<Constraint> constraints) {
+        if (!constraints.isEmpty()) {
+            counters[groupSolver.getGroupId(constraints.iterator().next())]--;
+        }
+        restoreConstraints(constraints);
     }
 
     /*
@@ -158,8 +279,9 @@ public class GroupConstraintRemover extends AbstractConstraintRemover<GroupConst
      */
     @Override
     public void whenBacktrackingChange(Constraint c, int oldValue, int newValue) {
-        GroupConstraint g = this.groupSolver.getGroup(c.getGroupId());
-        measure.updateMeasureNEffectiveBacktracking(heapConstraint, g, oldValue, newValue);
+        if (isTracked(c) && measure.updateMeasureNEffectiveBacktracking(c, oldValue, newValue)) {
+            updateScore(c);
+        }
     }
 
 }
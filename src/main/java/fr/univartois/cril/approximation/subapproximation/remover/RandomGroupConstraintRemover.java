@@ -79,7 +79,7 @@ public class RandomGroupConstraintRemover extends AbstractRandomConstraintRemove
         int group = -1;
         for (Constraint c : constraints) {
             c.setEnabled(true);
-            group = c.getGroupId();
+            group = groupSolver.getGroupId(c);
         }
 
         this.constraints.add(groupSolver.getGroup(group));
@@ -27,8 +27,8 @@ import org.chocosolver.solver.constraints.Constraint;
 
 import fr.univartois.cril.approximation.core.IConstraintGroupSolver;
 import fr.univartois.cril.approximation.core.IConstraintMeasure;
-import fr.univartois.cril.approximation.util.CollectionFactory;
-import fr.univartois.cril.approximation.util.collections.heaps.HeapFactory;
+import fr.univartois.cril.approximation.core.ScoreProfile;
+import fr.univartois.cril.approximation.util.collections.heaps.IntDoubleIndexedHeap;
 
 /**
  * The SingleConstraintRemover.
@@ -39,6 +39,12 @@ import fr.univartois.cril.approximation.util.collections.heaps.HeapFactory;
  */
 public class SingleConstraintRemover extends AbstractConstraintRemover<Constraint> {
 
+    /**
+     * The score of each constraint in a previous run, which is added to its current
+     * score, or {@code null} if the scores have not been seeded.
+     */
+    private double[] priors;
+
     /**
      * Instantiates a new single constraint remover.
      *
@@ -56,15 +62,16 @@ public class SingleConstraintRemover extends AbstractConstraintRemover<Constrain
      */
     @Override
     public List<Constraint> computeNextConstraintsToRemove() {
+        repairHeap();
         if (heapConstraint.size() == 1) {
             return List.of();
         }
-        var c = heapConstraint.poll();
+        var c = poll();
         while (!c.isIgnorable()) {
             if (heapConstraint.size() == 1) {
                 return List.of();
             }
-            c = heapConstraint.poll();
+            c = poll();
         }
         return List.of(c);
     }
@@ -80,12 +87,67 @@ public class SingleConstraintRemover extends AbstractConstraintRemover<Constrain
     @Override
     public void setConstraintMeasure(IConstraintMeasure measure) {
         super.setConstraintMeasure(measure);
-        this.heapConstraint = HeapFactory.newMaximumHeap(this.groupSolver.nConstraints(),
-                () -> CollectionFactory.newMapInt(Constraint.class, Constraint::getCidxInModel,
-                        i -> this.groupSolver.getConstraint(i), this.groupSolver.nConstraints()),
-                (a, b) -> Double.compare(measure.computeScore(a), measure.computeScore(b)));
+        this.heapConstraint = new IntDoubleIndexedHeap(groupSolver.getConstraints().size());
         for (Constraint c : groupSolver.getConstraints()) {
-            heapConstraint.add(c);
+            int index = c.getCidxInModel();
+            heapConstraint.add(index, computeScore(index));
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.subapproximation.remover.
+     * AbstractConstraintRemover#get(int)
+     */
+    @Override
+    protected Constraint get(int index) {
+        return groupSolver.getConstraint(index);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.subapproximation.remover.
+     * AbstractConstraintRemover#computeScore(int)
+     */
+    @Override
+    protected double computeScore(int index) {
+        double score = measure.computeScore(get(index));
+        return (priors == null) ? score : (score + priors[index]);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.core.IConstraintsRemover#seed(fr.univartois.
+     * cril.approximation.core.ScoreProfile)
+     */
+    @Override
+    public void seed(ScoreProfile profile) {
+        checkProfile(profile);
+        double unit = measure.getUnit();
+        priors = new double[heapConstraint.capacity()];
+        for (int i = 0; i < priors.length; i++) {
+            priors[i] = profile.getConstraintScore(i) * unit;
+            heapConstraint.setRawKey(i, computeScore(i));
+        }
+        heapConstraint.heapify();
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.subapproximation.remover.
+     * AbstractConstraintRemover#rescale(double)
+     */
+    @Override
+    protected void rescale(double factor) {
+        super.rescale(factor);
+        if (priors != null) {
+            for (int i = 0; i < priors.length; i++) {
+                priors[i] *= factor;
+            }
         }
     }
 
@@ -96,7 +158,9 @@ public class SingleConstraintRemover extends AbstractConstraintRemover<Constrain
      */
     @Override
     public void whenEffectiveFilteringChange(Constraint c, int old, int newValue) {
-        measure.updateMeasureNEffectiveFiltering(heapConstraint, c, old, newValue);
+        if (isTracked(c) && measure.updateMeasureNEffectiveFiltering(c, old, newValue)) {
+            updateScore(c.getCidxInModel());
+        }
     }
 
     /*
@@ -106,7 +170,9 @@ public class SingleConstraintRemover extends AbstractConstraintRemover<Constrain
      */
     @Override
     public void whenWDEGWeightChange(Constraint c, double old, double newValue) {
-        measure.updateMeasureWDEGWeight(heapConstraint, c, old, newValue);
+        if (isTracked(c) && measure.updateMeasureWDEGWeight(c, old, newValue)) {
+            updateScore(c.getCidxInModel());
+        }
     }
 
     /*
@@ -118,7 +184,8 @@ public class SingleConstraintRemover extends AbstractConstraintRemover<Constrain
     public void restoreConstraints(Collection<Constraint> constraints) {
         for (Constraint c : constraints) {
             c.setEnabled(true);
-            heapConstraint.add(c);
+            int index = c.getCidxInModel();
+            heapConstraint.add(index, computeScore(index));
         }
     }
 
@@ -129,7 +196,9 @@ public class SingleConstraintRemover extends AbstractConstraintRemover<Constrain
      */
     @Override
     public void whenBacktrackingChange(Constraint c, int old, int newValue) {
-        measure.updateMeasureNEffectiveBacktracking(heapConstraint, c, old, newValue);
+        if (isTracked(c) && measure.updateMeasureNEffectiveBacktracking(c, old, newValue)) {
+            updateScore(c.getCidxInModel());
+        }
     }
 
 }
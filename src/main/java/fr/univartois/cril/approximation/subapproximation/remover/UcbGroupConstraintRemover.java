@@ -0,0 +1,208 @@
+/**
+ * approximation, an approximation solver.
+ * Copyright (c) 2023 - Univ Artois, CNRS & Exakis Nelite.
+ * All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library.
+ * If not, see {@link http://www.gnu.org/licenses}.
+ */
+
+
+package fr.univartois.cril.approximation.subapproximation.remover;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+import org.chocosolver.solver.constraints.Constraint;
+
+import fr.univartois.cril.approximation.core.IConstraintGroupSolver;
+
+/**
+ * The UcbGroupConstraintRemover is a group remover that learns from the outcome of the
+ * previous relaxations which groups are worth removing.
+ * <p>
+ * Each group is seen as an arm of a multi-armed bandit, rewarded when removing it has
+ * allowed to find a solution of the relaxed problem, and even more when a solution has
+ * then been found after having restored it.
+ * Relaxations that took longer than the average are penalized.
+ * Among the groups having the best scores w.r.t. the measure, the group to remove is
+ * the one having the best UCB1 index, so that the groups that have never been removed
+ * are tried first (in the order of the measure), before favoring the groups having the
+ * best rewards.
+ * </p>
+ *
+ * @author Thibault Falque
+ * @author Romain Wallon
+ *
+ * @version 0.1.0
+ */
+public class UcbGroupConstraintRemover extends GroupConstraintRemover {
+
+    /**
+     * The number of groups having the best scores among which the group to remove is
+     * chosen.
+     */
+    private static final int CANDIDATES = 8;
+
+    /** The sum of the rewards obtained by each group. */
+    private final double[] rewards;
+
+    /** The number of outcomes recorded for each group. */
+    private final int[] plays;
+
+    /** The number of outcomes recorded for all the groups. */
+    private int totalPlays;
+
+    /** The number of relaxations whose outcome has been recorded. */
+    private int nRelaxations;
+
+    /** The time spent by all the relaxations whose outcome has been recorded (in ms). */
+    private long totalTime;
+
+    /** The groups that have been rewarded for the current outcome. */
+    private final BitSet rewarded = new BitSet();
+
+    /** The candidate groups, polled from the heap. */
+    private final int[] candidates = new int[CANDIDATES];
+
+    /**
+     * Instantiates a new UCB group constraint remover.
+     *
+     * @param groupSolver the group solver
+     */
+    public UcbGroupConstraintRemover(IConstraintGroupSolver groupSolver) {
+        super(groupSolver);
+        this.rewards = new double[groupSolver.nGroups()];
+        this.plays = new int[groupSolver.nGroups()];
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.subapproximation.remover.
+     * GroupConstraintRemover#computeNextConstraintsToRemove()
+     */
+    @Override
+    public List<Constraint> computeNextConstraintsToRemove() {
+        repairHeap();
+
+        // Polling the best groups w.r.t. the measure, and keeping the removable ones.
+        int nCandidates = 0;
+        while ((nCandidates < CANDIDATES) && (heapConstraint.size() > 1)) {
+            int g = heapConstraint.poll();
+            counters[g]++;
+            if (isRemovable(g)) {
+                candidates[nCandidates] = g;
+                nCandidates++;
+            }
+        }
+        if (nCandidates == 0) {
+            return List.of();
+        }
+
+        // Choosing the candidate with the best index, and putting back the others.
+        int best = candidates[0];
+        double bestIndex = index(best);
+        for (int i = 1; i < nCandidates; i++) {
+            double index = index(candidates[i]);
+            if (index > bestIndex) {
+                best = candidates[i];
+                bestIndex = index;
+            }
+        }
+        for (int i = 0; i < nCandidates; i++) {
+            if (candidates[i] != best) {
+                counters[candidates[i]]--;
+                heapConstraint.add(candidates[i]);
+            }
+        }
+
+        var list = new ArrayList<Constraint>();
+        for (var c : get(best).getConstraints()) {
+            if (c.isIgnorable()) {
+                list.add(c);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Checks whether the given group contains constraints that may be removed.
+     *
+     * @param g The index of the group.
+     *
+     * @return Whether the group contains an ignorable constraint.
+     */
+    private boolean isRemovable(int g) {
+        for (var c : get(g).getConstraints()) {
+            if (c.isIgnorable()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes the UCB1 index of the given group.
+     * This method is package-private for testing purposes.
+     *
+     * @param g The index of the group.
+     *
+     * @return The index of the group, which is infinite if no outcome has been recorded
+     *         for this group yet.
+     */
+    double index(int g) {
+        if (plays[g] == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return (rewards[g] / plays[g]) + Math.sqrt(2 * Math.log(totalPlays) / plays[g]);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see
+     * fr.univartois.cril.approximation.core.IConstraintsRemover#recordOutcome(java.util.
+     * Collection, boolean, boolean, long)
+     */
+    @Override
+    public void recordOutcome(Collection<Constraint> constraints, boolean approximated,
+            boolean restored, long time) {
+        if (constraints.isEmpty()) {
+            return;
+        }
+
+        nRelaxations++;
+        totalTime += time;
+        double average = (double) totalTime / nRelaxations;
+        double reward = (approximated ? 0.5 : 0) + (restored ? 0.5 : 0);
+        if (time > average) {
+            reward *= average / time;
+        }
+
+        for (Constraint c : constraints) {
+            int g = groupSolver.getGroupId(c);
+            if (!rewarded.get(g)) {
+                rewarded.set(g);
+                rewards[g] += reward;
+                plays[g]++;
+                totalPlays++;
+            }
+        }
+        rewarded.clear();
+    }
+
+}
@@ -179,6 +179,18 @@ public class ConsoleSolverListener implements ISolverListener {
         out.println(state + " we remoe " + constraintCount);
     }
 
+    /*
+     * (non-Javadoc)
+     *
+     * @see fr.univartois.cril.approximation.util.ISolverListener#onExtendFailLimit(double,
+     * long)
+     */
+    @Override
+    public void onExtendFailLimit(double ratio, long failLimit) {
+        out.println("We extend the fail limit to " + failLimit + " (ratio of assigned "
+                + "variables: " + ratio + ")");
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -119,6 +119,15 @@ public interface ISolverListener {
      */
     void onRemoveConstraints(ISolverState state, int constraintCount);
 
+    /**
+     * Called when the fail limit of the current state is extended, because the current
+     * run of the solver assigns a large part of the variables.
+     *
+     * @param ratio The ratio of variables assigned by the current run.
+     * @param failLimit The new limit on the number of failures.
+     */
+    void onExtendFailLimit(double ratio, long failLimit);
+
     /**
      * Called when a debug message is generated.
      *
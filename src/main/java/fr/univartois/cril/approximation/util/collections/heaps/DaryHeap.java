@@ -0,0 +1,397 @@
+/*
+ * This file is a part of the fr.univartois.cril.orpheus.utils.collections.heaps package.
+ *
+ * It contains the DaryHeap, which is an implementation of a d-ary heap allowing to
+ * retrieve any of its element efficiently, thanks to index functions.
+ *
+ * (c) Romain WALLON - Orpheus.
+ * All rights reserved.
+ */
+
+package fr.univartois.cril.approximation.util.collections.heaps;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * The DaryHeap is an implementation of a d-ary heap allowing to retrieve any of its
+ * element efficiently, thanks to index functions.
+ *
+ * It provides the same operations as {@link Heap}, but each node has {@code arity}
+ * children (where the arity is a power of two), and elements are moved iteratively by
+ * shifting a hole along their path, so that each element is written (and its index
+ * set) only once per level instead of twice.
+ * Larger arities make the heap shallower, which speeds up the increase of values at the
+ * cost of more comparisons when a value is decreased or the head is removed.
+ *
+ * @param <E> The type of the elements in the heap.
+ *
+ * @author Romain WALLON
+ *
+ * @version 1.0
+ */
+public final class DaryHeap<E> extends AbstractCollection<E> implements Queue<E> {
+
+    /**
+     * The elements of this heap.
+     */
+    private E[] elements;
+
+    /**
+     * The comparator used to compare the elements in this heap, so that the element
+     * to put on the top of the heap is the greatest.
+     */
+    private final Comparator<? super E> comparator;
+
+    /**
+     * Whether the greatest element w.r.t. the comparator given to this heap is on the
+     * top of the heap.
+     */
+    private final boolean descending;
+
+    /**
+     * The base-2 logarithm of the arity of this heap.
+     */
+    private final int shift;
+
+    /**
+     * The function used to get the index of an element in this heap.
+     */
+    private final ToIntFunction<E> getIndex;
+
+    /**
+     * The function used to set the index of an element in this heap.
+     */
+    private final ObjIntConsumer<E> setIndex;
+
+    /**
+     * The size of this heap.
+     */
+    private int size;
+
+    /**
+     * Creates a new DaryHeap.
+     *
+     * @param capacity The initial capacity of the heap.
+     * @param arity The number of children of each node in the heap, which must be a
+     *        power of two.
+     * @param comparator The comparator to use to compare the elements in the heap.
+     * @param state The state of this heap, used to specify which of the minimum or
+     *        maximum must be available in constant time from this heap.
+     * @param getIndex The function used to get the index of an element in the heap.
+     * @param setIndex The function used to set the index of an element in the heap.
+     *
+     * @throws IllegalArgumentException If {@code arity} is not a power of two greater
+     *         than {@code 1}.
+     */
+    @SuppressWarnings("unchecked")
+    DaryHeap(int capacity, int arity, Comparator<? super E> comparator, HeapOrder state,
+            ToIntFunction<E> getIndex, ObjIntConsumer<E> setIndex) {
+        if ((arity < 2) || (Integer.bitCount(arity) != 1)) {
+            throw new IllegalArgumentException("Arity must be a power of two: " + arity);
+        }
+
+        this.elements = (E[]) new Object[Math.max(capacity, 1)];
+        this.descending = (state == HeapOrder.DESCENDING);
+        this.comparator = descending ? comparator : comparator.reversed();
+        this.shift = Integer.numberOfTrailingZeros(arity);
+        this.getIndex = getIndex;
+        this.setIndex = setIndex;
+    }
+
+    /**
+     * Gives the arity of this heap.
+     *
+     * @return The number of children of each node in this heap.
+     */
+    public int arity() {
+        return 1 << shift;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.AbstractCollection#size()
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.AbstractCollection#add(java.lang.Object)
+     */
+    @Override
+    public boolean add(E element) {
+        if (size == elements.length) {
+            // Doubling the capacity of this heap.
+            elements = Arrays.copyOf(elements, elements.length << 1);
+        }
+
+        // Putting the element in the heap.
+        siftUp(size, element);
+        size++;
+        return true;
+    }
+
+    /**
+     * Tells this heap that the value of an element has been increased.
+     *
+     * @param element The element whose value has been increased.
+     */
+    public void increase(E element) {
+        int index = getIndex.applyAsInt(element);
+        if (index >= 0) {
+            if (descending) {
+                siftUp(index, element);
+            } else {
+                siftDown(index, element);
+            }
+        }
+    }
+
+    /**
+     * Tells this heap that the value of an element has been decreased.
+     *
+     * @param element The element whose value has been decreased.
+     */
+    public void decrease(E element) {
+        int index = getIndex.applyAsInt(element);
+        if (index >= 0) {
+            if (descending) {
+                siftDown(index, element);
+            } else {
+                siftUp(index, element);
+            }
+        }
+    }
+
+    /**
+     * Tells this heap that the value of an element has changed, without knowing whether
+     * it has been increased or decreased.
+     *
+     * @param element The element whose value has changed.
+     */
+    public void update(E element) {
+        int index = getIndex.applyAsInt(element);
+        if (index >= 0) {
+            siftUp(index, element);
+            siftDown(getIndex.applyAsInt(element), element);
+        }
+    }
+
+    /**
+     * Restores the heap property over all the elements of this heap at once.
+     * This is more efficient than updating each element separately when the values of
+     * many elements have changed.
+     */
+    public void heapify() {
+        for (int i = parent(size - 1); i >= 0; i--) {
+            siftDown(i, elements[i]);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.Queue#offer(java.lang.Object)
+     */
+    @Override
+    public boolean offer(E e) {
+        return add(e);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.Queue#remove()
+     */
+    @Override
+    public E remove() {
+        E polled = poll();
+        if (polled == null) {
+            throw new NoSuchElementException();
+        }
+        return polled;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.Queue#poll()
+     */
+    @Override
+    public E poll() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        // Removing the head.
+        E head = elements[0];
+        setIndex.accept(head, -1);
+        size--;
+
+        // Updating the head while preserving heap property.
+        E last = elements[size];
+        elements[size] = null;
+        if (size > 0) {
+            siftDown(0, last);
+        } else {
+            elements[0] = null;
+        }
+
+        return head;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.Queue#element()
+     */
+    @Override
+    public E element() {
+        E peek = peek();
+        if (peek == null) {
+            throw new NoSuchElementException();
+        }
+        return peek;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.Queue#peek()
+     */
+    @Override
+    public E peek() {
+        return elements[0];
+    }
+
+    /**
+     * Moves an element towards the top of the heap, starting from the given index.
+     * Its ancestors are moved down into the hole until the heap property is satisfied.
+     *
+     * @param index The index from which to move the element.
+     * @param element The element to move.
+     */
+    private void siftUp(int index, E element) {
+        while (index > 0) {
+            int parentIndex = parent(index);
+            E parent = elements[parentIndex];
+            if (comparator.compare(element, parent) <= 0) {
+                break;
+            }
+            elements[index] = parent;
+            setIndex.accept(parent, index);
+            index = parentIndex;
+        }
+
+        elements[index] = element;
+        setIndex.accept(element, index);
+    }
+
+    /**
+     * Moves an element towards the bottom of the heap, starting from the given index.
+     * Its greatest children are moved up into the hole until the heap property is
+     * satisfied.
+     *
+     * @param index The index from which to move the element.
+     * @param element The element to move.
+     */
+    private void siftDown(int index, E element) {
+        int firstChild;
+        while ((firstChild = firstChild(index)) < size) {
+            // Looking for the greatest child.
+            int maxIndex = firstChild;
+            E max = elements[firstChild];
+            int end = Math.min(firstChild + (1 << shift), size);
+            for (int i = firstChild + 1; i < end; i++) {
+                if (comparator.compare(elements[i], max) > 0) {
+                    maxIndex = i;
+                    max = elements[i];
+                }
+            }
+
+            if (comparator.compare(max, element) <= 0) {
+                break;
+            }
+            elements[index] = max;
+            setIndex.accept(max, index);
+            index = maxIndex;
+        }
+
+        elements[index] = element;
+        setIndex.accept(element, index);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.util.AbstractCollection#iterator()
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+
+            /**
+             * The current index in the heap.
+             */
+            private int currentIndex;
+
+            /*
+             * (non-Javadoc)
+             *
+             * @see java.util.Iterator#hasNext()
+             */
+            @Override
+            public boolean hasNext() {
+                return currentIndex < size();
+            }
+
+            /*
+             * (non-Javadoc)
+             *
+             * @see java.util.Iterator#next()
+             */
+            @Override
+            public E next() {
+                if (hasNext()) {
+                    return elements[currentIndex++];
+                }
+                throw new NoSuchElementException();
+            }
+
+        };
+    }
+
+    /**
+     * Gives the index of the parent of the element at the given index.
+     *
+     * @param index The index to get the parent of.
+     *
+     * @return The index of the parent of the element at the given index.
+     */
+    private int parent(int index) {
+        return (index - 1) >> shift;
+    }
+
+    /**
+     * Gives the index of the first child of the element at the given index.
+     *
+     * @param index The index to get the first child of.
+     *
+     * @return The index of the first child of the element at the given index.
+     */
+    private int firstChild(int index) {
+        return (index << shift) + 1;
+    }
+
+}
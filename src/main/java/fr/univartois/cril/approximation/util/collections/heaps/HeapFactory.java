@@ -163,6 +163,78 @@ public final class HeapFactory {
         return newHeap(capacity, cache, comparator, HeapOrder.ASCENDING);
     }
 
+    /**
+     * Creates a new d-ary heap with a descending order.
+     * The elements are ordered using the given comparator.
+     * 
+     * @param <E> The type of the elements in the heap.
+     * 
+     * @param capacity The initial capacity of the heap.
+     * @param arity The number of children of each node in the heap (e.g., 2, 4 or 8).
+     * @param comparator The comparator used to compare the elements in the heap.
+     * 
+     * @return The created heap.
+     */
+    public static <E extends Heapable> DaryHeap<E> newMaximumDaryHeap(int capacity,
+            int arity, Comparator<? super E> comparator) {
+        return newDaryHeap(capacity, arity, comparator, HeapOrder.DESCENDING);
+    }
+
+    /**
+     * Creates a new d-ary heap with an ascending order.
+     * The elements are ordered using the given comparator.
+     * 
+     * @param <E> The type of the elements in the heap.
+     * 
+     * @param capacity The initial capacity of the heap.
+     * @param arity The number of children of each node in the heap (e.g., 2, 4 or 8).
+     * @param comparator The comparator used to compare the elements in the heap.
+     * 
+     * @return The created heap.
+     */
+    public static <E extends Heapable> DaryHeap<E> newMinimumDaryHeap(int capacity,
+            int arity, Comparator<? super E> comparator) {
+        return newDaryHeap(capacity, arity, comparator, HeapOrder.ASCENDING);
+    }
+
+    /**
+     * Creates a new d-ary heap with a descending order.
+     * The elements are ordered using the given comparator.
+     * 
+     * @param <E> The type of the elements in the heap.
+     * 
+     * @param capacity The initial capacity of the heap.
+     * @param arity The number of children of each node in the heap (e.g., 2, 4 or 8).
+     * @param cache The supplier for the cache to use to retrieve elements in constant
+     *        time.
+     * @param comparator The comparator used to compare the elements in the heap.
+     * 
+     * @return The created heap.
+     */
+    public static <E> DaryHeap<E> newMaximumDaryHeap(int capacity, int arity,
+            Supplier<MapInt<? super E>> cache, Comparator<? super E> comparator) {
+        return newDaryHeap(capacity, arity, cache, comparator, HeapOrder.DESCENDING);
+    }
+
+    /**
+     * Creates a new d-ary heap with an ascending order.
+     * The elements are ordered using the given comparator.
+     * 
+     * @param <E> The type of the elements in the heap.
+     * 
+     * @param capacity The initial capacity of the heap.
+     * @param arity The number of children of each node in the heap (e.g., 2, 4 or 8).
+     * @param cache The supplier for the cache to use to retrieve elements in constant
+     *        time.
+     * @param comparator The comparator used to compare the elements in the heap.
+     * 
+     * @return The created heap.
+     */
+    public static <E> DaryHeap<E> newMinimumDaryHeap(int capacity, int arity,
+            Supplier<MapInt<? super E>> cache, Comparator<? super E> comparator) {
+        return newDaryHeap(capacity, arity, cache, comparator, HeapOrder.ASCENDING);
+    }
+
     /**
      * Creates a new heap ordered using the given comparator.
      * 
@@ -212,4 +284,57 @@ public final class HeapFactory {
                 });
     }
 
+    /**
+     * Creates a new d-ary heap ordered using the given comparator.
+     * 
+     * @param <E> The type of the elements in the heap.
+     * 
+     * @param capacity The initial capacity of the heap.
+     * @param arity The number of children of each node in the heap.
+     * @param comparator The comparator used to compare the elements in the heap.
+     * @param state The state of the heap to create, used to specify which of the minimum
+     *        or maximum must be available in constant time from the heap.
+     * 
+     * @return The created heap.
+     */
+    private static <E extends Heapable> DaryHeap<E> newDaryHeap(int capacity, int arity,
+            Comparator<? super E> comparator, HeapOrder state) {
+        return new DaryHeap<>(capacity, arity, comparator, state,
+                Heapable::getIndex, Heapable::setIndex);
+    }
+
+    /**
+     * Creates a new d-ary heap ordered using the given comparator.
+     * 
+     * @param <E> The type of the elements in the heap.
+     * 
+     * @param capacity The initial capacity of the heap.
+     * @param arity The number of children of each node in the heap.
+     * @param cache The supplier for the cache to use to retrieve elements in constant
+     *        time.
+     * @param comparator The comparator used to compare the elements in the heap.
+     * @param state The state of the heap to create, used to specify which of the minimum
+     *        or maximum must be available in constant time from the heap.
+     * 
+     * @return The created heap.
+     */
+    private static <E> DaryHeap<E> newDaryHeap(int capacity, int arity,
+            Supplier<MapInt<? super E>> cache, Comparator<? super E> comparator,
+            HeapOrder state) {
+        MapInt<? super E> effectiveCache = cache.get();
+
+        return new DaryHeap<>(capacity, arity, comparator, state,
+                element -> effectiveCache.safeGet(element).orElse(-1),
+                (element, index) -> {
+                    if (index < 0) {
+                        // The element is to be removed.
+                        effectiveCache.remove(element);
+
+                    } else {
+                        // The element is to be put.
+                        effectiveCache.put(element, index);
+                    }
+                });
+    }
+
 }
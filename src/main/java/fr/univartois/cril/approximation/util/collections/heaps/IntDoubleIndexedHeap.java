@@ -0,0 +1,347 @@
+/*
+ * This file is a part of the fr.univartois.cril.orpheus.utils.collections.heaps package.
+ *
+ * It contains the IntDoubleIndexedHeap, which is an implementation of a maximum heap
+ * specialized for dense int elements ordered by double keys.
+ *
+ * (c) Romain WALLON - Orpheus.
+ * All rights reserved.
+ */
+
+package fr.univartois.cril.approximation.util.collections.heaps;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * The IntDoubleIndexedHeap is a maximum heap whose elements are the integers in
+ * {@code [0, capacity)}, ordered by a {@code double} key associated to each of them.
+ *
+ * Contrary to {@link Heap}, this implementation stores neither objects nor functions:
+ * the heap, the position of each element in the heap and the keys are stored in
+ * parallel primitive arrays, and the heap property is maintained using iterative sift
+ * operations.
+ * Retrieving the position of an element, as well as its key, is thus performed in
+ * constant time without any allocation.
+ *
+ * The key of an element can be changed at any time, even when the element is not in
+ * the heap.
+ *
+ * @author Romain WALLON
+ *
+ * @version 1.0
+ */
+public final class IntDoubleIndexedHeap {
+
+    /**
+     * The elements of this heap, stored in heap order.
+     */
+    private final int[] heap;
+
+    /**
+     * The position of each element in {@link #heap}, or {@code -1} if the element is
+     * not in this heap.
+     */
+    private final int[] positions;
+
+    /**
+     * The key of each element.
+     */
+    private final double[] keys;
+
+    /**
+     * The size of this heap.
+     */
+    private int size;
+
+    /**
+     * Creates a new IntDoubleIndexedHeap.
+     * All the keys are initially set to {@code 0}.
+     *
+     * @param capacity The number of elements that may be stored in the heap, i.e., the
+     *        heap may contain the integers in {@code [0, capacity)}.
+     */
+    public IntDoubleIndexedHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new double[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Gives the number of elements that may be stored in this heap.
+     *
+     * @return The capacity of this heap.
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Gives the number of elements in this heap.
+     *
+     * @return The size of this heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether this heap is empty.
+     *
+     * @return Whether this heap is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks whether the given element is in this heap.
+     *
+     * @param element The element to look for.
+     *
+     * @return Whether the element is in this heap.
+     */
+    public boolean contains(int element) {
+        return positions[element] >= 0;
+    }
+
+    /**
+     * Gives the key of the given element.
+     *
+     * @param element The element to get the key of.
+     *
+     * @return The key of the element.
+     */
+    public double getKey(int element) {
+        return keys[element];
+    }
+
+    /**
+     * Sets the key of the given element.
+     * If the element is in this heap, its position is updated so that the heap remains
+     * consistent.
+     *
+     * @param element The element to set the key of.
+     * @param key The new key of the element.
+     */
+    public void setKey(int element, double key) {
+        double old = keys[element];
+        keys[element] = key;
+        int index = positions[element];
+        if (index < 0) {
+            return;
+        }
+
+        if (key > old) {
+            siftUp(index);
+        } else if (key < old) {
+            siftDown(index);
+        }
+    }
+
+    /**
+     * Sets the key of the given element, without updating its position in the heap.
+     * After a call to this method, the heap is inconsistent until {@link #heapify()}
+     * is invoked.
+     *
+     * @param element The element to set the key of.
+     * @param key The new key of the element.
+     */
+    public void setRawKey(int element, double key) {
+        keys[element] = key;
+    }
+
+    /**
+     * Multiplies the keys of all the elements by the same positive factor.
+     * As the order of the keys is preserved, the heap remains consistent.
+     *
+     * @param factor The (positive) factor to apply to the keys.
+     */
+    public void scaleKeys(double factor) {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] *= factor;
+        }
+    }
+
+    /**
+     * Adds an element to this heap, using its current key.
+     * Nothing happens if the element is already in this heap.
+     *
+     * @param element The element to add.
+     */
+    public void add(int element) {
+        if (positions[element] >= 0) {
+            return;
+        }
+        heap[size] = element;
+        positions[element] = size;
+        siftUp(size);
+        size++;
+    }
+
+    /**
+     * Adds an element to this heap, with the given key.
+     * If the element is already in this heap, only its key is updated.
+     *
+     * @param element The element to add.
+     * @param key The key of the element.
+     */
+    public void add(int element, double key) {
+        if (positions[element] >= 0) {
+            setKey(element, key);
+
+        } else {
+            keys[element] = key;
+            add(element);
+        }
+    }
+
+    /**
+     * Gives the element having the greatest key in this heap, without removing it.
+     *
+     * @return The element with the greatest key.
+     *
+     * @throws NoSuchElementException If this heap is empty.
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    /**
+     * Removes and gives the element having the greatest key in this heap.
+     *
+     * @return The element with the greatest key.
+     *
+     * @throws NoSuchElementException If this heap is empty.
+     */
+    public int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+
+        int head = heap[0];
+        positions[head] = -1;
+        size--;
+
+        if (size > 0) {
+            // Moving the last element to the head while preserving the heap property.
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+
+        return head;
+    }
+
+    /**
+     * Removes the given element from this heap.
+     * Nothing happens if the element is not in this heap.
+     *
+     * @param element The element to remove.
+     */
+    public void remove(int element) {
+        int index = positions[element];
+        if (index < 0) {
+            return;
+        }
+
+        positions[element] = -1;
+        size--;
+
+        if (index < size) {
+            // Filling the hole with the last element, which may need to go either way.
+            int last = heap[size];
+            heap[index] = last;
+            positions[last] = index;
+            siftUp(index);
+            siftDown(positions[last]);
+        }
+    }
+
+    /**
+     * Removes all the elements from this heap.
+     * The keys of the elements are preserved.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Restores the heap property over all the elements of this heap at once, typically
+     * after having changed several keys with {@link #setRawKey(int, double)}.
+     */
+    public void heapify() {
+        for (int i = (size >> 1) - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * Moves the element at the given index towards the root of the heap, until the heap
+     * property is satisfied.
+     * The element is kept aside while its ancestors are moved down, so that it is
+     * written only once.
+     *
+     * @param index The index of the element to move.
+     */
+    private void siftUp(int index) {
+        int element = heap[index];
+        double key = keys[element];
+
+        while (index > 0) {
+            int parentIndex = (index - 1) >> 1;
+            int parent = heap[parentIndex];
+            if (keys[parent] >= key) {
+                break;
+            }
+            heap[index] = parent;
+            positions[parent] = index;
+            index = parentIndex;
+        }
+
+        heap[index] = element;
+        positions[element] = index;
+    }
+
+    /**
+     * Moves the element at the given index towards the leaves of the heap, until the
+     * heap property is satisfied.
+     * The element is kept aside while its descendants are moved up, so that it is
+     * written only once.
+     *
+     * @param index The index of the element to move.
+     */
+    private void siftDown(int index) {
+        int element = heap[index];
+        double key = keys[element];
+        int half = size >> 1;
+
+        while (index < half) {
+            int childIndex = (index << 1) + 1;
+            int child = heap[childIndex];
+            int rightIndex = childIndex + 1;
+            if ((rightIndex < size) && (keys[heap[rightIndex]] > keys[child])) {
+                childIndex = rightIndex;
+                child = heap[rightIndex];
+            }
+            if (key >= keys[child]) {
+                break;
+            }
+            heap[index] = child;
+            positions[child] = index;
+            index = childIndex;
+        }
+
+        heap[index] = element;
+        positions[element] = index;
+    }
+
+}
@@ -0,0 +1,57 @@
+package fr.univartois.cril.approximation;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.net.URL;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import fr.univartois.cril.approximation.solver.NogoodExchange;
+
+/**
+ * The Class PortfolioFactoryTest checks that the solvers created for a portfolio can
+ * be run with the options of the portfolio.
+ */
+class PortfolioFactoryTest {
+
+    /** The configuration of an approximation solver of the portfolio. */
+    private static final String APPROX = "--approx --measure WdegFiltering "
+            + "--n-runs-normal 50 --n-runs-approx 50 -- -limit=[10s] -f -varh DOMWDEG "
+            + "-valsel [MIN,true,32,true] -restarts [luby,50,5000,true] -lc 1";
+
+    /** The instance path. */
+    private String instancePath;
+
+    /**
+     * Sets the up.
+     *
+     * @throws Exception the exception
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        URL resource = getClass().getClassLoader()
+                .getResource("AircraftAssemblyLine-3-628-020-1_c24.xml.lzma");
+        if (resource == null) {
+            throw new IllegalStateException("Test instance file not found in resources");
+        }
+        instancePath = Paths.get(resource.getPath()).toAbsolutePath().toString();
+    }
+
+    /**
+     * Tests that an approximation solver sharing its nogoods can be run, although its
+     * nogood store is posted after the scores of the constraints have been initialized.
+     *
+     * @throws Exception if the solver cannot be created
+     */
+    @Test
+    void testApproximationSolverSharingNogoods() throws Exception {
+        var document = XCSPExtension.loadDocument(instancePath);
+        var exchange = new NogoodExchange(1, 16, 8);
+        var solver = PortfolioFactory.newSolver(0, 0, APPROX, instancePath, document,
+                exchange);
+        assertNotNull(solver.solve(), "The solver should complete its solving process");
+    }
+
+}
@@ -0,0 +1,184 @@
+
+package fr.univartois.cril.approximation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.chocosolver.parser.SetUpException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import fr.univartois.cril.approximation.cli.CLI;
+import fr.univartois.cril.approximation.core.GroupConstraint;
+import fr.univartois.cril.approximation.core.IConstraintGroupSolver;
+import fr.univartois.cril.approximation.solver.ApproximationSolverBuilder;
+import net.sourceforge.argparse4j.inf.ArgumentParserException;
+
+/**
+ * The Class PreloadedXCSPParserTest checks that approximation solvers can be built from
+ * an already loaded document, as the workers of a portfolio are.
+ */
+class PreloadedXCSPParserTest {
+
+    /** The instance path. */
+    private String instancePath;
+
+    /** The document of the instance. */
+    private PreloadedDocument document;
+
+    /**
+     * Loads the document of the test instance.
+     *
+     * @throws Exception the exception
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        URL resource = getClass().getClassLoader()
+                .getResource("AircraftAssemblyLine-3-628-020-1_c24.xml.lzma");
+        if (resource == null) {
+            throw new IllegalStateException("Test instance file not found in resources");
+        }
+        instancePath = Paths.get(resource.getPath()).toAbsolutePath().toString();
+        document = XCSPExtension.loadDocument(instancePath);
+    }
+
+    /**
+     * Tests that the groups of a preloaded model are numbered from 0 without gaps.
+     *
+     * @throws SetUpException the set up exception
+     */
+    @Test
+    void testGroupNumbering() throws SetUpException {
+        var xcsp = newExtension();
+        int[] groupIds = xcsp.getGroupIds();
+        assertEquals(xcsp.getModel().getNbCstrs(), groupIds.length);
+
+        boolean[] used = new boolean[groupIds.length];
+        int nGroups = 0;
+        for (int id : groupIds) {
+            assertTrue((id >= 0) && (id < groupIds.length), "Invalid group " + id);
+            used[id] = true;
+            nGroups = Math.max(nGroups, id + 1);
+        }
+        for (int g = 0; g < nGroups; g++) {
+            assertTrue(used[g], "No constraint in group " + g);
+        }
+    }
+
+    /**
+     * Tests that the constraints and groups of a preloaded model are given distinct keys,
+     * and that these keys do not depend on the model.
+     *
+     * @throws SetUpException the set up exception
+     */
+    @Test
+    void testKeys() throws SetUpException {
+        var xcsp = newExtension();
+        String[] constraintKeys = xcsp.getConstraintKeys();
+        String[] groupKeys = xcsp.getGroupKeys();
+        assertEquals(xcsp.getModel().getNbCstrs(), constraintKeys.length);
+        assertEquals(constraintKeys.length, new HashSet<>(List.of(constraintKeys)).size());
+        assertEquals(groupKeys.length, new HashSet<>(List.of(groupKeys)).size());
+
+        int nGroups = 0;
+        for (int id : xcsp.getGroupIds()) {
+            nGroups = Math.max(nGroups, id + 1);
+        }
+        assertEquals(nGroups, groupKeys.length);
+
+        var other = newExtension();
+        assertEquals(List.of(constraintKeys), List.of(other.getConstraintKeys()));
+        assertEquals(List.of(groupKeys), List.of(other.getGroupKeys()));
+    }
+
+    /**
+     * Tests that several models can be built concurrently from the same loaded instance,
+     * and that they are all the same.
+     *
+     * @throws Exception if a model cannot be built
+     */
+    @Test
+    void testConcurrentModels() throws Exception {
+        var expected = List.of(newExtension().getConstraintKeys());
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var futures = new ArrayList<Future<XCSPExtension>>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(this::newExtension));
+            }
+            for (var future : futures) {
+                assertEquals(expected, List.of(future.get().getConstraintKeys()));
+            }
+
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Tests that an approximation worker can be built from a preloaded document, with
+     * the removers that consider all the groups of the model.
+     *
+     * @throws ArgumentParserException the argument parser exception
+     * @throws SetUpException the set up exception
+     */
+    @Test
+    void testApproximationWorker() throws ArgumentParserException, SetUpException {
+        for (String remover : List.of("Group", "RandomGroup")) {
+            var xcsp = newExtension();
+            var arguments = CLI.createCLIParser(false).parseArgs(new String[] {
+                    "--approx", "--constraint-remover", remover
+            });
+
+            var solver = new ApproximationSolverBuilder(xcsp.getModel().getSolver())
+                    .setGroupIds(xcsp.getGroupIds())
+                    .withSpecificConstraintRemover(arguments.getString("constraint_remover"))
+                    .withSpecificConstraintMeasure(arguments.getString("measure"))
+                    .setKeepFalsified(arguments.get("keep_falsified"))
+                    .setVerbosity(arguments.getInt("verbosity"))
+                    .initState(arguments)
+                    .build();
+            assertNotNull(solver, "The solver should be successfully configured and built");
+
+            var groupSolver = (IConstraintGroupSolver) solver;
+            int nConstraints = 0;
+            for (int g = 0; g < groupSolver.nGroups(); g++) {
+                GroupConstraint group = groupSolver.getGroup(g);
+                assertNotNull(group, "Group " + g + " should exist");
+                assertEquals(g, group.getGroupNumber());
+                nConstraints += group.getConstraints().size();
+            }
+            assertEquals(xcsp.getModel().getNbCstrs(), nConstraints);
+        }
+    }
+
+    /**
+     * Builds a model of the test instance from its preloaded document.
+     *
+     * @return the extension of the parser that has built the model
+     *
+     * @throws SetUpException the set up exception
+     */
+    private XCSPExtension newExtension() throws SetUpException {
+        List<String> chocoArgs = new ArrayList<>();
+        chocoArgs.add(instancePath);
+        var xcsp = new XCSPExtension();
+        assertTrue(xcsp.setUp(chocoArgs.toArray(new String[0])));
+        xcsp.setDocument(document);
+        xcsp.createSolver();
+        xcsp.buildModel();
+        xcsp.configureSearch();
+        xcsp.removeShutdownHook();
+        return xcsp;
+    }
+
+}
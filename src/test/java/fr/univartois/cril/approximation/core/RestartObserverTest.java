@@ -0,0 +1,213 @@
+package fr.univartois.cril.approximation.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import fr.univartois.cril.approximation.solver.ApproximationSolverDecorator;
+import fr.univartois.cril.approximation.solver.SolverConfiguration;
+import fr.univartois.cril.approximation.solver.budget.BanditFailBudgetPolicy;
+import fr.univartois.cril.approximation.solver.budget.GeometricFailBudgetPolicy;
+import fr.univartois.cril.approximation.util.ConsoleSolverListener;
+import fr.univartois.cril.approximation.util.ISolverListener;
+
+/**
+ * The Class RestartObserverTest checks that the {@link RestartObserver} extends the fail
+ * limit of a run only when this run has assigned enough variables.
+ */
+class RestartObserverTest {
+
+    /** The number of variables of the model. */
+    private static final int N_VARIABLES = 10;
+
+    /** The ratio of assigned variables above which a run is extended. */
+    private static final double RATIO = 0.5;
+
+    /** The factor applied to the fail limit when a run is extended. */
+    private static final double FACTOR = 2;
+
+    /** The fail limit of the runs, which is reached at the first failure. */
+    private static final int FAIL_LIMIT = 1;
+
+    /** The tolerance when comparing ratios. */
+    private static final double EPSILON = 1e-9;
+
+    /** The model. */
+    private Model model;
+
+    /** The variables of the model. */
+    private IntVar[] x;
+
+    /** The solver of the model. */
+    private ApproximationSolverDecorator solver;
+
+    /** The tested observer. */
+    private RestartObserver observer;
+
+    /** The ratios with which the fail limit has been extended. */
+    private List<Double> extensions;
+
+    /**
+     * Sets the up.
+     */
+    @BeforeEach
+    void setUp() {
+        newSolver();
+        configure(RATIO, new GeometricFailBudgetPolicy());
+    }
+
+    /**
+     * Test that a run that has not assigned enough variables is not extended.
+     *
+     * @throws ContradictionException if the variables cannot be assigned
+     */
+    @Test
+    void testBelowThreshold() throws ContradictionException {
+        assign(4);
+        observer.onContradiction(null);
+        assertEquals(FAIL_LIMIT, solver.getFailLimit());
+        assertEquals(List.of(), extensions);
+    }
+
+    /**
+     * Test that a run that has assigned as many variables as the threshold is extended.
+     *
+     * @throws ContradictionException if the variables cannot be assigned
+     */
+    @Test
+    void testAtThreshold() throws ContradictionException {
+        assign(5);
+        observer.onContradiction(null);
+        assertEquals((long) Math.ceil(FAIL_LIMIT * FACTOR), solver.getFailLimit());
+        assertEquals(List.of(RATIO), extensions);
+    }
+
+    /**
+     * Test that the variables unassigned by backtracking are not counted anymore after a
+     * restart, while the deepest assignment is still reported.
+     *
+     * @throws ContradictionException if the variables cannot be assigned
+     */
+    @Test
+    void testBacktrack() throws ContradictionException {
+        model.getEnvironment().worldPush();
+        assign(6);
+        model.getEnvironment().worldPop();
+        observer.afterRestart();
+        assign(2);
+        observer.onContradiction(null);
+        assertEquals(FAIL_LIMIT, solver.getFailLimit());
+        assertEquals(0.6, observer.getMaxRatio(), EPSILON);
+    }
+
+    /**
+     * Test that a disabled observer neither extends the runs nor tracks the assigned
+     * variables.
+     *
+     * @throws ContradictionException if the variables cannot be assigned
+     */
+    @Test
+    void testDisabled() throws ContradictionException {
+        observer.setEnabled(false);
+        assign(8);
+        observer.onContradiction(null);
+        assertEquals(FAIL_LIMIT, solver.getFailLimit());
+        assertEquals(0, observer.getMaxRatio(), EPSILON);
+    }
+
+    /**
+     * Test that the assigned variables are not tracked when the runs cannot be extended
+     * and the policy ignores the ratio of assigned variables.
+     *
+     * @throws ContradictionException if the variables cannot be assigned
+     */
+    @Test
+    void testUntracked() throws ContradictionException {
+        newSolver();
+        configure(2, new GeometricFailBudgetPolicy());
+        assign(8);
+        observer.onContradiction(null);
+        assertEquals(FAIL_LIMIT, solver.getFailLimit());
+        assertEquals(0, observer.getMaxRatio(), EPSILON);
+    }
+
+    /**
+     * Test that the assigned variables are tracked for a policy relying on their ratio,
+     * even when the runs cannot be extended, and that those assigned before are counted.
+     *
+     * @throws ContradictionException if the variables cannot be assigned
+     */
+    @Test
+    void testTrackedForPolicy() throws ContradictionException {
+        newSolver();
+        x[0].instantiateTo(0, Cause.Null);
+        configure(2, new BanditFailBudgetPolicy());
+        for (int i = 1; i < 4; i++) {
+            x[i].instantiateTo(0, Cause.Null);
+        }
+        observer.onContradiction(null);
+        assertEquals(FAIL_LIMIT, solver.getFailLimit());
+        assertEquals(0.4, observer.getMaxRatio(), EPSILON);
+    }
+
+    /**
+     * Creates a new model, together with its solver and observer.
+     */
+    private void newSolver() {
+        model = new Model();
+        x = model.intVarArray("x", N_VARIABLES, 0, 5);
+        solver = new ApproximationSolverDecorator(model);
+        extensions = new ArrayList<>();
+        observer = solver.getRestartObserver();
+        solver.setFailLimit(FAIL_LIMIT);
+    }
+
+    /**
+     * Configures the observer for the next run.
+     *
+     * @param ratio the ratio of assigned variables above which the run is extended
+     * @param policy the policy computing the fail budgets of the runs
+     */
+    private void configure(double ratio, IFailBudgetPolicy policy) {
+        observer.configure(newListener(),
+                new SolverConfiguration(FAIL_LIMIT, FACTOR, Long.MAX_VALUE, ratio), policy);
+    }
+
+    /**
+     * Assigns the first variables of the model.
+     *
+     * @param n the number of variables to assign
+     *
+     * @throws ContradictionException if the variables cannot be assigned
+     */
+    private void assign(int n) throws ContradictionException {
+        for (int i = 0; i < n; i++) {
+            x[i].instantiateTo(0, Cause.Null);
+        }
+    }
+
+    /**
+     * Creates the listener recording the extensions of the fail limit.
+     *
+     * @return the listener
+     */
+    private ISolverListener newListener() {
+        return new ConsoleSolverListener() {
+
+            @Override
+            public void onExtendFailLimit(double ratio, long failLimit) {
+                extensions.add(ratio);
+            }
+
+        };
+    }
+
+}
@@ -0,0 +1,141 @@
+
+package fr.univartois.cril.approximation.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class ScoreProfileTest checks that the scores written to a profile are read back
+ * normalized.
+ */
+class ScoreProfileTest {
+
+    /** The tolerance when comparing scores. */
+    private static final double EPSILON = 1e-12;
+
+    /** The file storing the profile. */
+    private Path file;
+
+    /**
+     * Creates the file storing the profile.
+     *
+     * @throws IOException if the file cannot be created
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("profile", ".bin");
+    }
+
+    /**
+     * Deletes the file storing the profile.
+     *
+     * @throws IOException if the file cannot be deleted
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Test that the scores are read back unchanged, including scores that do not fit in
+     * single precision.
+     *
+     * @throws IOException if the profile cannot be written or read
+     */
+    @Test
+    void testRoundTrip() throws IOException {
+        double[] scores = { 0, 1e300, 2.5e299, 3, 1e-5 };
+        var profile = new ScoreProfile(scores.length, 2);
+        double[] groupScores = new double[2];
+        for (int i = 0; i < scores.length; i++) {
+            profile.setConstraintScore(i, scores[i]);
+            profile.addGroupScore(i % 2, scores[i]);
+            groupScores[i % 2] += scores[i];
+        }
+        profile.write(file);
+
+        var read = ScoreProfile.read(file, ScoreProfile.indexKeys(scores.length + 1),
+                ScoreProfile.indexKeys(3));
+        for (int i = 0; i < scores.length; i++) {
+            assertEquals(scores[i], read.getConstraintScore(i));
+        }
+        assertEquals(groupScores[0], read.getGroupScore(0));
+        assertEquals(groupScores[1], read.getGroupScore(1));
+        assertEquals(0, read.getConstraintScore(scores.length));
+        assertEquals(0, read.getGroupScore(2));
+    }
+
+    /**
+     * Test that the scores that have overflowed are read back as the greatest finite
+     * ones.
+     *
+     * @throws IOException if the profile cannot be written or read
+     */
+    @Test
+    void testInfiniteScores() throws IOException {
+        var profile = new ScoreProfile(3, 1);
+        profile.setConstraintScore(0, Double.POSITIVE_INFINITY);
+        profile.setConstraintScore(1, 4);
+        profile.setConstraintScore(2, 2);
+        profile.write(file);
+
+        var read = ScoreProfile.read(file, ScoreProfile.indexKeys(3), ScoreProfile.indexKeys(1));
+        assertEquals(4, read.getConstraintScore(0), EPSILON);
+        assertEquals(4, read.getConstraintScore(1), EPSILON);
+        assertEquals(2, read.getConstraintScore(2), EPSILON);
+        assertEquals(0, read.getGroupScore(0), EPSILON);
+    }
+
+    /**
+     * Test that a profile in which all the scores are null is read back unchanged.
+     *
+     * @throws IOException if the profile cannot be written or read
+     */
+    @Test
+    void testNullScores() throws IOException {
+        new ScoreProfile(4, 2).write(file);
+
+        var read = ScoreProfile.read(file, ScoreProfile.indexKeys(4), ScoreProfile.indexKeys(2));
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, read.getConstraintScore(i), EPSILON);
+        }
+        assertEquals(0, read.getGroupScore(1), EPSILON);
+    }
+
+    /**
+     * Test that the scores are given back to the constraints and groups having the same
+     * keys, whatever their indexes, and that the numbers of recorded constraints and
+     * groups are read back.
+     *
+     * @throws IOException if the profile cannot be written or read
+     */
+    @Test
+    void testKeys() throws IOException {
+        var profile = new ScoreProfile(new String[] { "c1", "c2", "c3" },
+                new String[] { "g1", "c3" });
+        profile.setConstraintScore(0, 1);
+        profile.setConstraintScore(1, 2);
+        profile.setConstraintScore(2, 4);
+        profile.addGroupScore(0, 3);
+        profile.addGroupScore(1, 4);
+        profile.write(file);
+
+        var read = ScoreProfile.read(file, new String[] { "c3", "c4", "c1" },
+                new String[] { "c3", "g2" });
+        assertEquals(4, read.getConstraintScore(0), EPSILON);
+        assertEquals(0, read.getConstraintScore(1), EPSILON);
+        assertEquals(1, read.getConstraintScore(2), EPSILON);
+        assertEquals(4, read.getGroupScore(0), EPSILON);
+        assertEquals(0, read.getGroupScore(1), EPSILON);
+        assertEquals(3, read.getRecordedConstraints());
+        assertEquals(2, read.getRecordedGroups());
+    }
+
+}
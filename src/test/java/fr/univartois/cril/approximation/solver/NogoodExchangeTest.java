@@ -0,0 +1,271 @@
+
+package fr.univartois.cril.approximation.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperator;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperatorFactory;
+import org.chocosolver.solver.search.strategy.decision.DecisionPath;
+import org.chocosolver.solver.search.strategy.decision.IntDecision;
+import org.chocosolver.solver.variables.IntVar;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class NogoodExchangeTest checks that the nogoods published by a worker are
+ * imported by another worker with the same meaning.
+ */
+class NogoodExchangeTest {
+
+    /** The size of the domains of the variables. */
+    private static final int DOMAIN_SIZE = 4;
+
+    /** The value of the decisions on {@code x}. */
+    private static final int VALUE = 1;
+
+    /** The value of the decisions on {@code y}. */
+    private static final int OTHER = 2;
+
+    /**
+     * Tests that a refuted decision on {@code x} preceded by a positive decision on
+     * {@code y} forbids both decisions to hold together.
+     */
+    @Test
+    void testRefutedDecision() {
+        for (var operator : Operator.values()) {
+            var exchange = new NogoodExchange(2, 16, 4);
+            var publisher = new Peer(exchange, 0);
+            publisher.push(publisher.y, DecisionOperatorFactory.makeIntEq(), OTHER, 1, true);
+            publisher.push(publisher.x, operator.get(), VALUE, 2, true);
+            publisher.publish();
+
+            var importer = new Peer(exchange, 1);
+            assertEquals(expected(x -> !operator.test(x), y -> y != OTHER),
+                    importer.solutions(), operator.name());
+        }
+    }
+
+    /**
+     * Tests that a positive decision on {@code x} preceding a refuted decision on
+     * {@code y} is not negated, including when it cannot be refuted.
+     */
+    @Test
+    void testPositiveDecision() {
+        for (var operator : Operator.values()) {
+            for (boolean refutable : new boolean[] { true, false }) {
+                var exchange = new NogoodExchange(2, 16, 4);
+                var publisher = new Peer(exchange, 0);
+                publisher.push(publisher.x, operator.get(), VALUE, 1, refutable);
+                publisher.push(publisher.y, DecisionOperatorFactory.makeIntEq(), OTHER, 2,
+                        true);
+                publisher.publish();
+
+                var importer = new Peer(exchange, 1);
+                assertEquals(expected(x -> !operator.test(x), y -> y != OTHER),
+                        importer.solutions(), operator.name() + " " + refutable);
+            }
+        }
+    }
+
+    /**
+     * Tests that a decision path without refuted decisions does not produce any nogood.
+     */
+    @Test
+    void testNoRefutation() {
+        var exchange = new NogoodExchange(2, 16, 4);
+        var publisher = new Peer(exchange, 0);
+        publisher.push(publisher.x, DecisionOperatorFactory.makeIntEq(), VALUE, 1, true);
+        publisher.push(publisher.y, DecisionOperatorFactory.makeIntEq(), OTHER, 1, false);
+        publisher.publish();
+
+        var importer = new Peer(exchange, 1);
+        assertEquals(expected(x -> true, y -> true), importer.solutions());
+    }
+
+    /**
+     * Computes the solutions of {@code x} and {@code y} that satisfy at least one of the
+     * given conditions.
+     *
+     * @param onX The condition on {@code x}.
+     * @param onY The condition on {@code y}.
+     *
+     * @return The solutions, encoded as {@code x * DOMAIN_SIZE + y}.
+     */
+    private static Set<Integer> expected(IntPredicate onX, IntPredicate onY) {
+        Set<Integer> solutions = new HashSet<>();
+        for (int x = 0; x < DOMAIN_SIZE; x++) {
+            for (int y = 0; y < DOMAIN_SIZE; y++) {
+                if (onX.test(x) || onY.test(y)) {
+                    solutions.add(x * DOMAIN_SIZE + y);
+                }
+            }
+        }
+        return solutions;
+    }
+
+    /**
+     * The Enum Operator lists the decision operators that can be shared, with the
+     * condition they express on {@code x}.
+     */
+    private enum Operator {
+
+        /** The assignment operator. */
+        EQ {
+            @Override
+            DecisionOperator<IntVar> get() {
+                return DecisionOperatorFactory.makeIntEq();
+            }
+
+            @Override
+            boolean test(int x) {
+                return x == VALUE;
+            }
+        },
+
+        /** The removal operator. */
+        NEQ {
+            @Override
+            DecisionOperator<IntVar> get() {
+                return DecisionOperatorFactory.makeIntNeq();
+            }
+
+            @Override
+            boolean test(int x) {
+                return x != VALUE;
+            }
+        },
+
+        /** The operator updating the upper bound. */
+        LE {
+            @Override
+            DecisionOperator<IntVar> get() {
+                return DecisionOperatorFactory.makeIntSplit();
+            }
+
+            @Override
+            boolean test(int x) {
+                return x <= VALUE;
+            }
+        },
+
+        /** The operator updating the lower bound. */
+        GE {
+            @Override
+            DecisionOperator<IntVar> get() {
+                return DecisionOperatorFactory.makeIntReverseSplit();
+            }
+
+            @Override
+            boolean test(int x) {
+                return x >= VALUE;
+            }
+        };
+
+        /**
+         * Gives the decision operator.
+         *
+         * @return The decision operator.
+         */
+        abstract DecisionOperator<IntVar> get();
+
+        /**
+         * Checks whether a value of {@code x} satisfies the decision.
+         *
+         * @param x The value of {@code x}.
+         *
+         * @return Whether the decision holds.
+         */
+        abstract boolean test(int x);
+
+    }
+
+    /**
+     * The Class Peer is a tiny model connected to a nogood exchange.
+     * The variable {@code y} is created before {@code x} in this model, so that the
+     * identifiers of the variables are not the same as in the other models.
+     */
+    private static final class Peer {
+
+        /** The model of the worker. */
+        private final Model model;
+
+        /** The first variable. */
+        private final IntVar x;
+
+        /** The second variable. */
+        private final IntVar y;
+
+        /** The monitor connecting the worker to the exchange. */
+        private final NogoodExchange.Worker monitor;
+
+        /**
+         * Creates a new Peer.
+         *
+         * @param exchange The exchange to connect the worker to.
+         * @param index The index of the worker.
+         */
+        Peer(NogoodExchange exchange, int index) {
+            this.model = new Model("worker-" + index);
+            if (index == 0) {
+                this.x = model.intVar("x", 0, DOMAIN_SIZE - 1);
+                this.y = model.intVar("y", 0, DOMAIN_SIZE - 1);
+            } else {
+                this.y = model.intVar("y", 0, DOMAIN_SIZE - 1);
+                this.x = model.intVar("x", 0, DOMAIN_SIZE - 1);
+            }
+            this.monitor = exchange.newWorker(index, new MyISolverAdapter(model.getSolver()),
+                    Map.of("x", x, "y", y));
+        }
+
+        /**
+         * Pushes a decision on the decision path of the worker.
+         *
+         * @param variable The variable of the decision.
+         * @param operator The operator of the decision.
+         * @param value The value of the decision.
+         * @param branch The branch of the decision that has been taken (1 for the positive
+         *        one, 2 for the refutation).
+         * @param refutable Whether the decision can be refuted.
+         */
+        void push(IntVar variable, DecisionOperator<IntVar> operator, int value, int branch,
+                boolean refutable) {
+            DecisionPath path = model.getSolver().getDecisionPath();
+            IntDecision decision = path.makeIntDecision(variable, operator, value);
+            decision.setRefutable(refutable);
+            for (int i = 0; i < branch; i++) {
+                decision.buildNext();
+            }
+            path.pushDecision(decision);
+        }
+
+        /**
+         * Publishes the nogoods of the decision path of the worker.
+         */
+        void publish() {
+            monitor.publish(model.getSolver().getDecisionPath());
+        }
+
+        /**
+         * Imports the nogoods of the other workers, and computes all the solutions of the
+         * model of the worker.
+         *
+         * @return The solutions, encoded as {@code x * DOMAIN_SIZE + y}.
+         */
+        Set<Integer> solutions() {
+            monitor.importNogoods();
+            Set<Integer> solutions = new HashSet<>();
+            for (Solution solution : model.getSolver().findAllSolutions()) {
+                solutions.add(solution.getIntVal(x) * DOMAIN_SIZE + solution.getIntVal(y));
+            }
+            return solutions;
+        }
+
+    }
+
+}
@@ -0,0 +1,72 @@
+
+package fr.univartois.cril.approximation.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.search.SearchState;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.variables.IntVar;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class PortfolioTest checks that the solvers of a portfolio that do not make
+ * progress are replaced.
+ */
+class PortfolioTest {
+
+    /** The timeout of the portfolio (in milliseconds). */
+    private static final long TIMEOUT = 60_000;
+
+    /** The stall timeout of the portfolio (in milliseconds). */
+    private static final long STALL_TIMEOUT = 200;
+
+    /**
+     * Tests that a stalled solver is stopped and replaced with a configuration from the
+     * pool, which then completes the solving process.
+     */
+    @Test
+    void testStallReplacement() {
+        AtomicReference<MyISolver> stalled = new AtomicReference<>();
+        var portfolio = new Portfolio(TIMEOUT);
+        portfolio.setMaxWorkers(1);
+        portfolio.setStallTimeout(STALL_TIMEOUT);
+        portfolio.addSolver((slot, seed) -> {
+            // Proving this instance unsatisfiable takes far longer than the timeout.
+            var solver = new MyISolverAdapter(pigeons(15).getSolver());
+            stalled.set(solver);
+            return solver;
+        });
+        portfolio.addSolver((slot, seed) -> new MyISolverAdapter(pigeons(4).getSolver()));
+
+        assertEquals(UniverseSolverResult.UNSATISFIABLE, portfolio.solve());
+        assertNotNull(stalled.get(), "The first solver should have been started");
+        assertEquals(SearchState.STOPPED, stalled.get().ref().getSearchState());
+    }
+
+    /**
+     * Creates a model placing pigeons into holes, with one hole less than the number of
+     * pigeons.
+     * The model only uses binary difference constraints, so that its search is
+     * exponential in the number of pigeons.
+     *
+     * @param n The number of pigeons.
+     *
+     * @return The created model.
+     */
+    private static Model pigeons(int n) {
+        var model = new Model("pigeons-" + n);
+        IntVar[] holes = model.intVarArray("p", n, 0, n - 2);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                model.arithm(holes[i], "!=", holes[j]).post();
+            }
+        }
+        model.getSolver().setSearch(Search.inputOrderLBSearch(holes));
+        return model;
+    }
+
+}
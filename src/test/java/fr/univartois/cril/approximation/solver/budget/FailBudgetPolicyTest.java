@@ -0,0 +1,105 @@
+package fr.univartois.cril.approximation.solver.budget;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import fr.univartois.cril.approximation.solver.SolverConfiguration;
+import fr.univartois.cril.approximation.solver.UniverseSolverResult;
+
+/**
+ * The Class FailBudgetPolicyTest checks the number of failures given to the runs by the
+ * {@link LubyFailBudgetPolicy} and the {@link BanditFailBudgetPolicy}.
+ */
+class FailBudgetPolicyTest {
+
+    /** The number of failures of the configurations. */
+    private static final int NB_FAILED = 100;
+
+    /** The factor of the configurations. */
+    private static final double FACTOR = 1.5;
+
+    /**
+     * Test that the first elements of the Luby sequence are computed.
+     */
+    @Test
+    void testLubySequence() {
+        long[] expected = { 1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8, 1 };
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], LubyFailBudgetPolicy.luby(i + 1),
+                    "Element " + (i + 1));
+        }
+    }
+
+    /**
+     * Test that the budgets of the Luby policy follow the Luby sequence from the number
+     * of failures initially allowed, separately for each kind of runs.
+     */
+    @Test
+    void testLubyBudgets() {
+        var policy = new LubyFailBudgetPolicy();
+        var normal = configuration();
+        var approx = new SolverConfiguration(10, FACTOR, Long.MAX_VALUE, 1);
+        assertEquals(NB_FAILED, policy.nextFailBudget(false, normal));
+        assertEquals(2 * NB_FAILED, policy.nextFailBudget(false, normal));
+        assertEquals(10, policy.nextFailBudget(true, approx));
+        assertEquals(NB_FAILED, policy.nextFailBudget(false, normal));
+        assertEquals(20, policy.nextFailBudget(true, approx));
+
+        // The budget is computed from the initial number of failures only.
+        assertEquals(NB_FAILED, policy.nextFailBudget(false, normal.update(1000)));
+        assertEquals(2 * NB_FAILED, policy.nextFailBudget(false, normal.update(1000)));
+        assertEquals(4 * NB_FAILED, policy.nextFailBudget(false, normal.update(1000)));
+    }
+
+    /**
+     * Test that the Bandit policy gives the geometric budget when both kinds of runs
+     * progress equally, i.e., when their share of the rewards is 0.5.
+     */
+    @Test
+    void testBanditEqualShares() {
+        var bandit = new BanditFailBudgetPolicy();
+        var geometric = new GeometricFailBudgetPolicy();
+        var config = configuration();
+        assertEquals(geometric.nextFailBudget(false, config),
+                bandit.nextFailBudget(false, config));
+        assertEquals(geometric.nextFailBudget(true, config),
+                bandit.nextFailBudget(true, config));
+
+        bandit.onRunEnd(false, UniverseSolverResult.SATISFIABLE, 0.5);
+        bandit.onRunEnd(true, UniverseSolverResult.SATISFIABLE, 0.5);
+        assertEquals(geometric.nextFailBudget(false, config),
+                bandit.nextFailBudget(false, config));
+        assertEquals(geometric.nextFailBudget(true, config),
+                bandit.nextFailBudget(true, config));
+    }
+
+    /**
+     * Test that the Bandit policy moves failures from the kind of runs that does not
+     * progress to the one that does.
+     */
+    @Test
+    void testBanditProgress() {
+        var bandit = new BanditFailBudgetPolicy();
+        var config = configuration();
+        int geometric = new GeometricFailBudgetPolicy().nextFailBudget(false, config);
+        for (int i = 0; i < 5; i++) {
+            bandit.onRunEnd(false, UniverseSolverResult.UNKNOWN, 0.1);
+            bandit.onRunEnd(true, UniverseSolverResult.UNKNOWN, 0.1 * (i + 2));
+        }
+        assertTrue(bandit.nextFailBudget(false, config) < geometric);
+        assertTrue(bandit.nextFailBudget(true, config) > geometric);
+        assertTrue(bandit.nextFailBudget(false, config) >= 1);
+    }
+
+    /**
+     * Creates the configuration of the runs.
+     *
+     * @return the configuration
+     */
+    private static SolverConfiguration configuration() {
+        return new SolverConfiguration(NB_FAILED, FACTOR, Long.MAX_VALUE, 1);
+    }
+
+}
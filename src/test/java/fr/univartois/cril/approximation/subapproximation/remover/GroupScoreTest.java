@@ -0,0 +1,183 @@
+package fr.univartois.cril.approximation.subapproximation.remover;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.List;
+import java.util.Random;
+
+import org.chocosolver.solver.constraints.Constraint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import fr.univartois.cril.approximation.subapproximation.remover.RemoverFixture.SettableMeasure;
+
+/**
+ * The Class GroupScoreTest checks that the running sums of the scores maintained by the
+ * {@link GroupConstraintRemover} remain equal to the sums recomputed from the scores of
+ * the constraints of each group.
+ */
+class GroupScoreTest {
+
+    /** The number of constraints. */
+    private static final int N_CONSTRAINTS = 30;
+
+    /** The number of groups. */
+    private static final int N_GROUPS = 4;
+
+    /** The tolerance when comparing sums. */
+    private static final double EPSILON = 1e-9;
+
+    /** The model on which the remover is tested. */
+    private RemoverFixture fixture;
+
+    /** The constraints of the model. */
+    private List<Constraint> constraints;
+
+    /** The measure giving the scores of the constraints. */
+    private SettableMeasure measure;
+
+    /** The tested remover. */
+    private GroupConstraintRemover remover;
+
+    /** The random source giving the scores. */
+    private Random random;
+
+    /**
+     * Sets the up.
+     */
+    @BeforeEach
+    void setUp() {
+        fixture = new RemoverFixture(N_CONSTRAINTS, N_GROUPS);
+        constraints = fixture.getConstraints();
+        random = new Random(3);
+        measure = fixture.getMeasure();
+        for (Constraint c : constraints) {
+            measure.setScore(c, random.nextDouble());
+        }
+        remover = new GroupConstraintRemover(fixture.getSolver());
+        remover.setConstraintMeasure(measure);
+    }
+
+    /**
+     * Test that the sums follow the changes of the scores of the constraints.
+     */
+    @Test
+    void testIncrementalSums() {
+        checkSums();
+        for (int i = 0; i < 500; i++) {
+            var c = changeScore();
+            switch (i % 3) {
+                case 0 -> remover.whenEffectiveFilteringChange(c, 0, 1);
+                case 1 -> remover.whenWDEGWeightChange(c, 0, 1);
+                default -> remover.whenBacktrackingChange(c, 0, 1);
+            }
+            checkSums();
+        }
+    }
+
+    /**
+     * Test that the sums follow the changes of the scores with lazy updates, once the heap
+     * has been repaired.
+     */
+    @Test
+    void testLazySums() {
+        remover.setLazyUpdate(true);
+        for (int i = 0; i < 200; i++) {
+            remover.whenEffectiveFilteringChange(changeScore(), 0, 1);
+        }
+        remover.repairHeap();
+        checkSums();
+    }
+
+    /**
+     * Test that the sums follow a rescaling of all the scores.
+     */
+    @Test
+    void testRescaledSums() {
+        measure.rescale(1e-3);
+        checkSums();
+
+        remover.whenEffectiveFilteringChange(changeScore(), 0, 1);
+        checkSums();
+    }
+
+    /**
+     * Test that the sums follow a change of all the scores that does not preserve their
+     * order, with immediate and lazy updates.
+     */
+    @Test
+    void testRescoredSums() {
+        for (Constraint c : constraints) {
+            measure.setScore(c, random.nextDouble());
+        }
+        measure.rescore();
+        checkSums();
+
+        remover.setLazyUpdate(true);
+        for (Constraint c : constraints) {
+            measure.setScore(c, random.nextDouble());
+        }
+        measure.rescore();
+        remover.whenEffectiveFilteringChange(changeScore(), 0, 1);
+        remover.repairHeap();
+        checkSums();
+    }
+
+    /**
+     * Test that a constraint posted after the groups have been numbered, such as the
+     * nogood store, belongs to no group and is ignored by the remover, even when the
+     * groups are computed afterwards.
+     */
+    @Test
+    void testUngroupedConstraint() {
+        var other = new RemoverFixture(N_CONSTRAINTS, N_GROUPS);
+        var c = other.postUngrouped();
+        assertEquals(-1, other.getSolver().getGroupId(c));
+        assertEquals(N_GROUPS, other.getGroups().size());
+        int nGrouped = 0;
+        for (var g : other.getGroups()) {
+            assertFalse(g.getConstraints().contains(c));
+            nGrouped += g.getConstraints().size();
+        }
+        assertEquals(N_CONSTRAINTS, nGrouped);
+
+        remover.whenEffectiveFilteringChange(fixture.postUngrouped(), 0, 1);
+        checkSums();
+    }
+
+    /**
+     * Changes the score of a random constraint.
+     *
+     * @return the constraint whose score has changed
+     */
+    private Constraint changeScore() {
+        var c = constraints.get(random.nextInt(N_CONSTRAINTS));
+        measure.setScore(c, random.nextDouble());
+        return c;
+    }
+
+    /**
+     * Checks that the running sum and the key of each group are equal to the sum of the
+     * scores of its constraints, and that the best group is on top of the heap.
+     */
+    private void checkSums() {
+        int best = -1;
+        double bestSum = Double.NEGATIVE_INFINITY;
+        for (var g : fixture.getGroups()) {
+            double sum = 0;
+            for (var c : g.getConstraints()) {
+                sum += measure.computeScore(c);
+            }
+            assertEquals(sum, g.getTotalScore(), EPSILON, "Sum of group " + g.getGroupNumber());
+            assertEquals(sum, remover.heapConstraint.getKey(g.getGroupNumber()), EPSILON,
+                    "Key of group " + g.getGroupNumber());
+            if (sum > bestSum) {
+                best = g.getGroupNumber();
+                bestSum = sum;
+            }
+        }
+        assertEquals(best, remover.heapConstraint.peek());
+    }
+
+}
@@ -0,0 +1,174 @@
+package fr.univartois.cril.approximation.subapproximation.remover;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import org.chocosolver.solver.constraints.Constraint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import fr.univartois.cril.approximation.util.collections.heaps.IntDoubleIndexedHeap;
+
+/**
+ * The Class LazyUpdateTest checks that {@link AbstractConstraintRemover#repairHeap()}
+ * restores the order of the heap after lazy updates, both when the dirty elements are
+ * moved one by one and when the whole heap is rebuilt.
+ */
+class LazyUpdateTest {
+
+    /** The number of elements in the heap (whose depth is thus 7). */
+    private static final int SIZE = 64;
+
+    /**
+     * The ScoredRemover is a remover whose elements are ordered by scores set by the test.
+     */
+    private static final class ScoredRemover extends AbstractConstraintRemover<Integer> {
+
+        /** The score of each element. */
+        private final double[] scores = new double[SIZE];
+
+        /**
+         * Instantiates a new scored remover.
+         */
+        ScoredRemover() {
+            super(null);
+            heapConstraint = new IntDoubleIndexedHeap(SIZE);
+        }
+
+        @Override
+        protected Integer get(int index) {
+            return index;
+        }
+
+        @Override
+        protected double computeScore(int index) {
+            return scores[index];
+        }
+
+        @Override
+        public List<Constraint> computeNextConstraintsToRemove() {
+            return List.of();
+        }
+
+        @Override
+        public void restoreConstraints(Collection<Constraint> constraints) {
+            // Nothing to restore.
+        }
+
+        @Override
+        public void whenEffectiveFilteringChange(Constraint c, int oldValue, int newValue) {
+            // The scores are set by the test.
+        }
+
+        @Override
+        public void whenWDEGWeightChange(Constraint c, double oldValue, double newValue) {
+            // The scores are set by the test.
+        }
+
+        @Override
+        public void whenBacktrackingChange(Constraint c, int oldValue, int newValue) {
+            // The scores are set by the test.
+        }
+
+    }
+
+    /** The tested remover. */
+    private ScoredRemover remover;
+
+    /** The random source giving the scores. */
+    private Random random;
+
+    /**
+     * Sets the up.
+     */
+    @BeforeEach
+    void setUp() {
+        random = new Random(7);
+        remover = new ScoredRemover();
+        for (int i = 0; i < SIZE; i++) {
+            remover.scores[i] = random.nextDouble();
+            remover.heapConstraint.add(i, remover.scores[i]);
+        }
+        remover.setLazyUpdate(true);
+    }
+
+    /**
+     * Test that a few dirty elements (3 * 7 <= 64) are moved to their new positions.
+     */
+    @Test
+    void testRepairFewElements() {
+        changeScores(3);
+        remover.repairHeap();
+        checkOrder();
+    }
+
+    /**
+     * Test that many dirty elements (40 * 7 > 64) are taken into account by rebuilding
+     * the heap.
+     */
+    @Test
+    void testRepairManyElements() {
+        changeScores(40);
+        remover.repairHeap();
+        checkOrder();
+    }
+
+    /**
+     * Test that the keys of the heap are not changed until the heap is repaired.
+     */
+    @Test
+    void testDeferredUpdate() {
+        double old = remover.scores[5];
+        remover.scores[5] = old + 10;
+        remover.updateScore(5);
+        assertEquals(old, remover.heapConstraint.getKey(5));
+
+        remover.repairHeap();
+        assertEquals(old + 10, remover.heapConstraint.getKey(5));
+        assertEquals(5, remover.heapConstraint.peek());
+    }
+
+    /**
+     * Test that the heap is immediately updated when lazy updates are disabled.
+     */
+    @Test
+    void testImmediateUpdate() {
+        remover.setLazyUpdate(false);
+        remover.scores[9] = 10;
+        remover.updateScore(9);
+        assertEquals(9, remover.heapConstraint.peek());
+    }
+
+    /**
+     * Changes the scores of distinct elements, and marks them as dirty.
+     *
+     * @param count the number of elements to change the score of
+     */
+    private void changeScores(int count) {
+        for (int i = 0; i < count; i++) {
+            int index = (i * 37) % SIZE;
+            remover.scores[index] = 2 * random.nextDouble();
+            remover.updateScore(index);
+        }
+    }
+
+    /**
+     * Checks that the heap gives all the elements by decreasing scores.
+     */
+    private void checkOrder() {
+        var heap = remover.heapConstraint;
+        assertEquals(SIZE, heap.size());
+        double previous = Double.POSITIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            int element = heap.poll();
+            assertEquals(remover.scores[element], heap.getKey(element));
+            assertTrue(remover.scores[element] <= previous, "Not ordered by score");
+            previous = remover.scores[element];
+        }
+    }
+
+}
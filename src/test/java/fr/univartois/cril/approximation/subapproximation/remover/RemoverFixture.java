@@ -0,0 +1,200 @@
+package fr.univartois.cril.approximation.subapproximation.remover;
+
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.variables.IntVar;
+
+import fr.univartois.cril.approximation.core.GroupConstraint;
+import fr.univartois.cril.approximation.core.IConstraintMeasure;
+import fr.univartois.cril.approximation.solver.ApproximationSolverDecorator;
+
+/**
+ * The Class RemoverFixture builds the model on which the removers are tested, i.e., a
+ * chain of ignorable constraints whose groups are numbered in a round-robin fashion,
+ * solved by an {@link ApproximationSolverDecorator} that gives the constraints and the
+ * groups to the removers.
+ */
+final class RemoverFixture {
+
+    /**
+     * The SettableMeasure gives the scores set by the tests.
+     */
+    static final class SettableMeasure implements IConstraintMeasure {
+
+        /** The score of each constraint. */
+        private final double[] values;
+
+        /** The listener notified when the scores are rescaled. */
+        private DoubleConsumer rescaleListener;
+
+        /** The listener notified when all the scores must be recomputed. */
+        private Runnable rescoreListener;
+
+        /**
+         * Instantiates a new settable measure.
+         *
+         * @param nConstraints the number of constraints to give a score to
+         */
+        SettableMeasure(int nConstraints) {
+            this.values = new double[nConstraints];
+        }
+
+        /**
+         * Sets the score of a constraint.
+         *
+         * @param c the constraint
+         * @param score the score of the constraint
+         */
+        void setScore(Constraint c, double score) {
+            values[c.getCidxInModel()] = score;
+        }
+
+        /**
+         * Multiplies the scores of all the constraints by the same factor, and notifies the
+         * listener.
+         *
+         * @param factor the factor to apply to the scores
+         */
+        void rescale(double factor) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] *= factor;
+            }
+            rescaleListener.accept(factor);
+        }
+
+        /**
+         * Notifies the listener that all the scores must be recomputed.
+         */
+        void rescore() {
+            rescoreListener.run();
+        }
+
+        @Override
+        public double computeScore(Constraint c) {
+            int index = c.getCidxInModel();
+            return (index < values.length) ? values[index] : 0;
+        }
+
+        @Override
+        public void setRescaleListener(DoubleConsumer listener) {
+            this.rescaleListener = listener;
+        }
+
+        @Override
+        public void setRescoreListener(Runnable listener) {
+            this.rescoreListener = listener;
+        }
+
+        @Override
+        public boolean updateMeasureNEffectiveFiltering(Constraint c, double oldValue,
+                double newValue) {
+            return true;
+        }
+
+        @Override
+        public boolean updateMeasureWDEGWeight(Constraint c, double oldValue, double newValue) {
+            return true;
+        }
+
+        @Override
+        public boolean updateMeasureNEffectiveBacktracking(Constraint c, double oldValue,
+                double newValue) {
+            return true;
+        }
+
+    }
+
+    /** The variables of the model. */
+    private final IntVar[] variables;
+
+    /** The solver of the model. */
+    private final ApproximationSolverDecorator solver;
+
+    /** The measure giving the scores of the constraints. */
+    private final SettableMeasure measure;
+
+    /**
+     * Builds a model with the given numbers of constraints and groups.
+     * The {@code i}-th constraint belongs to the group {@code i % nGroups}.
+     *
+     * @param nConstraints the number of constraints
+     * @param nGroups the number of groups
+     */
+    RemoverFixture(int nConstraints, int nGroups) {
+        var model = new Model();
+        variables = model.intVarArray("x", nConstraints + 1, 0, 10);
+        var groupIds = new int[nConstraints];
+        for (int i = 0; i < nConstraints; i++) {
+            var c = model.arithm(variables[i], "<=", variables[i + 1]);
+            c.post();
+            c.setIgnorable(true);
+            groupIds[i] = i % nGroups;
+        }
+        solver = new ApproximationSolverDecorator(model);
+        solver.setGroupIds(groupIds);
+        measure = new SettableMeasure(nConstraints);
+    }
+
+    /**
+     * Posts a constraint after the groups have been numbered, as the nogood store is.
+     *
+     * @return the posted constraint
+     */
+    Constraint postUngrouped() {
+        var last = variables[variables.length - 1];
+        var c = solver.getModel().arithm(variables[0], "<=", last);
+        c.post();
+        return c;
+    }
+
+    /**
+     * Gives the solver of the model.
+     *
+     * @return the solver
+     */
+    ApproximationSolverDecorator getSolver() {
+        return solver;
+    }
+
+    /**
+     * Gives the measure giving the scores of the constraints.
+     *
+     * @return the measure
+     */
+    SettableMeasure getMeasure() {
+        return measure;
+    }
+
+    /**
+     * Gives the constraints of the model.
+     *
+     * @return the constraints
+     */
+    List<Constraint> getConstraints() {
+        return solver.getConstraints();
+    }
+
+    /**
+     * Gives the constraints of a group.
+     *
+     * @param g the identifier of the group
+     *
+     * @return the constraints of the group
+     */
+    List<Constraint> getConstraints(int g) {
+        return solver.getGroup(g).getConstraints();
+    }
+
+    /**
+     * Gives the groups of constraints.
+     *
+     * @return the groups
+     */
+    List<GroupConstraint> getGroups() {
+        return solver.getGroups();
+    }
+
+}
@@ -0,0 +1,105 @@
+package fr.univartois.cril.approximation.subapproximation.remover;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.chocosolver.solver.constraints.Constraint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import fr.univartois.cril.approximation.core.ScoreProfile;
+import fr.univartois.cril.approximation.subapproximation.measure.DecayedNEffectiveFilteringConstraintMeasure;
+
+/**
+ * The Class SeededRemoverTest checks that the scores recorded in a profile at the end of
+ * a run weigh as much as the scores of the next run in which they are seeded, until the
+ * events of this run take over.
+ */
+class SeededRemoverTest {
+
+    /** The number of constraints. */
+    private static final int N_CONSTRAINTS = 6;
+
+    /** The number of groups. */
+    private static final int N_GROUPS = 2;
+
+    /** The index of the constraint involved in the events of the recorded run. */
+    private static final int RECORDED = 3;
+
+    /** The index of the constraint involved in the events of the seeded run. */
+    private static final int SEEDED = 0;
+
+    /** The model of the seeded run. */
+    private RemoverFixture fixture;
+
+    /** The remover of the seeded run. */
+    private SingleConstraintRemover remover;
+
+    /**
+     * Sets the up.
+     * The constraint {@link #RECORDED} is involved in 100 events of a previous run, whose
+     * profile seeds the remover of a new run.
+     */
+    @BeforeEach
+    void setUp() {
+        var previous = new RemoverFixture(N_CONSTRAINTS, N_GROUPS);
+        var previousRemover = newRemover(previous);
+        filter(previousRemover, previous.getConstraints().get(RECORDED), 100);
+        var profile = new ScoreProfile(N_CONSTRAINTS, N_GROUPS);
+        previousRemover.recordProfile(profile);
+
+        fixture = new RemoverFixture(N_CONSTRAINTS, N_GROUPS);
+        remover = newRemover(fixture);
+        remover.seed(profile);
+    }
+
+    /**
+     * Test that a seeded constraint is removed before a constraint involved in fewer
+     * events of the new run.
+     */
+    @Test
+    void testSeededFirst() {
+        filter(remover, fixture.getConstraints().get(SEEDED), 10);
+        assertEquals(List.of(fixture.getConstraints().get(RECORDED)),
+                remover.computeNextConstraintsToRemove());
+    }
+
+    /**
+     * Test that a constraint involved in more events of the new run than the seeded
+     * constraint in the previous run is removed first.
+     */
+    @Test
+    void testNewEventsFirst() {
+        filter(remover, fixture.getConstraints().get(SEEDED), 200);
+        assertEquals(List.of(fixture.getConstraints().get(SEEDED)),
+                remover.computeNextConstraintsToRemove());
+    }
+
+    /**
+     * Creates a remover scoring the constraints by their decayed effective filterings.
+     *
+     * @param model the model of the remover
+     *
+     * @return the created remover
+     */
+    private static SingleConstraintRemover newRemover(RemoverFixture model) {
+        var result = new SingleConstraintRemover(model.getSolver());
+        result.setConstraintMeasure(new DecayedNEffectiveFilteringConstraintMeasure());
+        return result;
+    }
+
+    /**
+     * Notifies a remover that a constraint has been effective during filtering.
+     *
+     * @param remover the remover to notify
+     * @param c the effective constraint
+     * @param count the number of effective filterings
+     */
+    private static void filter(SingleConstraintRemover remover, Constraint c, int count) {
+        for (int i = 0; i < count; i++) {
+            remover.whenEffectiveFilteringChange(c, i, i + 1);
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+package fr.univartois.cril.approximation.subapproximation.remover;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+
+import org.chocosolver.solver.constraints.Constraint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class UcbGroupConstraintRemoverTest checks that the
+ * {@link UcbGroupConstraintRemover} learns from the outcomes of the relaxations, and
+ * tries the groups without any outcome first.
+ */
+class UcbGroupConstraintRemoverTest {
+
+    /** The number of constraints. */
+    private static final int N_CONSTRAINTS = 8;
+
+    /** The number of groups. */
+    private static final int N_GROUPS = 4;
+
+    /** The tolerance when comparing indices. */
+    private static final double EPSILON = 1e-9;
+
+    /** The model on which the remover is tested. */
+    private RemoverFixture fixture;
+
+    /** The tested remover. */
+    private UcbGroupConstraintRemover remover;
+
+    /**
+     * Sets the up.
+     * The constraints of the first groups have the best scores.
+     */
+    @BeforeEach
+    void setUp() {
+        fixture = new RemoverFixture(N_CONSTRAINTS, N_GROUPS);
+        var solver = fixture.getSolver();
+        var measure = fixture.getMeasure();
+        for (Constraint c : fixture.getConstraints()) {
+            measure.setScore(c, N_GROUPS - solver.getGroupId(c));
+        }
+        remover = new UcbGroupConstraintRemover(solver);
+        remover.setConstraintMeasure(measure);
+    }
+
+    /**
+     * Test that the group with the best score is removed when no outcome has been
+     * recorded.
+     */
+    @Test
+    void testBestScoreFirst() {
+        var removed = remover.computeNextConstraintsToRemove();
+        assertEquals(constraintsOf(0), new HashSet<>(removed));
+    }
+
+    /**
+     * Test that a group without any outcome is preferred to a group with a better score
+     * that has already been tried, and that the other candidates are put back.
+     */
+    @Test
+    void testUnplayedGroupsFirst() {
+        remover.recordOutcome(fixture.getConstraints(0), true, true, 10);
+        var removed = remover.computeNextConstraintsToRemove();
+        assertEquals(constraintsOf(1), new HashSet<>(removed));
+        assertTrue(remover.heapConstraint.contains(0));
+        assertFalse(remover.heapConstraint.contains(1));
+        assertTrue(remover.heapConstraint.contains(2));
+    }
+
+    /**
+     * Test that the indices combine the average reward of each group, discounted for the
+     * slow relaxations, with the UCB1 exploration term.
+     */
+    @Test
+    void testIndex() {
+        remover.recordOutcome(fixture.getConstraints(0), true, true, 10);
+        remover.recordOutcome(fixture.getConstraints(1), true, false, 10);
+        // This relaxation takes twice the average time, so its reward is halved.
+        remover.recordOutcome(fixture.getConstraints(2), true, true, 40);
+
+        double exploration = Math.sqrt(2 * Math.log(3));
+        assertEquals(1 + exploration, remover.index(0), EPSILON);
+        assertEquals(0.5 + exploration, remover.index(1), EPSILON);
+        assertEquals(0.5 + exploration, remover.index(2), EPSILON);
+        assertEquals(Double.POSITIVE_INFINITY, remover.index(3));
+    }
+
+    /**
+     * Gives the constraints of a group.
+     *
+     * @param g the identifier of the group
+     *
+     * @return the constraints of the group
+     */
+    private HashSet<Constraint> constraintsOf(int g) {
+        return new HashSet<>(fixture.getConstraints(g));
+    }
+
+}
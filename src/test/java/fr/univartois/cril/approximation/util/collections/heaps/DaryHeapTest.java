@@ -0,0 +1,199 @@
+package fr.univartois.cril.approximation.util.collections.heaps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * The Class DaryHeapTest checks the {@link DaryHeap} with different arities, by comparing
+ * the order in which the elements are polled with the reference order of their values.
+ */
+class DaryHeapTest {
+
+    /** The number of elements in the tested heaps. */
+    private static final int SIZE = 200;
+
+    /**
+     * The Node is an element of the tested heaps.
+     */
+    private static final class Node implements Heapable {
+
+        /** The index of this node in the heap. */
+        private int index = -1;
+
+        /** The value of this node. */
+        private double value;
+
+        /**
+         * Instantiates a new node.
+         *
+         * @param value the value of the node
+         */
+        Node(double value) {
+            this.value = value;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see fr.univartois.cril.approximation.util.collections.heaps.Heapable#getIndex()
+         */
+        @Override
+        public int getIndex() {
+            return index;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see
+         * fr.univartois.cril.approximation.util.collections.heaps.Heapable#setIndex(int)
+         */
+        @Override
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+    }
+
+    /** The comparator of the nodes. */
+    private static final Comparator<Node> BY_VALUE = Comparator.comparingDouble(n -> n.value);
+
+    /**
+     * Test that increases, decreases and updates preserve the order of a maximum heap.
+     *
+     * @param arity the arity of the heap
+     */
+    @ParameterizedTest
+    @ValueSource(ints = { 2, 4, 8 })
+    void testMaximumHeap(int arity) {
+        var random = new Random(arity);
+        var nodes = createNodes(random);
+        DaryHeap<Node> heap = HeapFactory.newMaximumDaryHeap(1, arity, BY_VALUE);
+        nodes.forEach(heap::add);
+        assertEquals(arity, heap.arity());
+
+        for (int i = 0; i < 1000; i++) {
+            var node = nodes.get(random.nextInt(SIZE));
+            double old = node.value;
+            switch (i % 3) {
+                case 0 -> {
+                    node.value = random.nextDouble();
+                    if (node.value >= old) {
+                        heap.increase(node);
+                    } else {
+                        heap.decrease(node);
+                    }
+                }
+                case 1 -> {
+                    node.value = random.nextDouble();
+                    heap.update(node);
+                }
+                default -> {
+                    // Putting the head back with another value.
+                    var head = heap.poll();
+                    assertEquals(max(nodes, head), head.value);
+                    head.value = random.nextDouble();
+                    heap.add(head);
+                }
+            }
+        }
+
+        checkOrder(heap, nodes, BY_VALUE.reversed());
+    }
+
+    /**
+     * Test that heapify() restores the order of a minimum heap after many changes.
+     *
+     * @param arity the arity of the heap
+     */
+    @ParameterizedTest
+    @ValueSource(ints = { 2, 4, 8 })
+    void testMinimumHeapify(int arity) {
+        var random = new Random(arity);
+        var nodes = createNodes(random);
+        DaryHeap<Node> heap = HeapFactory.newMinimumDaryHeap(SIZE, arity, BY_VALUE);
+        nodes.forEach(heap::add);
+
+        for (var node : nodes) {
+            node.value = random.nextDouble();
+        }
+        heap.heapify();
+
+        checkOrder(heap, nodes, BY_VALUE);
+    }
+
+    /**
+     * Test that the arity must be a power of two.
+     */
+    @Test
+    void testInvalidArity() {
+        assertThrows(IllegalArgumentException.class,
+                () -> HeapFactory.<Node> newMaximumDaryHeap(1, 3, BY_VALUE));
+        assertThrows(IllegalArgumentException.class,
+                () -> HeapFactory.<Node> newMaximumDaryHeap(1, 1, BY_VALUE));
+    }
+
+    /**
+     * Creates the nodes to put in the heaps.
+     *
+     * @param random the random source giving the values of the nodes
+     *
+     * @return the created nodes
+     */
+    private static List<Node> createNodes(Random random) {
+        var nodes = new ArrayList<Node>();
+        for (int i = 0; i < SIZE; i++) {
+            nodes.add(new Node(random.nextDouble()));
+        }
+        return nodes;
+    }
+
+    /**
+     * Gives the greatest value of the nodes.
+     *
+     * @param nodes the nodes of the heap
+     * @param polled the node that has just been polled
+     *
+     * @return the greatest value of the nodes in the heap, including the polled one
+     */
+    private static double max(List<Node> nodes, Node polled) {
+        double max = polled.value;
+        for (var node : nodes) {
+            if (node.index >= 0) {
+                max = Math.max(max, node.value);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Checks that the heap gives its elements in the reference order.
+     *
+     * @param heap the heap to check
+     * @param nodes the nodes in the heap
+     * @param order the reference order
+     */
+    private static void checkOrder(DaryHeap<Node> heap, List<Node> nodes,
+            Comparator<Node> order) {
+        var expected = new ArrayList<>(nodes);
+        expected.sort(order);
+        assertEquals(expected.size(), heap.size());
+        for (var node : expected) {
+            var head = heap.poll();
+            assertEquals(node.value, head.value);
+            assertTrue(head.index < 0, "The polled node is still indexed");
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+}
@@ -0,0 +1,187 @@
+package fr.univartois.cril.approximation.util.collections.heaps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The Class IntDoubleIndexedHeapTest checks the {@link IntDoubleIndexedHeap} against a
+ * reference, i.e., the keys of the elements and the set of the elements in the heap.
+ */
+class IntDoubleIndexedHeapTest {
+
+    /** The capacity of the tested heap. */
+    private static final int CAPACITY = 64;
+
+    /** The tested heap. */
+    private IntDoubleIndexedHeap heap;
+
+    /** The reference keys of the elements. */
+    private double[] keys;
+
+    /** Whether each element is in the heap, according to the reference. */
+    private boolean[] inHeap;
+
+    /** The random source used to generate the operations. */
+    private Random random;
+
+    /**
+     * Sets the up.
+     */
+    @BeforeEach
+    void setUp() {
+        heap = new IntDoubleIndexedHeap(CAPACITY);
+        keys = new double[CAPACITY];
+        inHeap = new boolean[CAPACITY];
+        random = new Random(42);
+    }
+
+    /**
+     * Test that random sequences of operations preserve the order of the heap.
+     */
+    @Test
+    void testRandomOperations() {
+        for (int i = 0; i < 5000; i++) {
+            int element = random.nextInt(CAPACITY);
+            switch (random.nextInt(5)) {
+                case 0 -> {
+                    keys[element] = random.nextDouble();
+                    inHeap[element] = true;
+                    heap.add(element, keys[element]);
+                }
+                case 1 -> {
+                    keys[element] = random.nextDouble();
+                    heap.setKey(element, keys[element]);
+                }
+                case 2 -> {
+                    inHeap[element] = false;
+                    heap.remove(element);
+                }
+                case 3 -> {
+                    if (!heap.isEmpty()) {
+                        double max = maxKey();
+                        int head = heap.poll();
+                        assertEquals(max, keys[head]);
+                        inHeap[head] = false;
+                    }
+                }
+                default -> {
+                    double factor = 0.5 + random.nextDouble();
+                    for (int e = 0; e < CAPACITY; e++) {
+                        keys[e] *= factor;
+                    }
+                    heap.scaleKeys(factor);
+                }
+            }
+            checkConsistency();
+        }
+        checkOrder();
+    }
+
+    /**
+     * Test that heapify() restores the order after changing keys without sifting.
+     */
+    @Test
+    void testHeapify() {
+        for (int e = 0; e < CAPACITY; e++) {
+            keys[e] = random.nextDouble();
+            inHeap[e] = true;
+            heap.add(e, keys[e]);
+        }
+
+        for (int e = 0; e < CAPACITY; e += 3) {
+            keys[e] = random.nextDouble() * 10;
+            heap.setRawKey(e, keys[e]);
+        }
+        heap.heapify();
+
+        checkOrder();
+    }
+
+    /**
+     * Test that the keys are preserved when the elements are not in the heap.
+     */
+    @Test
+    void testKeysOutsideHeap() {
+        heap.setKey(3, 2.5);
+        assertFalse(heap.contains(3));
+        assertEquals(2.5, heap.getKey(3));
+
+        heap.add(3);
+        heap.add(5, 1.0);
+        assertTrue(heap.contains(3));
+        assertEquals(3, heap.peek());
+
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(3));
+        assertEquals(2.5, heap.getKey(3));
+    }
+
+    /**
+     * Test that an empty heap has no head.
+     */
+    @Test
+    void testEmptyHeap() {
+        assertThrows(NoSuchElementException.class, () -> heap.peek());
+        assertThrows(NoSuchElementException.class, () -> heap.poll());
+    }
+
+    /**
+     * Checks that the heap contains the same elements as the reference, and that its
+     * head has the greatest key.
+     */
+    private void checkConsistency() {
+        int size = 0;
+        for (int e = 0; e < CAPACITY; e++) {
+            assertEquals(inHeap[e], heap.contains(e), "Membership of " + e);
+            if (inHeap[e]) {
+                size++;
+            }
+        }
+        assertEquals(size, heap.size());
+        if (size > 0) {
+            assertEquals(maxKey(), keys[heap.peek()]);
+        }
+    }
+
+    /**
+     * Checks that polling all the elements of the heap gives them by decreasing keys.
+     */
+    private void checkOrder() {
+        double previous = Double.POSITIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            int head = heap.poll();
+            assertTrue(inHeap[head], "Unexpected element " + head);
+            assertTrue(keys[head] <= previous, "Elements not polled by decreasing keys");
+            inHeap[head] = false;
+            previous = keys[head];
+        }
+        for (int e = 0; e < CAPACITY; e++) {
+            assertFalse(inHeap[e], "Missing element " + e);
+        }
+    }
+
+    /**
+     * Gives the greatest key of the elements in the heap, according to the reference.
+     *
+     * @return the greatest key
+     */
+    private double maxKey() {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int e = 0; e < CAPACITY; e++) {
+            if (inHeap[e]) {
+                max = Math.max(max, keys[e]);
+            }
+        }
+        return max;
+    }
+
+}